@@ -1,5 +1,7 @@
 package com.riccardocinti.mcp_server_build.config;
 
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.MavenExecutionBackend;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -10,15 +12,126 @@ public class BuilderServerConfig {
     @Value("${mcp.builder.timeout:300000}")
     private long timeout;
 
+    @Value("${mcp.builder.phase-timeout.dependencies:0}")
+    private long dependenciesTimeout;
+
+    @Value("${mcp.builder.phase-timeout.compile:0}")
+    private long compileTimeout;
+
+    @Value("${mcp.builder.phase-timeout.package:0}")
+    private long packageTimeout;
+
+    @Value("${mcp.builder.build-deadline:900000}")
+    private long buildDeadline;
+
+    @Value("${mcp.builder.adaptive-timeout.enabled:false}")
+    private boolean adaptiveTimeoutEnabled;
+
+    @Value("${mcp.builder.adaptive-timeout.safety-factor:3.0}")
+    private double adaptiveTimeoutSafetyFactor;
+
+    @Value("${mcp.builder.adaptive-timeout.min-samples:5}")
+    private int adaptiveTimeoutMinSamples;
+
+    @Value("${mcp.builder.adaptive-timeout.minimum:30000}")
+    private long adaptiveTimeoutMinimum;
+
+    @Value("${mcp.builder.adaptive-timeout.history-size:50}")
+    private int adaptiveTimeoutHistorySize;
+
+    @Value("${mcp.builder.process.kill-grace-period:5000}")
+    private long processKillGracePeriod;
+
+    @Value("${mcp.builder.process.registry-refresh-interval:2000}")
+    private long processRegistryRefreshInterval;
+
     @Value("${mcp.builder.max-connections:3}")
     private int maxConnections;
 
+    @Value("${mcp.builder.max-queued-builds:20}")
+    private int maxQueuedBuilds;
+
     @Value("${mcp.builder.temp-directory:#{systemProperties['java.io.tmpdir']}/mcp-builds}")
     private String tempDirectory;
 
     @Value("${mcp.builder.preserve-artifacts:true}")
     private boolean preserveArtifacts;
 
+    @Value("${mcp.builder.artifact-store.max-size-mb:2048}")
+    private long artifactStoreMaxSizeMb;
+
+    @Value("${mcp.builder.temp-cleanup.enabled:true}")
+    private boolean tempCleanupEnabled;
+
+    @Value("${mcp.builder.temp-cleanup.interval:600000}")
+    private long tempCleanupInterval;
+
+    @Value("${mcp.builder.temp-cleanup.max-age:604800000}")
+    private long tempCleanupMaxAge;
+
+    @Value("${mcp.builder.temp-cleanup.max-size-mb:10240}")
+    private long tempCleanupMaxSizeMb;
+
+    @Value("${mcp.builder.fuse-invocations:true}")
+    private boolean fuseInvocations;
+
+    @Value("${mcp.builder.dependency-resolution-mode:RUNTIME_SCOPE}")
+    private DependencyResolutionMode dependencyResolutionMode;
+
+    @Value("${mcp.builder.reactor-threads:0}")
+    private int reactorThreads;
+
+    @Value("${mcp.builder.maven-backend:FORK}")
+    private MavenExecutionBackend mavenBackend;
+
+    @Value("${mcp.builder.daemon.mvnd-home:}")
+    private String mvndHome;
+
+    @Value("${mcp.builder.daemon.max-builds:50}")
+    private int daemonMaxBuilds;
+
+    @Value("${mcp.builder.daemon.max-heap-size:2g}")
+    private String daemonMaxHeapSize;
+
+    @Value("${mcp.builder.daemon.max-rss-mb:3072}")
+    private long daemonMaxRssMb;
+
+    @Value("${mcp.builder.build-cache.enabled:true}")
+    private boolean buildCacheEnabled;
+
+    @Value("${mcp.builder.build-cache.max-entries:100}")
+    private int buildCacheMaxEntries;
+
+    @Value("${mcp.builder.analysis-cache.enabled:true}")
+    private boolean analysisCacheEnabled;
+
+    @Value("${mcp.builder.analysis-cache.max-entries:50}")
+    private int analysisCacheMaxEntries;
+
+    @Value("${mcp.builder.log.tail-lines:200}")
+    private int logTailLines;
+
+    @Value("${mcp.builder.log.tail-size-kb:64}")
+    private int logTailSizeKb;
+
+    @Value("${mcp.builder.log.spill-to-disk:true}")
+    private boolean logSpillToDisk;
+
+    @Value("${mcp.builder.progress.enabled:true}")
+    private boolean progressNotificationsEnabled;
+
+    @Value("${mcp.builder.progress.min-interval:500}")
+    private long progressMinInterval;
+
+    @Value("${mcp.builder.job-ttl:3600000}")
+    private long jobTtl;
+
+    @Value("${mcp.builder.max-await-time:60000}")
+    private long maxAwaitTime;
+
+    @Value("${mcp.builder.cancel-await-time:15000}")
+    private long cancelAwaitTime;
+
     public long getTimeout() {
         return timeout;
     }
@@ -27,6 +140,94 @@ public class BuilderServerConfig {
         this.timeout = timeout;
     }
 
+    public long getDependenciesTimeout() {
+        return dependenciesTimeout;
+    }
+
+    public void setDependenciesTimeout(long dependenciesTimeout) {
+        this.dependenciesTimeout = dependenciesTimeout;
+    }
+
+    public long getCompileTimeout() {
+        return compileTimeout;
+    }
+
+    public void setCompileTimeout(long compileTimeout) {
+        this.compileTimeout = compileTimeout;
+    }
+
+    public long getPackageTimeout() {
+        return packageTimeout;
+    }
+
+    public void setPackageTimeout(long packageTimeout) {
+        this.packageTimeout = packageTimeout;
+    }
+
+    public long getBuildDeadline() {
+        return buildDeadline;
+    }
+
+    public void setBuildDeadline(long buildDeadline) {
+        this.buildDeadline = buildDeadline;
+    }
+
+    public boolean isAdaptiveTimeoutEnabled() {
+        return adaptiveTimeoutEnabled;
+    }
+
+    public void setAdaptiveTimeoutEnabled(boolean adaptiveTimeoutEnabled) {
+        this.adaptiveTimeoutEnabled = adaptiveTimeoutEnabled;
+    }
+
+    public double getAdaptiveTimeoutSafetyFactor() {
+        return adaptiveTimeoutSafetyFactor;
+    }
+
+    public void setAdaptiveTimeoutSafetyFactor(double adaptiveTimeoutSafetyFactor) {
+        this.adaptiveTimeoutSafetyFactor = adaptiveTimeoutSafetyFactor;
+    }
+
+    public int getAdaptiveTimeoutMinSamples() {
+        return adaptiveTimeoutMinSamples;
+    }
+
+    public void setAdaptiveTimeoutMinSamples(int adaptiveTimeoutMinSamples) {
+        this.adaptiveTimeoutMinSamples = adaptiveTimeoutMinSamples;
+    }
+
+    public long getAdaptiveTimeoutMinimum() {
+        return adaptiveTimeoutMinimum;
+    }
+
+    public void setAdaptiveTimeoutMinimum(long adaptiveTimeoutMinimum) {
+        this.adaptiveTimeoutMinimum = adaptiveTimeoutMinimum;
+    }
+
+    public int getAdaptiveTimeoutHistorySize() {
+        return adaptiveTimeoutHistorySize;
+    }
+
+    public void setAdaptiveTimeoutHistorySize(int adaptiveTimeoutHistorySize) {
+        this.adaptiveTimeoutHistorySize = adaptiveTimeoutHistorySize;
+    }
+
+    public long getProcessKillGracePeriod() {
+        return processKillGracePeriod;
+    }
+
+    public void setProcessKillGracePeriod(long processKillGracePeriod) {
+        this.processKillGracePeriod = processKillGracePeriod;
+    }
+
+    public long getProcessRegistryRefreshInterval() {
+        return processRegistryRefreshInterval;
+    }
+
+    public void setProcessRegistryRefreshInterval(long processRegistryRefreshInterval) {
+        this.processRegistryRefreshInterval = processRegistryRefreshInterval;
+    }
+
     public int getMaxConnections() {
         return maxConnections;
     }
@@ -35,6 +236,14 @@ public class BuilderServerConfig {
         this.maxConnections = maxConnections;
     }
 
+    public int getMaxQueuedBuilds() {
+        return maxQueuedBuilds;
+    }
+
+    public void setMaxQueuedBuilds(int maxQueuedBuilds) {
+        this.maxQueuedBuilds = maxQueuedBuilds;
+    }
+
     public String getTempDirectory() {
         return tempDirectory;
     }
@@ -50,4 +259,204 @@ public class BuilderServerConfig {
     public void setPreserveArtifacts(boolean preserveArtifacts) {
         this.preserveArtifacts = preserveArtifacts;
     }
+
+    public long getArtifactStoreMaxSizeMb() {
+        return artifactStoreMaxSizeMb;
+    }
+
+    public void setArtifactStoreMaxSizeMb(long artifactStoreMaxSizeMb) {
+        this.artifactStoreMaxSizeMb = artifactStoreMaxSizeMb;
+    }
+
+    public boolean isTempCleanupEnabled() {
+        return tempCleanupEnabled;
+    }
+
+    public void setTempCleanupEnabled(boolean tempCleanupEnabled) {
+        this.tempCleanupEnabled = tempCleanupEnabled;
+    }
+
+    public long getTempCleanupInterval() {
+        return tempCleanupInterval;
+    }
+
+    public void setTempCleanupInterval(long tempCleanupInterval) {
+        this.tempCleanupInterval = tempCleanupInterval;
+    }
+
+    public long getTempCleanupMaxAge() {
+        return tempCleanupMaxAge;
+    }
+
+    public void setTempCleanupMaxAge(long tempCleanupMaxAge) {
+        this.tempCleanupMaxAge = tempCleanupMaxAge;
+    }
+
+    public long getTempCleanupMaxSizeMb() {
+        return tempCleanupMaxSizeMb;
+    }
+
+    public void setTempCleanupMaxSizeMb(long tempCleanupMaxSizeMb) {
+        this.tempCleanupMaxSizeMb = tempCleanupMaxSizeMb;
+    }
+
+    public boolean isFuseInvocations() {
+        return fuseInvocations;
+    }
+
+    public void setFuseInvocations(boolean fuseInvocations) {
+        this.fuseInvocations = fuseInvocations;
+    }
+
+    public DependencyResolutionMode getDependencyResolutionMode() {
+        return dependencyResolutionMode;
+    }
+
+    public void setDependencyResolutionMode(DependencyResolutionMode dependencyResolutionMode) {
+        this.dependencyResolutionMode = dependencyResolutionMode;
+    }
+
+    public int getReactorThreads() {
+        return reactorThreads;
+    }
+
+    public void setReactorThreads(int reactorThreads) {
+        this.reactorThreads = reactorThreads;
+    }
+
+    public MavenExecutionBackend getMavenBackend() {
+        return mavenBackend;
+    }
+
+    public void setMavenBackend(MavenExecutionBackend mavenBackend) {
+        this.mavenBackend = mavenBackend;
+    }
+
+    public String getMvndHome() {
+        return mvndHome;
+    }
+
+    public void setMvndHome(String mvndHome) {
+        this.mvndHome = mvndHome;
+    }
+
+    public int getDaemonMaxBuilds() {
+        return daemonMaxBuilds;
+    }
+
+    public void setDaemonMaxBuilds(int daemonMaxBuilds) {
+        this.daemonMaxBuilds = daemonMaxBuilds;
+    }
+
+    public String getDaemonMaxHeapSize() {
+        return daemonMaxHeapSize;
+    }
+
+    public void setDaemonMaxHeapSize(String daemonMaxHeapSize) {
+        this.daemonMaxHeapSize = daemonMaxHeapSize;
+    }
+
+    public long getDaemonMaxRssMb() {
+        return daemonMaxRssMb;
+    }
+
+    public void setDaemonMaxRssMb(long daemonMaxRssMb) {
+        this.daemonMaxRssMb = daemonMaxRssMb;
+    }
+
+    public boolean isBuildCacheEnabled() {
+        return buildCacheEnabled;
+    }
+
+    public void setBuildCacheEnabled(boolean buildCacheEnabled) {
+        this.buildCacheEnabled = buildCacheEnabled;
+    }
+
+    public int getBuildCacheMaxEntries() {
+        return buildCacheMaxEntries;
+    }
+
+    public void setBuildCacheMaxEntries(int buildCacheMaxEntries) {
+        this.buildCacheMaxEntries = buildCacheMaxEntries;
+    }
+
+    public boolean isAnalysisCacheEnabled() {
+        return analysisCacheEnabled;
+    }
+
+    public void setAnalysisCacheEnabled(boolean analysisCacheEnabled) {
+        this.analysisCacheEnabled = analysisCacheEnabled;
+    }
+
+    public int getAnalysisCacheMaxEntries() {
+        return analysisCacheMaxEntries;
+    }
+
+    public void setAnalysisCacheMaxEntries(int analysisCacheMaxEntries) {
+        this.analysisCacheMaxEntries = analysisCacheMaxEntries;
+    }
+
+    public int getLogTailLines() {
+        return logTailLines;
+    }
+
+    public void setLogTailLines(int logTailLines) {
+        this.logTailLines = logTailLines;
+    }
+
+    public int getLogTailSizeKb() {
+        return logTailSizeKb;
+    }
+
+    public void setLogTailSizeKb(int logTailSizeKb) {
+        this.logTailSizeKb = logTailSizeKb;
+    }
+
+    public boolean isLogSpillToDisk() {
+        return logSpillToDisk;
+    }
+
+    public void setLogSpillToDisk(boolean logSpillToDisk) {
+        this.logSpillToDisk = logSpillToDisk;
+    }
+
+    public boolean isProgressNotificationsEnabled() {
+        return progressNotificationsEnabled;
+    }
+
+    public void setProgressNotificationsEnabled(boolean progressNotificationsEnabled) {
+        this.progressNotificationsEnabled = progressNotificationsEnabled;
+    }
+
+    public long getProgressMinInterval() {
+        return progressMinInterval;
+    }
+
+    public void setProgressMinInterval(long progressMinInterval) {
+        this.progressMinInterval = progressMinInterval;
+    }
+
+    public long getJobTtl() {
+        return jobTtl;
+    }
+
+    public void setJobTtl(long jobTtl) {
+        this.jobTtl = jobTtl;
+    }
+
+    public long getMaxAwaitTime() {
+        return maxAwaitTime;
+    }
+
+    public void setMaxAwaitTime(long maxAwaitTime) {
+        this.maxAwaitTime = maxAwaitTime;
+    }
+
+    public long getCancelAwaitTime() {
+        return cancelAwaitTime;
+    }
+
+    public void setCancelAwaitTime(long cancelAwaitTime) {
+        this.cancelAwaitTime = cancelAwaitTime;
+    }
 }
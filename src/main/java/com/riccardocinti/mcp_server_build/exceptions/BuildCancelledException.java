@@ -0,0 +1,9 @@
+package com.riccardocinti.mcp_server_build.exceptions;
+
+public class BuildCancelledException extends McpServerBuilderException {
+
+    public BuildCancelledException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.riccardocinti.mcp_server_build.exceptions;
+
+public class BuildJobNotFoundException extends McpServerBuilderException {
+
+    public BuildJobNotFoundException(String message) {
+        super(message);
+    }
+
+}
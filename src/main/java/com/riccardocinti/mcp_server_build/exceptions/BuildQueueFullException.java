@@ -0,0 +1,9 @@
+package com.riccardocinti.mcp_server_build.exceptions;
+
+public class BuildQueueFullException extends McpServerBuilderException {
+
+    public BuildQueueFullException(String message) {
+        super(message);
+    }
+
+}
@@ -2,6 +2,10 @@ package com.riccardocinti.mcp_server_build.exceptions;
 
 public class BuilderToolDetectionException extends McpServerBuilderException {
 
+    public BuilderToolDetectionException(String message) {
+        super(message);
+    }
+
     public BuilderToolDetectionException(String message, Throwable e) {
         super(message, e);
     }
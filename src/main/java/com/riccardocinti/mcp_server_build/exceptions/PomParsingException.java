@@ -0,0 +1,8 @@
+package com.riccardocinti.mcp_server_build.exceptions;
+
+public class PomParsingException extends McpServerBuilderException {
+
+    public PomParsingException(String message, Throwable e) {
+        super(message, e);
+    }
+}
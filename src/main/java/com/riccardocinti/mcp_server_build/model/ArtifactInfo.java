@@ -1,6 +1,7 @@
 package com.riccardocinti.mcp_server_build.model;
 
 import java.util.List;
+import java.util.Objects;
 
 public record ArtifactInfo(
         List<Artifact> artifacts,
@@ -11,7 +12,13 @@ public record ArtifactInfo(
             String path,
             String type,
             long size,
-            String checksum) {
+            String checksum,
+            String mainClass,
+            String startClass,
+            String layersIndex,
+            int entryCount,
+            int classCount,
+            String storePath) {
         public static ArtifactBuilder builder() {
             return new ArtifactBuilder();
         }
@@ -21,6 +28,12 @@ public record ArtifactInfo(
             private String type;
             private long size;
             private String checksum;
+            private String mainClass;
+            private String startClass;
+            private String layersIndex;
+            private int entryCount;
+            private int classCount;
+            private String storePath;
 
             public ArtifactBuilder path(String path) {
                 this.path = path;
@@ -42,11 +55,47 @@ public record ArtifactInfo(
                 return this;
             }
 
+            public ArtifactBuilder mainClass(String mainClass) {
+                this.mainClass = mainClass;
+                return this;
+            }
+
+            public ArtifactBuilder startClass(String startClass) {
+                this.startClass = startClass;
+                return this;
+            }
+
+            public ArtifactBuilder layersIndex(String layersIndex) {
+                this.layersIndex = layersIndex;
+                return this;
+            }
+
+            public ArtifactBuilder entryCount(int entryCount) {
+                this.entryCount = entryCount;
+                return this;
+            }
+
+            public ArtifactBuilder classCount(int classCount) {
+                this.classCount = classCount;
+                return this;
+            }
+
+            public ArtifactBuilder storePath(String storePath) {
+                this.storePath = storePath;
+                return this;
+            }
+
             public Artifact build() {
-                return new Artifact(path, type, size, checksum);
+                return new Artifact(path, type, size, checksum, mainClass, startClass, layersIndex, entryCount,
+                        classCount, storePath);
             }
         }
 
+        public Artifact withStorePath(String storePath) {
+            return new Artifact(path, type, size, checksum, mainClass, startClass, layersIndex, entryCount,
+                    classCount, storePath);
+        }
+
         // Convenience methods
         public String getFileName() {
             return path != null ? java.nio.file.Paths.get(path).getFileName().toString() : null;
@@ -86,6 +135,19 @@ public record ArtifactInfo(
         return mainArtifactPath != null && !mainArtifactPath.trim().isEmpty();
     }
 
+    // The retained copy of the main artifact, which outlives the project's build directory
+    public String getMainArtifactStorePath() {
+        if (artifacts == null || mainArtifactPath == null) {
+            return null;
+        }
+        return artifacts.stream()
+                .filter(artifact -> mainArtifactPath.equals(artifact.path()))
+                .map(Artifact::storePath)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
     public static class Builder {
         List<Artifact> artifacts;
         String mainArtifactPath;
@@ -0,0 +1,19 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+
+public record BuildDeadline(String projectPath, DependencyResolutionMode dependencyResolutionMode,
+                            long startNanos, long budgetMillis) {
+
+    public boolean isBounded() {
+        return budgetMillis > 0;
+    }
+
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public long remainingMillis() {
+        return isBounded() ? budgetMillis - elapsedMillis() : Long.MAX_VALUE;
+    }
+}
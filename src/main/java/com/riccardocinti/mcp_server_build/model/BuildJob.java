@@ -0,0 +1,114 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.BuildStatus;
+import com.riccardocinti.mcp_server_build.model.enums.JobStatus;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class BuildJob {
+
+    private final String jobId;
+    private final String projectPath;
+    private final Instant submittedAt;
+    private final CompletableFuture<BuildResult> result = new CompletableFuture<>();
+
+    private final Map<BuildPhase, Long> phaseDurations = new EnumMap<>(BuildPhase.class);
+    private JobStatus status = JobStatus.QUEUED;
+    private BuildPhase currentPhase;
+    private long currentPhaseStartNanos;
+    private long startNanos;
+    private long endNanos;
+    private Instant finishedAt;
+    // Set together with the terminal status, so a snapshot never shows a finished job without its result
+    private BuildResult finalResult;
+
+    public BuildJob(String jobId, String projectPath) {
+        this.jobId = jobId;
+        this.projectPath = projectPath;
+        this.submittedAt = Instant.now();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public CompletableFuture<BuildResult> getResult() {
+        return result;
+    }
+
+    public synchronized JobStatus getStatus() {
+        return status;
+    }
+
+    public synchronized Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized void markStarted() {
+        startNanos = System.nanoTime();
+    }
+
+    public synchronized void enterPhase(BuildPhase phase) {
+        long now = System.nanoTime();
+        if (phase != BuildPhase.QUEUED) {
+            status = JobStatus.RUNNING;
+        }
+        closeCurrentPhase(now);
+        currentPhase = phase;
+        currentPhaseStartNanos = now;
+    }
+
+    public void complete(BuildResult buildResult) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            closeCurrentPhase(now);
+            currentPhase = null;
+            endNanos = now;
+            finishedAt = Instant.now();
+            finalResult = buildResult;
+            if (buildResult != null && buildResult.getStatus() == BuildStatus.CANCELLED) {
+                status = JobStatus.CANCELLED;
+            } else {
+                status = buildResult != null && buildResult.isSuccess() ? JobStatus.COMPLETED : JobStatus.FAILED;
+            }
+        }
+        result.complete(buildResult);
+    }
+
+    public synchronized BuildJobStatus snapshot() {
+        long now = System.nanoTime();
+
+        Map<BuildPhase, Long> durations = new LinkedHashMap<>();
+        phaseDurations.forEach((phase, nanos) -> durations.put(phase, nanos / 1_000_000));
+        if (currentPhase != null) {
+            durations.merge(currentPhase, (now - currentPhaseStartNanos) / 1_000_000, Long::sum);
+        }
+
+        long elapsed = 0L;
+        if (startNanos != 0L) {
+            elapsed = ((endNanos != 0L ? endNanos : now) - startNanos) / 1_000_000;
+        }
+
+        return new BuildJobStatus(jobId, projectPath, status, currentPhase, durations, elapsed,
+                submittedAt, finalResult);
+    }
+
+    private void closeCurrentPhase(long now) {
+        if (currentPhase != null) {
+            phaseDurations.merge(currentPhase, now - currentPhaseStartNanos, Long::sum);
+        }
+    }
+}
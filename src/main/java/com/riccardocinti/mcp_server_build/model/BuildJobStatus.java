@@ -0,0 +1,21 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.JobStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record BuildJobStatus(String jobId,
+                             String projectPath,
+                             JobStatus status,
+                             BuildPhase currentPhase,
+                             Map<BuildPhase, Long> phaseDurations,
+                             long elapsed,
+                             Instant submittedAt,
+                             BuildResult result) {
+
+    public boolean isFinished() {
+        return status != null && status.isFinished();
+    }
+}
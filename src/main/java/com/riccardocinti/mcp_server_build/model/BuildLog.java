@@ -0,0 +1,13 @@
+package com.riccardocinti.mcp_server_build.model;
+
+// The last lines of a build log, plus where the complete (gzip-compressed) log was written and how large it was
+public record BuildLog(String tail,
+                       String logFile,
+                       long totalBytes,
+                       long totalLines,
+                       boolean truncated) {
+
+    public static BuildLog empty() {
+        return new BuildLog("", null, 0L, 0L, false);
+    }
+}
@@ -0,0 +1,44 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+
+public record BuildRequest(String projectPath,
+                           String clientId,
+                           DependencyResolutionMode dependencyResolutionMode) {
+
+    public static final String DEFAULT_CLIENT_ID = "anonymous";
+
+    public static BuildRequest of(String projectPath) {
+        return builder().projectPath(projectPath).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        String projectPath;
+        String clientId;
+        DependencyResolutionMode dependencyResolutionMode;
+
+        public Builder projectPath(String projectPath) {
+            this.projectPath = projectPath;
+            return this;
+        }
+
+        public Builder clientId(String clientId) {
+            this.clientId = clientId;
+            return this;
+        }
+
+        public Builder dependencyResolutionMode(DependencyResolutionMode dependencyResolutionMode) {
+            this.dependencyResolutionMode = dependencyResolutionMode;
+            return this;
+        }
+
+        public BuildRequest build() {
+            String resolvedClientId = clientId == null || clientId.isBlank() ? DEFAULT_CLIENT_ID : clientId.trim();
+            return new BuildRequest(projectPath, resolvedClientId, dependencyResolutionMode);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.riccardocinti.mcp_server_build.model;
 
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
 import com.riccardocinti.mcp_server_build.model.enums.BuildStatus;
 import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class BuildResult {
@@ -20,6 +22,10 @@ public class BuildResult {
     private LocalDateTime endTime;
     private long buildDuration;
     private List<String> suggestions;
+    private boolean cached;
+    private List<ModuleResult> moduleResults;
+    private BuildLog buildLog;
+    private Map<BuildPhase, Long> phaseDurations;
 
     // Default constructor
     public BuildResult() {
@@ -87,6 +93,22 @@ public class BuildResult {
         return suggestions;
     }
 
+    public List<ModuleResult> getModuleResults() {
+        return moduleResults;
+    }
+
+    public BuildLog getBuildLog() {
+        return buildLog;
+    }
+
+    public Map<BuildPhase, Long> getPhaseDurations() {
+        return phaseDurations;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
     // Setters
     public void setSuccess(boolean success) {
         this.success = success;
@@ -132,6 +154,22 @@ public class BuildResult {
         this.suggestions = suggestions;
     }
 
+    public void setModuleResults(List<ModuleResult> moduleResults) {
+        this.moduleResults = moduleResults;
+    }
+
+    public void setBuildLog(BuildLog buildLog) {
+        this.buildLog = buildLog;
+    }
+
+    public void setPhaseDurations(Map<BuildPhase, Long> phaseDurations) {
+        this.phaseDurations = phaseDurations;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
     // Builder pattern
     public static Builder builder() {
         return new Builder();
@@ -149,6 +187,10 @@ public class BuildResult {
         private LocalDateTime endTime;
         private long buildDuration;
         private List<String> suggestions;
+        private boolean cached;
+        private List<ModuleResult> moduleResults;
+        private BuildLog buildLog;
+        private Map<BuildPhase, Long> phaseDurations;
 
         public Builder success(boolean success) {
             this.success = success;
@@ -205,10 +247,35 @@ public class BuildResult {
             return this;
         }
 
+        public Builder cached(boolean cached) {
+            this.cached = cached;
+            return this;
+        }
+
+        public Builder moduleResults(List<ModuleResult> moduleResults) {
+            this.moduleResults = moduleResults;
+            return this;
+        }
+
+        public Builder buildLog(BuildLog buildLog) {
+            this.buildLog = buildLog;
+            return this;
+        }
+
+        public Builder phaseDurations(Map<BuildPhase, Long> phaseDurations) {
+            this.phaseDurations = phaseDurations;
+            return this;
+        }
+
         public BuildResult build() {
-            return new BuildResult(success, status, errorType, message, projectPath,
+            BuildResult result = new BuildResult(success, status, errorType, message, projectPath,
                     buildConfiguration, artifactInfo, startTime, endTime,
                     buildDuration, suggestions);
+            result.setCached(cached);
+            result.setModuleResults(moduleResults);
+            result.setBuildLog(buildLog);
+            result.setPhaseDurations(phaseDurations);
+            return result;
         }
     }
 
@@ -317,6 +384,7 @@ public class BuildResult {
         if (o == null || getClass() != o.getClass()) return false;
         BuildResult that = (BuildResult) o;
         return success == that.success &&
+                cached == that.cached &&
                 buildDuration == that.buildDuration &&
                 status == that.status &&
                 errorType == that.errorType &&
@@ -326,7 +394,10 @@ public class BuildResult {
                 Objects.equals(artifactInfo, that.artifactInfo) &&
                 Objects.equals(startTime, that.startTime) &&
                 Objects.equals(endTime, that.endTime) &&
-                Objects.equals(suggestions, that.suggestions);
+                Objects.equals(suggestions, that.suggestions) &&
+                Objects.equals(moduleResults, that.moduleResults) &&
+                Objects.equals(buildLog, that.buildLog) &&
+                Objects.equals(phaseDurations, that.phaseDurations);
     }
 
 }
\ No newline at end of file
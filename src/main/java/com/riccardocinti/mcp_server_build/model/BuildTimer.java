@@ -0,0 +1,48 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Measures a build pipeline on the monotonic clock; the wall clock only anchors the reported start time
+public class BuildTimer {
+
+    private final LocalDateTime startTime = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    // Execution order, so the breakdown reads like the build did
+    private final Map<BuildPhase, Long> phaseNanos = new LinkedHashMap<>();
+    private BuildPhase currentPhase;
+    private long currentPhaseStartNanos;
+
+    public synchronized void enterPhase(BuildPhase phase) {
+        long now = System.nanoTime();
+        closeCurrentPhase(now);
+        currentPhase = phase;
+        currentPhaseStartNanos = now;
+    }
+
+    public synchronized BuildResult applyTo(BuildResult result) {
+        long now = System.nanoTime();
+        closeCurrentPhase(now);
+        currentPhase = null;
+
+        Map<BuildPhase, Long> durations = new LinkedHashMap<>();
+        phaseNanos.forEach((phase, nanos) -> durations.put(phase, nanos / 1_000_000));
+
+        long elapsedNanos = now - startNanos;
+        result.setStartTime(startTime);
+        result.setEndTime(startTime.plusNanos(elapsedNanos));
+        result.setBuildDuration(elapsedNanos / 1_000_000);
+        result.setPhaseDurations(durations);
+        return result;
+    }
+
+    private void closeCurrentPhase(long now) {
+        if (currentPhase != null) {
+            phaseNanos.merge(currentPhase, now - currentPhaseStartNanos, Long::sum);
+        }
+    }
+}
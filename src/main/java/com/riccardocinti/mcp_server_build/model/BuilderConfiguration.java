@@ -13,7 +13,8 @@ public record BuilderConfiguration(
         String port,
         List<String> buildCommands,
         Map<String, String> properties,
-        DockerHints dockerHints
+        DockerHints dockerHints,
+        List<ModuleInfo> modules
 ) {
 
     public static Builder builder() {
@@ -29,6 +30,7 @@ public record BuilderConfiguration(
         List<String> buildCommands;
         Map<String, String> properties;
         DockerHints dockerHints;
+        List<ModuleInfo> modules;
 
         public Builder buildTool(BuildTool buildTool) {
             this.buildTool = buildTool;
@@ -70,9 +72,18 @@ public record BuilderConfiguration(
             return this;
         }
 
+        public Builder modules(List<ModuleInfo> modules) {
+            this.modules = modules;
+            return this;
+        }
+
         public BuilderConfiguration build() {
             return new BuilderConfiguration(buildTool, projectPath, javaVersion, mainClass,
-                    port, buildCommands, properties, dockerHints);
+                    port, buildCommands, properties, dockerHints, modules);
         }
     }
+
+    public boolean isMultiModule() {
+        return modules != null && !modules.isEmpty();
+    }
 }
@@ -2,12 +2,18 @@ package com.riccardocinti.mcp_server_build.model;
 
 import java.util.List;
 
+// errors and warnings hold at most the first messages of a build; the counts cover all of them
 public record CompilationResult(boolean success,
                                 List<String> compiledFiles,
                                 List<String> errors,
                                 List<String> warnings,
-                                String output,
-                                long duration) {
+                                int errorCount,
+                                int warningCount,
+                                BuildLog log,
+                                long duration,
+                                DependencyResult dependencyResult,
+                                List<ModuleResult> moduleResults,
+                                List<String> artifactPaths) {
     
     public static CompilationResult.Builder builder() {
         return new CompilationResult.Builder();
@@ -18,8 +24,13 @@ public record CompilationResult(boolean success,
         List<String> compiledFiles;
         List<String> errors;
         List<String> warnings;
-        String output;
+        int errorCount;
+        int warningCount;
+        BuildLog log;
         long duration;
+        DependencyResult dependencyResult;
+        List<ModuleResult> moduleResults;
+        List<String> artifactPaths;
 
         public CompilationResult.Builder success(boolean success) {
             this.success = success;
@@ -41,8 +52,18 @@ public record CompilationResult(boolean success,
             return this;
         }
 
-        public CompilationResult.Builder output(String output) {
-            this.output = output;
+        public CompilationResult.Builder errorCount(int errorCount) {
+            this.errorCount = errorCount;
+            return this;
+        }
+
+        public CompilationResult.Builder warningCount(int warningCount) {
+            this.warningCount = warningCount;
+            return this;
+        }
+
+        public CompilationResult.Builder log(BuildLog log) {
+            this.log = log;
             return this;
         }
 
@@ -51,14 +72,34 @@ public record CompilationResult(boolean success,
             return this;
         }
 
+        public CompilationResult.Builder dependencyResult(DependencyResult dependencyResult) {
+            this.dependencyResult = dependencyResult;
+            return this;
+        }
+
+        public CompilationResult.Builder moduleResults(List<ModuleResult> moduleResults) {
+            this.moduleResults = moduleResults;
+            return this;
+        }
+
+        public CompilationResult.Builder artifactPaths(List<String> artifactPaths) {
+            this.artifactPaths = artifactPaths;
+            return this;
+        }
+
         public CompilationResult build() {
             return new CompilationResult(
                     this.success,
                     this.compiledFiles,
                     this.errors,
                     this.warnings,
-                    this.output,
-                    this.duration
+                    Math.max(this.errorCount, this.errors != null ? this.errors.size() : 0),
+                    Math.max(this.warningCount, this.warnings != null ? this.warnings.size() : 0),
+                    this.log,
+                    this.duration,
+                    this.dependencyResult,
+                    this.moduleResults,
+                    this.artifactPaths
             );
         }
     }
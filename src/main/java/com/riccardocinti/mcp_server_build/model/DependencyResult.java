@@ -1,11 +1,17 @@
 package com.riccardocinti.mcp_server_build.model;
 
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+
 import java.util.List;
 
+// The dependency lists hold at most the first entries of a build; the counts cover all of them
 public record DependencyResult(boolean success,
+                               DependencyResolutionMode resolutionMode,
                                List<String> resolvedDependencies,
                                List<String> failedDependencies,
-                               String output,
+                               int resolvedCount,
+                               int failedCount,
+                               BuildLog log,
                                long duration) {
 
     public static DependencyResult.Builder builder() {
@@ -14,9 +20,12 @@ public record DependencyResult(boolean success,
 
     public static final class Builder {
         boolean success;
+        DependencyResolutionMode resolutionMode;
         List<String> resolvedDependencies;
         List<String> failedDependencies;
-        String output;
+        int resolvedCount;
+        int failedCount;
+        BuildLog log;
         long duration;
 
         public Builder success(boolean success) {
@@ -24,6 +33,11 @@ public record DependencyResult(boolean success,
             return this;
         }
 
+        public Builder resolutionMode(DependencyResolutionMode resolutionMode) {
+            this.resolutionMode = resolutionMode;
+            return this;
+        }
+
         public Builder resolvedDependencies(List<String> resolvedDependencies) {
             this.resolvedDependencies = resolvedDependencies;
             return this;
@@ -34,8 +48,18 @@ public record DependencyResult(boolean success,
             return this;
         }
 
-        public Builder output(String output) {
-            this.output = output;
+        public Builder resolvedCount(int resolvedCount) {
+            this.resolvedCount = resolvedCount;
+            return this;
+        }
+
+        public Builder failedCount(int failedCount) {
+            this.failedCount = failedCount;
+            return this;
+        }
+
+        public Builder log(BuildLog log) {
+            this.log = log;
             return this;
         }
 
@@ -47,9 +71,12 @@ public record DependencyResult(boolean success,
         public DependencyResult build() {
             return new DependencyResult(
                     this.success,
+                    this.resolutionMode,
                     this.resolvedDependencies,
                     this.failedDependencies,
-                    this.output,
+                    Math.max(this.resolvedCount, this.resolvedDependencies != null ? this.resolvedDependencies.size() : 0),
+                    Math.max(this.failedCount, this.failedDependencies != null ? this.failedDependencies.size() : 0),
+                    this.log,
                     this.duration
             );
         }
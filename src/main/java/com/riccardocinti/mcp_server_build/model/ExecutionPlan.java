@@ -0,0 +1,57 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.TimeoutPhase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public record ExecutionPlan(DependencyResolutionMode dependencyResolutionMode,
+                            List<Invocation> invocations) {
+
+    public record Invocation(List<String> goals,
+                             List<String> options,
+                             Set<BuildPhase> phases,
+                             Set<TimeoutPhase> timeoutPhases) {
+
+        public boolean covers(BuildPhase phase) {
+            return phases.contains(phase);
+        }
+
+        public List<String> arguments() {
+            List<String> arguments = new ArrayList<>(goals);
+            arguments.addAll(options);
+            return arguments;
+        }
+
+        public String describe() {
+            return String.join(" ", arguments());
+        }
+    }
+
+    public Optional<Invocation> dependencyInvocation() {
+        return invocations.stream()
+                .filter(invocation -> invocation.covers(BuildPhase.DEPENDENCY_RESOLUTION))
+                .filter(invocation -> !invocation.covers(BuildPhase.COMPILATION))
+                .findFirst();
+    }
+
+    public List<Invocation> compilationInvocations() {
+        return invocations.stream()
+                .filter(invocation -> invocation.covers(BuildPhase.COMPILATION))
+                .toList();
+    }
+
+    public boolean fusesDependencyResolution() {
+        return invocations.stream()
+                .anyMatch(invocation -> invocation.covers(BuildPhase.DEPENDENCY_RESOLUTION)
+                        && invocation.covers(BuildPhase.COMPILATION));
+    }
+
+    public int getInvocationCount() {
+        return invocations != null ? invocations.size() : 0;
+    }
+}
@@ -0,0 +1,6 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import java.util.List;
+
+public record ModuleInfo(String artifactId, String path, List<String> dependsOn) {
+}
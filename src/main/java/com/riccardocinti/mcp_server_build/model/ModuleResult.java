@@ -0,0 +1,4 @@
+package com.riccardocinti.mcp_server_build.model;
+
+public record ModuleResult(String module, String status, long duration) {
+}
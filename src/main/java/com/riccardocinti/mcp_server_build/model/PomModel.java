@@ -0,0 +1,111 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record PomModel(
+        Coordinates coordinates,
+        Coordinates parent,
+        String packaging,
+        String name,
+        Map<String, String> properties,
+        List<String> modules,
+        List<Dependency> dependencies,
+        List<Plugin> plugins) {
+
+    public record Coordinates(String groupId, String artifactId, String version) {
+    }
+
+    public record Dependency(String groupId, String artifactId, String version, String scope) {
+    }
+
+    public record Plugin(String groupId, String artifactId, String version) {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        Coordinates coordinates;
+        Coordinates parent;
+        String packaging;
+        String name;
+        Map<String, String> properties;
+        List<String> modules;
+        List<Dependency> dependencies;
+        List<Plugin> plugins;
+
+        public Builder coordinates(Coordinates coordinates) {
+            this.coordinates = coordinates;
+            return this;
+        }
+
+        public Builder parent(Coordinates parent) {
+            this.parent = parent;
+            return this;
+        }
+
+        public Builder packaging(String packaging) {
+            this.packaging = packaging;
+            return this;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder properties(Map<String, String> properties) {
+            this.properties = properties;
+            return this;
+        }
+
+        public Builder modules(List<String> modules) {
+            this.modules = modules;
+            return this;
+        }
+
+        public Builder dependencies(List<Dependency> dependencies) {
+            this.dependencies = dependencies;
+            return this;
+        }
+
+        public Builder plugins(List<Plugin> plugins) {
+            this.plugins = plugins;
+            return this;
+        }
+
+        public PomModel build() {
+            return new PomModel(coordinates, parent, packaging, name, properties, modules, dependencies, plugins);
+        }
+    }
+
+    // Convenience methods
+    public String artifactId() {
+        return coordinates != null ? coordinates.artifactId() : null;
+    }
+
+    public String version() {
+        return coordinates != null ? coordinates.version() : null;
+    }
+
+    public String property(String key) {
+        return properties != null ? properties.get(key) : null;
+    }
+
+    public boolean isAggregator() {
+        return modules != null && !modules.isEmpty();
+    }
+
+    public boolean hasDependency(String artifactIdPrefix) {
+        return (parent != null && parent.artifactId() != null && parent.artifactId().startsWith(artifactIdPrefix))
+                || (dependencies != null && dependencies.stream()
+                .anyMatch(dependency -> dependency.artifactId() != null
+                        && dependency.artifactId().startsWith(artifactIdPrefix)));
+    }
+
+    public boolean hasPlugin(String artifactId) {
+        return plugins != null && plugins.stream().anyMatch(plugin -> artifactId.equals(plugin.artifactId()));
+    }
+}
@@ -1,4 +1,17 @@
 package com.riccardocinti.mcp_server_build.model;
 
-public record ProcessResult(int exitCode, String output) {
-}
\ No newline at end of file
+import java.time.Duration;
+import java.time.Instant;
+
+// Output itself is streamed to the caller's line observer; only its size is kept here
+public record ProcessResult(int exitCode,
+                            Instant startTime,
+                            Instant endTime,
+                            long outputLines,
+                            long outputChars) {
+
+    // Convenience methods
+    public long duration() {
+        return startTime != null && endTime != null ? Duration.between(startTime, endTime).toMillis() : 0L;
+    }
+}
@@ -0,0 +1,5 @@
+package com.riccardocinti.mcp_server_build.model;
+
+public record ProjectAnalysis(ProjectInfo projectInfo,
+                              BuilderConfiguration builderConfiguration) {
+}
@@ -0,0 +1,14 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import java.util.Map;
+
+public record SchedulerStatus(int maxConcurrentBuilds,
+                              int activeBuilds,
+                              int queuedBuilds,
+                              int maxQueuedBuilds,
+                              Map<String, Integer> queuedBuildsByClient,
+                              long completedWaits,
+                              long averageWaitTime,
+                              long maxWaitTime,
+                              long rejectedBuilds) {
+}
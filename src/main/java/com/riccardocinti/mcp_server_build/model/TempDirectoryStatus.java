@@ -0,0 +1,12 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import java.time.Instant;
+
+public record TempDirectoryStatus(String directory,
+                                  long usedBytes,
+                                  long maxBytes,
+                                  long reclaimedBytes,
+                                  long deletedEntries,
+                                  long cleanupRuns,
+                                  Instant lastCleanupAt) {
+}
@@ -0,0 +1,8 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+public enum BuildMilestone {
+    MODULE_STARTED,
+    COMPILING,
+    TESTS_COMPLETED,
+    FIRST_ERROR
+}
@@ -0,0 +1,12 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+public enum BuildPhase {
+    QUEUED,
+    PROJECT_DISCOVERY,
+    BUILD_TOOL_DETECTION,
+    ENVIRONMENT_PREPARATION,
+    DEPENDENCY_RESOLUTION,
+    COMPILATION,
+    ARTIFACT_DISCOVERY,
+    RESULT_COMPILATION
+}
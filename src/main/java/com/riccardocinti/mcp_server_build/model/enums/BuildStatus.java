@@ -1,5 +1,5 @@
 package com.riccardocinti.mcp_server_build.model.enums;
 
 public enum BuildStatus {
-    FAILED, COMPLETED
+    FAILED, COMPLETED, CANCELLED
 }
@@ -14,5 +14,11 @@ public enum BuildTool {
         this.configFile = configFile;
     }
 
-    // TODO: Implement getters and utility methods
+    public String getToolName() {
+        return toolName;
+    }
+
+    public String getConfigFile() {
+        return configFile;
+    }
 }
@@ -0,0 +1,23 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum DependencyResolutionMode {
+    SKIP,
+    OFFLINE,
+    RUNTIME_SCOPE,
+    FULL_WITH_SOURCES;
+
+    public static DependencyResolutionMode fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dependency resolution mode: " + value +
+                        ". Expected one of " + Arrays.toString(values())));
+    }
+}
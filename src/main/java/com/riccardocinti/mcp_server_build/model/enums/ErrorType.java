@@ -7,5 +7,7 @@ public enum ErrorType {
     DEPENDENCY_RESOLUTION_FAILED,
     COMPILATION_FAILED,
     ARTIFACT_DISCOVERY_FAILED,
+    BUILD_REJECTED,
+    BUILD_CANCELLED,
     UNEXPECTED_ERROR
 }
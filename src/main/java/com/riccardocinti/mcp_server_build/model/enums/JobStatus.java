@@ -0,0 +1,9 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+public enum JobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
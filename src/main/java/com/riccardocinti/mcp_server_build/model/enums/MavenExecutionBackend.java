@@ -0,0 +1,7 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+public enum MavenExecutionBackend {
+    FORK,
+    DAEMON,
+    EMBEDDED
+}
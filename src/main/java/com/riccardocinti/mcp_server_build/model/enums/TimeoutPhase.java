@@ -0,0 +1,6 @@
+package com.riccardocinti.mcp_server_build.model.enums;
+
+// Budgets that timeouts are configured and learned for; a fused invocation gets the sum of the phases it runs
+public enum TimeoutPhase {
+    DEPENDENCIES, COMPILE, PACKAGE
+}
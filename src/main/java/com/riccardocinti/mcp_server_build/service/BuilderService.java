@@ -2,12 +2,16 @@ package com.riccardocinti.mcp_server_build.service;
 
 import com.riccardocinti.mcp_server_build.exceptions.*;
 import com.riccardocinti.mcp_server_build.model.*;
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
 import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
 import com.riccardocinti.mcp_server_build.service.interfaces.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class BuilderService {
 
@@ -27,13 +31,40 @@ public class BuilderService {
 
     private final BuildResultService buildResultService;
 
+    private final ExecutionPlanningService executionPlanningService;
+
+    private final BuildSchedulerService buildSchedulerService;
+
+    private final BuildCoalescingService buildCoalescingService;
+
+    private final BuildCacheService buildCacheService;
+
+    private final ProjectAnalysisCacheService projectAnalysisCacheService;
+
+    private final BuildCancellationService buildCancellationService;
+
+    private final BuildTimeoutService buildTimeoutService;
+
+    private final ArtifactStoreService artifactStoreService;
+
+    private final TempDirectoryCleanupService tempDirectoryCleanupService;
+
     public BuilderService(ProjectDiscoveryService projectDiscoveryService,
                           BuilderToolDetectionService builderToolDetectionService,
                           BuildEnvironmentService buildEnvironmentService,
                           DependencyResolutionService dependencyResolutionService,
                           CompilationService compilationService,
                           ArtifactDiscoveryService artifactDiscoveryService,
-                          BuildResultService buildResultService) {
+                          BuildResultService buildResultService,
+                          ExecutionPlanningService executionPlanningService,
+                          BuildSchedulerService buildSchedulerService,
+                          BuildCoalescingService buildCoalescingService,
+                          BuildCacheService buildCacheService,
+                          ProjectAnalysisCacheService projectAnalysisCacheService,
+                          BuildCancellationService buildCancellationService,
+                          BuildTimeoutService buildTimeoutService,
+                          ArtifactStoreService artifactStoreService,
+                          TempDirectoryCleanupService tempDirectoryCleanupService) {
         this.projectDiscoveryService = projectDiscoveryService;
         this.builderToolDetectionService = builderToolDetectionService;
         this.buildEnvironmentService = buildEnvironmentService;
@@ -41,37 +72,128 @@ public class BuilderService {
         this.compilationService = compilationService;
         this.artifactDiscoveryService = artifactDiscoveryService;
         this.buildResultService = buildResultService;
+        this.executionPlanningService = executionPlanningService;
+        this.buildSchedulerService = buildSchedulerService;
+        this.buildCoalescingService = buildCoalescingService;
+        this.buildCacheService = buildCacheService;
+        this.projectAnalysisCacheService = projectAnalysisCacheService;
+        this.buildCancellationService = buildCancellationService;
+        this.buildTimeoutService = buildTimeoutService;
+        this.artifactStoreService = artifactStoreService;
+        this.tempDirectoryCleanupService = tempDirectoryCleanupService;
     }
 
     public BuildResult buildProject(String projectPath) {
-        logger.info("Starting build process for project: {}", projectPath);
+        return buildProject(BuildRequest.of(projectPath), BuildProgressListener.NOOP);
+    }
 
-        try {
-            logger.debug("Step 1: Discovering and validating project structure");
-            ProjectInfo projectInfo = projectDiscoveryService.discoverAndValidateProject(projectPath);
+    public BuildResult buildProject(BuildRequest request, BuildProgressListener progressListener) {
+        return buildCoalescingService.coalesce(request, progressListener, listener -> executeBuild(request, listener));
+    }
 
-            logger.debug("Step 2: Detecting build tool and analyzing configuration");
-            BuilderConfiguration builderConfig = builderToolDetectionService.detectAndAnalyzeBuildTool(projectInfo);
+    private BuildResult executeBuild(BuildRequest request, BuildProgressListener progressListener) {
+        BuildTimer timer = new BuildTimer();
+        // Spilled logs and other scratch files of this build stay put until it has finished
+        TempDirectoryCleanupService.InFlightBuild inFlightBuild = tempDirectoryCleanupService.trackBuild();
+        try (BuildCancellationService.RunningBuild runningBuild = buildCancellationService.register(request.projectPath())) {
+            BuildResult result = runPipeline(request, timer, new TimedProgressListener(timer, progressListener),
+                    runningBuild);
+            if (runningBuild.isCancelled() && !result.isSuccess() && result.getErrorType() != ErrorType.BUILD_CANCELLED) {
+                // The interrupt surfaces as whatever the current phase makes of it; report what actually happened
+                result = buildResultService.createFailureResult(ErrorType.BUILD_CANCELLED,
+                        new BuildCancelledException("Build cancelled for project: " + request.projectPath()),
+                        request.projectPath());
+            }
+            // Every outcome, including cache hits and failures, carries the time this build actually took
+            timer.applyTo(result);
+            logger.info("Build of {} took {}ms: {}", request.projectPath(), result.getBuildDuration(),
+                    result.getPhaseDurations());
+            runningBuild.complete(result);
+            return result;
+        } finally {
+            inFlightBuild.close();
+        }
+    }
+
+    private BuildResult runPipeline(BuildRequest request, BuildTimer timer, BuildProgressListener progressListener,
+                                    BuildCancellationService.RunningBuild runningBuild) {
+        String projectPath = request.projectPath();
+        logger.info("Starting build process for project: {} (client: {})", projectPath, request.clientId());
+
+        try {
+            // Steps 1-2 are skipped while the project files are unchanged since the last analysis
+            ProjectAnalysis projectAnalysis = projectAnalysisCacheService.getOrAnalyze(projectPath,
+                    () -> analyzeProject(projectPath, progressListener));
+            ProjectInfo projectInfo = projectAnalysis.projectInfo();
+            BuilderConfiguration builderConfig = projectAnalysis.builderConfiguration();
 
             logger.debug("Step 3: Preparing build environment");
+            progressListener.onPhaseStarted(BuildPhase.ENVIRONMENT_PREPARATION);
             BuildEnvironment buildEnv = buildEnvironmentService.prepareBuildEnvironment(builderConfig);
+            ExecutionPlan executionPlan = executionPlanningService.planExecution(builderConfig,
+                    request.dependencyResolutionMode());
 
-            logger.debug("Step 4: Resolving dependencies");
-            DependencyResult depResult = dependencyResolutionService.resolveDependencies(builderConfig, buildEnv);
+            // Unchanged inputs are answered from the build cache without taking a build slot
+            Optional<String> inputFingerprint = buildCacheService.fingerprint(builderConfig, buildEnv, executionPlan);
+            Optional<BuildResult> cachedResult = inputFingerprint.flatMap(buildCacheService::lookup);
+            if (cachedResult.isPresent()) {
+                logger.info("Returning cached build result for project: {}", projectPath);
+                // The stored copies may have been evicted since the result was cached
+                BuildResult result = cachedResult.get();
+                result.setArtifactInfo(artifactStoreService.retain(result.getArtifactInfo()));
+                return result;
+            }
 
-            logger.debug("Step 5: Executing compilation and packaging");
-            CompilationResult compResult = compilationService.compileAndPackage(builderConfig, buildEnv);
+            runningBuild.throwIfCancelled();
+            progressListener.onPhaseStarted(BuildPhase.QUEUED);
+            try (BuildSchedulerService.BuildSlot slot = buildSchedulerService.acquireSlot(request.clientId())) {
+                logger.debug("Acquired build slot after waiting {}ms", slot.queueWaitTime());
+                runningBuild.holdSlot(slot);
+                runningBuild.throwIfCancelled();
+                // Queue time does not count against the build deadline
+                BuildDeadline deadline = buildTimeoutService.startBuild(projectPath,
+                        executionPlan.dependencyResolutionMode());
 
-            logger.debug("Step 6: Discovering generated artifacts");
-            ArtifactInfo artifactInfo = artifactDiscoveryService.discoverArtifacts(builderConfig, compResult);
+                logger.debug("Step 4: Resolving dependencies");
+                progressListener.onPhaseStarted(BuildPhase.DEPENDENCY_RESOLUTION);
+                DependencyResult depResult = dependencyResolutionService.resolveDependencies(builderConfig, buildEnv, executionPlan,
+                        deadline, progressListener);
 
-            logger.debug("Step 7: Compiling final build result");
-            BuildResult result = buildResultService.compileBuildResult(
-                    projectInfo, builderConfig, buildEnv, depResult, compResult, artifactInfo
-            );
+                logger.debug("Step 5: Executing compilation and packaging");
+                progressListener.onPhaseStarted(BuildPhase.COMPILATION);
+                CompilationResult compResult = compilationService.compileAndPackage(builderConfig, buildEnv, executionPlan,
+                        deadline, progressListener);
+                if (compResult.dependencyResult() != null) {
+                    // Dependencies were resolved inside the fused compilation invocation
+                    depResult = compResult.dependencyResult();
+                }
 
-            logger.info("Build process completed successfully for project: {}", projectPath);
-            return result;
+                logger.debug("Step 6: Discovering generated artifacts");
+                progressListener.onPhaseStarted(BuildPhase.ARTIFACT_DISCOVERY);
+                ArtifactInfo artifactInfo = artifactStoreService.retain(
+                        artifactDiscoveryService.discoverArtifacts(builderConfig, compResult));
+
+                logger.debug("Step 7: Compiling final build result");
+                progressListener.onPhaseStarted(BuildPhase.RESULT_COMPILATION);
+                BuildResult result = buildResultService.compileBuildResult(
+                        projectInfo, builderConfig, buildEnv, depResult, compResult, artifactInfo, timer
+                );
+                inputFingerprint.ifPresent(fingerprint -> buildCacheService.store(fingerprint, result));
+                if (result.isSuccess()) {
+                    buildTimeoutService.recordBuild(deadline);
+                }
+
+                logger.info("Build process completed successfully for project: {}", projectPath);
+                return result;
+            }
+
+        } catch (BuildCancelledException e) {
+            logger.warn(e.getMessage());
+            return buildResultService.createFailureResult(ErrorType.BUILD_CANCELLED, e, projectPath);
+
+        } catch (BuildQueueFullException e) {
+            logger.warn("Build rejected: {}", e.getMessage());
+            return buildResultService.createFailureResult(ErrorType.BUILD_REJECTED, e, projectPath);
 
         } catch (ProjectDiscoveryException e) {
             logger.error("Project discovery failed: {}", e.getMessage());
@@ -97,9 +219,42 @@ public class BuilderService {
             logger.error("Artifact discovery failed: {}", e.getMessage());
             return buildResultService.createFailureResult(ErrorType.ARTIFACT_DISCOVERY_FAILED, e, projectPath);
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Build interrupted while waiting for a build slot");
+            return buildResultService.createFailureResult(ErrorType.UNEXPECTED_ERROR, e, projectPath);
+
         } catch (Exception e) {
             logger.error("Unexpected error during build process: {}", e.getMessage(), e);
             return buildResultService.createFailureResult(ErrorType.UNEXPECTED_ERROR, e, projectPath);
         }
     }
+
+    private ProjectAnalysis analyzeProject(String projectPath, BuildProgressListener progressListener)
+            throws ProjectDiscoveryException, BuilderToolDetectionException {
+        logger.debug("Step 1: Discovering and validating project structure");
+        progressListener.onPhaseStarted(BuildPhase.PROJECT_DISCOVERY);
+        ProjectInfo projectInfo = projectDiscoveryService.discoverAndValidateProject(projectPath);
+
+        logger.debug("Step 2: Detecting build tool and analyzing configuration");
+        progressListener.onPhaseStarted(BuildPhase.BUILD_TOOL_DETECTION);
+        BuilderConfiguration builderConfig = builderToolDetectionService.detectAndAnalyzeBuildTool(projectInfo);
+        return new ProjectAnalysis(projectInfo, builderConfig);
+    }
+
+    // Times each phase as it is reported, so the breakdown needs no extra hooks in the pipeline steps
+    private record TimedProgressListener(BuildTimer timer, BuildProgressListener delegate)
+            implements BuildProgressListener {
+
+        @Override
+        public void onPhaseStarted(BuildPhase phase) {
+            timer.enterPhase(phase);
+            delegate.onPhaseStarted(phase);
+        }
+
+        @Override
+        public void onMilestone(BuildMilestone milestone, String message) {
+            delegate.onMilestone(milestone, message);
+        }
+    }
 }
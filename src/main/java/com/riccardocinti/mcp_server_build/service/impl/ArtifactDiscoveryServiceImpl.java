@@ -13,13 +13,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.MessageDigest;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -34,6 +37,13 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
     private static final Pattern SOURCE_JAR_PATTERN = Pattern.compile(".*-sources\\.jar$");
     private static final Pattern JAVADOC_JAR_PATTERN = Pattern.compile(".*-javadoc\\.jar$");
 
+    private static final String JAR_LAUNCHER = "org.springframework.boot.loader.JarLauncher";
+    private static final String WAR_LAUNCHER = "org.springframework.boot.loader.WarLauncher";
+
+    private static final int INSPECTION_PARALLELISM = 4;
+
+    private final ArtifactInspector artifactInspector = ArtifactInspector.shared();
+
     @Override
     public ArtifactInfo discoverArtifacts(BuilderConfiguration builderConfiguration, CompilationResult compilationResult)
             throws ArtifactDiscoveryException {
@@ -55,32 +65,18 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
             throws IOException {
         logger.debug("Discovering Maven artifacts");
 
-        Path projectPath = Paths.get(builderConfiguration.projectPath());
-        Path targetDir = projectPath.resolve("target");
-
-        if (!Files.exists(targetDir) || !Files.isDirectory(targetDir)) {
-            logger.warn("Maven target directory not found: {}", targetDir);
-            return ArtifactInfo.builder()
-                    .artifacts(new ArrayList<>())
-                    .totalSize(0L)
-                    .build();
+        // Artifacts the build reported writing are exact; walking target/ is only the fallback,
+        // since it misses custom output locations and picks up jars left behind by earlier builds
+        List<Path> jarFiles = reportedArtifacts(compilationResult);
+        if (jarFiles.isEmpty()) {
+            jarFiles = scanTargetDirectories(builderConfiguration);
+        } else {
+            logger.debug("Using {} artifacts reported by the build", jarFiles.size());
+            jarFiles = withUnreportedArtifacts(jarFiles);
         }
 
-        List<ArtifactInfo.Artifact> artifacts = new ArrayList<>();
-
-        try (Stream<Path> files = Files.walk(targetDir, 2)) {
-            files.filter(Files::isRegularFile)
-                    .filter(path -> JAR_PATTERN.matcher(path.getFileName().toString()).matches())
-                    .forEach(jarPath -> {
-                        try {
-                            ArtifactInfo.Artifact artifact = createJarArtifact(jarPath, builderConfiguration);
-                            artifacts.add(artifact);
-                            logger.debug("Discovered Maven artifact: {} ({})", artifact.path(), artifact.type());
-                        } catch (Exception e) {
-                            logger.warn("Failed to process Maven artifact: {}", jarPath, e);
-                        }
-                    });
-        }
+        // Hashing dominates discovery, so jars are processed in parallel
+        List<ArtifactInfo.Artifact> artifacts = processJarArtifacts(jarFiles, builderConfiguration);
 
         // Sort artifacts by priority (executable JARs first)
         artifacts.sort(this::compareArtifactPriority);
@@ -101,6 +97,116 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
         return artifactInfo;
     }
 
+    private List<Path> reportedArtifacts(CompilationResult compilationResult) {
+        if (compilationResult == null || compilationResult.artifactPaths() == null) {
+            return List.of();
+        }
+        return compilationResult.artifactPaths().stream()
+                .map(Paths::get)
+                .filter(path -> JAR_PATTERN.matcher(path.getFileName().toString()).matches())
+                .filter(Files::isRegularFile)
+                .toList();
+    }
+
+    // Some plugins attach archives without logging their path, such as an attached shaded jar. Those are written
+    // next to the reported artifacts and after them, while jars of earlier builds are older than all of them.
+    private List<Path> withUnreportedArtifacts(List<Path> reported) {
+        long oldestReported = reported.stream().mapToLong(this::lastModified).min().orElse(Long.MAX_VALUE);
+        Set<Path> jarFiles = new LinkedHashSet<>(reported);
+        for (Path directory : reported.stream().map(Path::getParent).distinct().toList()) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(Files::isRegularFile)
+                        .filter(path -> JAR_PATTERN.matcher(path.getFileName().toString()).matches())
+                        .filter(path -> lastModified(path) >= oldestReported)
+                        .forEach(jarFiles::add);
+            } catch (IOException e) {
+                logger.warn("Failed to list artifact directory: {}", directory, e);
+            }
+        }
+        if (jarFiles.size() > reported.size()) {
+            logger.debug("Found {} artifacts the build did not report", jarFiles.size() - reported.size());
+        }
+        return List.copyOf(jarFiles);
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private List<Path> scanTargetDirectories(BuilderConfiguration builderConfiguration) {
+        Path projectPath = Paths.get(builderConfiguration.projectPath());
+
+        // The root, plus every reactor module of a multi-module build
+        Set<Path> targetDirs = new LinkedHashSet<>();
+        targetDirs.add(projectPath.resolve("target"));
+        if (builderConfiguration.isMultiModule()) {
+            builderConfiguration.modules().forEach(module -> targetDirs.add(Paths.get(module.path()).resolve("target")));
+        }
+
+        List<Path> existingTargetDirs = targetDirs.stream().filter(Files::isDirectory).toList();
+        if (existingTargetDirs.isEmpty()) {
+            logger.warn("Maven target directory not found: {}", projectPath.resolve("target"));
+            return List.of();
+        }
+        return existingTargetDirs.stream()
+                .flatMap(targetDir -> findJarFiles(targetDir).stream())
+                .toList();
+    }
+
+    private List<Path> findJarFiles(Path targetDir) {
+        try (Stream<Path> files = Files.walk(targetDir, 2)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> JAR_PATTERN.matcher(path.getFileName().toString()).matches())
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Failed to scan Maven target directory: {}", targetDir, e);
+            return List.of();
+        }
+    }
+
+    // Reading and hashing jars blocks, so it runs on virtual threads rather than the common pool, with no more
+    // than INSPECTION_PARALLELISM jars open at a time
+    private List<ArtifactInfo.Artifact> processJarArtifacts(List<Path> jarFiles, BuilderConfiguration builderConfiguration) {
+        Semaphore permits = new Semaphore(INSPECTION_PARALLELISM);
+        List<Future<ArtifactInfo.Artifact>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path jarPath : jarFiles) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return processJarArtifact(jarPath, builderConfiguration);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        // Closing the executor waited for every inspection; only an interrupted one has no result
+        List<ArtifactInfo.Artifact> artifacts = new ArrayList<>();
+        for (Future<ArtifactInfo.Artifact> future : futures) {
+            if (future.state() == Future.State.SUCCESS && future.resultNow() != null) {
+                artifacts.add(future.resultNow());
+            }
+        }
+        return artifacts;
+    }
+
+    private ArtifactInfo.Artifact processJarArtifact(Path jarPath, BuilderConfiguration builderConfiguration) {
+        try {
+            ArtifactInfo.Artifact artifact = createJarArtifact(jarPath, builderConfiguration);
+            logger.debug("Discovered Maven artifact: {} ({})", artifact.path(), artifact.type());
+            return artifact;
+        } catch (Exception e) {
+            logger.warn("Failed to process Maven artifact: {}", jarPath, e);
+            return null;
+        }
+    }
+
     private String findMainArtifact(List<ArtifactInfo.Artifact> artifacts, BuilderConfiguration buildConfig) {
         if (artifacts.isEmpty()) {
             return null;
@@ -134,22 +240,23 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
 
     private ArtifactInfo.Artifact createJarArtifact(Path jarPath, BuilderConfiguration builderConfiguration)
             throws IOException, NoSuchAlgorithmException {
-        String fileName = jarPath.getFileName().toString();
-        long size = Files.size(jarPath);
-        String checksum = calculateFileChecksum(jarPath);
-
-        // Determine artifact type
-        String type = determineJarType(jarPath, builderConfiguration);
+        BasicFileAttributes attributes = Files.readAttributes(jarPath, BasicFileAttributes.class);
+        ArtifactInspector.Inspection inspection = artifactInspector.inspect(jarPath, attributes);
 
         return ArtifactInfo.Artifact.builder()
                 .path(jarPath.toString())
-                .type(type)
-                .size(size)
-                .checksum(checksum)
+                .type(determineJarType(jarPath, inspection))
+                .size(attributes.size())
+                .checksum(inspection.checksum())
+                .mainClass(inspection.mainClass())
+                .startClass(inspection.startClass())
+                .layersIndex(inspection.layersIndex())
+                .entryCount(inspection.entryCount())
+                .classCount(inspection.classCount())
                 .build();
     }
 
-    private String determineJarType(Path jarPath, BuilderConfiguration buildConfig) throws IOException {
+    private String determineJarType(Path jarPath, ArtifactInspector.Inspection inspection) {
         String fileName = jarPath.getFileName().toString();
 
         // Check for source and javadoc JARs first
@@ -166,12 +273,13 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
         }
 
         // Check if it's a Spring Boot executable JAR by examining manifest
-        if (isSpringBootExecutableJar(jarPath)) {
+        if (JAR_LAUNCHER.equals(inspection.mainClass()) || WAR_LAUNCHER.equals(inspection.mainClass())
+                || inspection.startClass() != null) {
             return "spring-boot-jar";
         }
 
         // Check if it's an executable JAR by examining manifest
-        if (isExecutableJar(jarPath)) {
+        if (inspection.mainClass() != null) {
             return "executable-jar";
         }
 
@@ -185,43 +293,6 @@ public class ArtifactDiscoveryServiceImpl implements ArtifactDiscoveryService {
         }
     }
 
-    private boolean isSpringBootExecutableJar(Path jarPath) {
-        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
-            Manifest manifest = jarFile.getManifest();
-            if (manifest != null) {
-                String mainClass = manifest.getMainAttributes().getValue("Main-Class");
-                String startClass = manifest.getMainAttributes().getValue("Start-Class");
-
-                return "org.springframework.boot.loader.JarLauncher".equals(mainClass) ||
-                        "org.springframework.boot.loader.WarLauncher".equals(mainClass) ||
-                        startClass != null;
-            }
-        } catch (IOException e) {
-            logger.debug("Could not examine JAR manifest: {}", jarPath, e);
-        }
-        return false;
-    }
-
-    private boolean isExecutableJar(Path jarPath) {
-        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
-            Manifest manifest = jarFile.getManifest();
-            if (manifest != null) {
-                String mainClass = manifest.getMainAttributes().getValue("Main-Class");
-                return mainClass != null && !mainClass.trim().isEmpty();
-            }
-        } catch (IOException e) {
-            logger.debug("Could not examine JAR manifest: {}", jarPath, e);
-        }
-        return false;
-    }
-
-    private String calculateFileChecksum(Path filePath) throws IOException, NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance("SHA-256");
-        byte[] fileBytes = Files.readAllBytes(filePath);
-        byte[] hashBytes = md.digest(fileBytes);
-        return HexFormat.of().formatHex(hashBytes);
-    }
-
     private ArtifactInfo discoverGradleArtifacts(BuilderConfiguration builderConfiguration, CompilationResult compilationResult) {
         throw new UnsupportedOperationException();
     }
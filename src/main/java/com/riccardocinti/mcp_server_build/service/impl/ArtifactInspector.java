@@ -0,0 +1,338 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+// Everything discovery needs from an artifact, gathered through one open channel: a SHA-256 of the file read in
+// fixed-size chunks, then the archive's central directory and manifest. No other archive entry is read.
+// Inspections are remembered per path and reused while size, modification time and file key are unchanged.
+class ArtifactInspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactInspector.class);
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int MAX_CACHED_INSPECTIONS = 1024;
+
+    // Guards against corrupt size fields; real central directories and manifests are far smaller
+    private static final long MAX_CENTRAL_DIRECTORY_SIZE = 64L * 1024 * 1024;
+    private static final long MAX_MANIFEST_SIZE = 1024L * 1024;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIZE = 56;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+    private static final String LAYERS_INDEX_ATTRIBUTE = "Spring-Boot-Layers-Index";
+    private static final List<String> LAYERS_INDEX_NAMES = List.of("BOOT-INF/layers.idx", "WEB-INF/layers.idx");
+
+    // Inspections depend only on the file, so discovery and the build cache share one instance
+    private static final ArtifactInspector SHARED = new ArtifactInspector();
+
+    private final Map<Path, Entry> inspections = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+            return size() > MAX_CACHED_INSPECTIONS;
+        }
+    };
+
+    static ArtifactInspector shared() {
+        return SHARED;
+    }
+
+    Inspection inspect(Path file, BasicFileAttributes attributes) throws IOException, NoSuchAlgorithmException {
+        Path key = file.toAbsolutePath().normalize();
+        synchronized (inspections) {
+            Entry cached = inspections.get(key);
+            if (cached != null && cached.matches(attributes)) {
+                return cached.inspection();
+            }
+        }
+
+        Inspection inspection = read(file);
+        synchronized (inspections) {
+            inspections.put(key, new Entry(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey(),
+                    inspection));
+        }
+        return inspection;
+    }
+
+    private static Inspection read(Path file) throws IOException, NoSuchAlgorithmException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            String checksum = digest(channel);
+            try {
+                return readArchive(channel, checksum);
+            } catch (IOException | DataFormatException e) {
+                // Not a readable archive: the checksum still stands, the type falls back to the file name
+                logger.debug("Could not inspect archive {}: {}", file, e.getMessage());
+                return new Inspection(checksum, false, null, null, null, 0, 0);
+            }
+        }
+    }
+
+    private static String digest(FileChannel channel) throws IOException, NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) != -1) {
+            position += read;
+            buffer.flip();
+            md.update(buffer);
+            buffer.clear();
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static Inspection readArchive(FileChannel channel, String checksum)
+            throws IOException, DataFormatException {
+        CentralDirectory directory = locateCentralDirectory(channel);
+        if (directory.size() > MAX_CENTRAL_DIRECTORY_SIZE) {
+            throw new ZipException("Central directory of " + directory.size() + " bytes is too large");
+        }
+        ByteBuffer headers = readAt(channel, directory.position(), (int) directory.size());
+
+        int entryCount = 0;
+        int classCount = 0;
+        String layersIndex = null;
+        byte[] manifest = null;
+
+        int offset = 0;
+        while (offset + CENTRAL_HEADER_SIZE <= headers.limit()) {
+            if (headers.getInt(offset) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Malformed central directory header at " + offset);
+            }
+            int nameLength = unsignedShort(headers, offset + 28);
+            int extraLength = unsignedShort(headers, offset + 30);
+            int commentLength = unsignedShort(headers, offset + 32);
+            int nameOffset = offset + CENTRAL_HEADER_SIZE;
+            if (nameOffset + nameLength + extraLength + commentLength > headers.limit()) {
+                throw new ZipException("Truncated central directory");
+            }
+            String name = new String(headers.array(), nameOffset, nameLength, StandardCharsets.UTF_8);
+
+            entryCount++;
+            if (name.endsWith(".class")) {
+                classCount++;
+            } else if (name.equalsIgnoreCase(MANIFEST_NAME)) {
+                manifest = readManifest(channel, directory, headers, offset, nameOffset + nameLength, extraLength);
+            } else if (LAYERS_INDEX_NAMES.contains(name)) {
+                layersIndex = name;
+            }
+            offset = nameOffset + nameLength + extraLength + commentLength;
+        }
+
+        String mainClass = null;
+        String startClass = null;
+        if (manifest != null) {
+            Attributes attributes = new Manifest(new ByteArrayInputStream(manifest)).getMainAttributes();
+            mainClass = trimToNull(attributes.getValue(Attributes.Name.MAIN_CLASS));
+            startClass = trimToNull(attributes.getValue("Start-Class"));
+            String declaredLayersIndex = trimToNull(attributes.getValue(LAYERS_INDEX_ATTRIBUTE));
+            if (declaredLayersIndex != null) {
+                layersIndex = declaredLayersIndex;
+            }
+        }
+        return new Inspection(checksum, true, mainClass, startClass, layersIndex, entryCount, classCount);
+    }
+
+    private static CentralDirectory locateCentralDirectory(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int tailLength = (int) Math.min(fileSize, END_SIZE + MAX_COMMENT_SIZE);
+        if (tailLength < END_SIZE) {
+            throw new ZipException("Too small to be an archive");
+        }
+        long tailPosition = fileSize - tailLength;
+        ByteBuffer tail = readAt(channel, tailPosition, tailLength);
+
+        int end = tailLength - END_SIZE;
+        while (end >= 0 && tail.getInt(end) != END_SIGNATURE) {
+            end--;
+        }
+        if (end < 0) {
+            throw new ZipException("No end of central directory record");
+        }
+        long endPosition = tailPosition + end;
+        long size = unsignedInt(tail, end + 12);
+        long declaredOffset = unsignedInt(tail, end + 16);
+
+        long locatorPosition = endPosition - ZIP64_LOCATOR_SIZE;
+        if (locatorPosition >= 0 && readAt(channel, locatorPosition, ZIP64_LOCATOR_SIZE).getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+            long zip64EndPosition = locatorPosition - ZIP64_END_SIZE;
+            if (zip64EndPosition < 0) {
+                throw new ZipException("Truncated ZIP64 end of central directory record");
+            }
+            ByteBuffer zip64End = readAt(channel, zip64EndPosition, ZIP64_END_SIZE);
+            if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+                throw new ZipException("Malformed ZIP64 end of central directory record");
+            }
+            size = zip64End.getLong(40);
+            declaredOffset = zip64End.getLong(48);
+            endPosition = zip64EndPosition;
+        }
+
+        // Measured from the end record rather than trusted, so archives behind a launch script still resolve
+        long position = endPosition - size;
+        if (position < 0 || size < 0) {
+            throw new ZipException("Malformed central directory bounds");
+        }
+        return new CentralDirectory(position, size, position - declaredOffset);
+    }
+
+    private static byte[] readManifest(FileChannel channel, CentralDirectory directory, ByteBuffer headers,
+                                       int header, int extraOffset, int extraLength)
+            throws IOException, DataFormatException {
+        int method = unsignedShort(headers, header + 10);
+        long compressedSize = unsignedInt(headers, header + 20);
+        long size = unsignedInt(headers, header + 24);
+        long localHeaderOffset = unsignedInt(headers, header + 42);
+
+        // ZIP64 values appear in the extra field, in this order, only for the fields that overflowed
+        int extra = extraOffset;
+        while (extra + 4 <= extraOffset + extraLength) {
+            int id = unsignedShort(headers, extra);
+            int length = unsignedShort(headers, extra + 2);
+            if (id == ZIP64_EXTRA_ID) {
+                int field = extra + 4;
+                if (size == ZIP64_MAGIC) {
+                    size = headers.getLong(field);
+                    field += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC) {
+                    compressedSize = headers.getLong(field);
+                    field += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC) {
+                    localHeaderOffset = headers.getLong(field);
+                }
+                break;
+            }
+            extra += 4 + length;
+        }
+
+        if (size > MAX_MANIFEST_SIZE || compressedSize > MAX_MANIFEST_SIZE) {
+            throw new ZipException("Manifest of " + size + " bytes is too large");
+        }
+        long localHeaderPosition = directory.base() + localHeaderOffset;
+        ByteBuffer localHeader = readAt(channel, localHeaderPosition, LOCAL_HEADER_SIZE);
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Malformed local header for " + MANIFEST_NAME);
+        }
+        long dataPosition = localHeaderPosition + LOCAL_HEADER_SIZE
+                + unsignedShort(localHeader, 26) + unsignedShort(localHeader, 28);
+        byte[] data = readAt(channel, dataPosition, (int) compressedSize).array();
+
+        return switch (method) {
+            case STORED -> data;
+            case DEFLATED -> inflate(data, (int) size);
+            default -> throw new ZipException("Unsupported compression method " + method + " for " + MANIFEST_NAME);
+        };
+    }
+
+    private static byte[] inflate(byte[] data, int size) throws DataFormatException, ZipException {
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw deflate streams need one trailing dummy byte
+            byte[] input = new byte[data.length + 1];
+            System.arraycopy(data, 0, input, 0, data.length);
+            inflater.setInput(input);
+            byte[] output = new byte[size];
+            int inflated = 0;
+            while (inflated < size && !inflater.finished()) {
+                int count = inflater.inflate(output, inflated, size - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != size) {
+                throw new ZipException("Truncated " + MANIFEST_NAME);
+            }
+            return output;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException("Unexpected end of archive at " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int index) {
+        return Short.toUnsignedInt(buffer.getShort(index));
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int index) {
+        return Integer.toUnsignedLong(buffer.getInt(index));
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // base is the offset of the archive within the file, non-zero when something is prepended to it
+    private record CentralDirectory(long position, long size, long base) {
+    }
+
+    record Inspection(String checksum,
+                      boolean archive,
+                      String mainClass,
+                      String startClass,
+                      String layersIndex,
+                      int entryCount,
+                      int classCount) {
+    }
+
+    private record Entry(long size, FileTime lastModified, Object fileKey, Inspection inspection) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+import com.riccardocinti.mcp_server_build.service.interfaces.ArtifactStoreService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Keeps artifacts under <temp-directory>/artifacts/<sha-256>/<file name>, where the next `mvn clean` cannot reach them.
+// Sources are copied, never linked: Maven's archivers rewrite an existing jar in place, which would change a linked
+// blob behind its checksum. Within the store, further names for identical content are hard links to the one copy.
+@Service
+public class ArtifactStoreServiceImpl implements ArtifactStoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactStoreServiceImpl.class);
+
+    static final String STORE_DIRECTORY = "artifacts";
+
+    private static final String STAGING_DIRECTORY = ".staging";
+
+    private static final Pattern CHECKSUM_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final Path storeDirectory;
+
+    // Blob sizes by checksum, access-ordered so iteration starts at the least recently used blob
+    private final LinkedHashMap<String, Long> blobs = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long storedBytes;
+
+    public ArtifactStoreServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+        this.storeDirectory = Paths.get(builderServerConfig.getTempDirectory(), STORE_DIRECTORY)
+                .toAbsolutePath().normalize();
+        loadStoredBlobs();
+    }
+
+    @Override
+    public ArtifactInfo retain(ArtifactInfo artifactInfo) {
+        if (!builderServerConfig.isPreserveArtifacts() || artifactInfo == null || artifactInfo.artifacts() == null
+                || artifactInfo.artifacts().isEmpty()) {
+            return artifactInfo;
+        }
+
+        // Blobs of this build are never evicted to make room for each other
+        Set<String> retained = new HashSet<>();
+        List<ArtifactInfo.Artifact> artifacts = new ArrayList<>();
+        for (ArtifactInfo.Artifact artifact : artifactInfo.artifacts()) {
+            artifacts.add(retain(artifact, retained));
+        }
+        evictOverBudget(retained);
+
+        return ArtifactInfo.builder()
+                .artifacts(artifacts)
+                .mainArtifactPath(artifactInfo.mainArtifactPath())
+                .totalSize(artifactInfo.totalSize())
+                .build();
+    }
+
+    @Override
+    public long storedBytes() {
+        synchronized (blobs) {
+            return storedBytes;
+        }
+    }
+
+    // Artifacts answered from the build cache carry the store path of an earlier build; whenever no stored copy
+    // can be vouched for now, that path is dropped rather than handed out pointing at an evicted blob
+    private ArtifactInfo.Artifact retain(ArtifactInfo.Artifact artifact, Set<String> retained) {
+        String checksum = artifact.checksum();
+        if (checksum == null || !CHECKSUM_PATTERN.matcher(checksum).matches()) {
+            return artifact.withStorePath(null);
+        }
+        if (artifact.size() > budgetBytes()) {
+            logger.info("Artifact {} is larger than the artifact store budget, not retaining it", artifact.path());
+            return artifact.withStorePath(null);
+        }
+
+        Path source = Paths.get(artifact.path());
+        Path blobDirectory = storeDirectory.resolve(checksum);
+        Path target = blobDirectory.resolve(source.getFileName().toString());
+        try {
+            synchronized (blobs) {
+                if (isStored(checksum)) {
+                    retained.add(checksum);
+                    return artifact.withStorePath(linkName(blobDirectory, target).toString());
+                }
+            }
+
+            // Copied outside the lock; the copy is hashed on the way, so a source rewritten since discovery
+            // is never stored under the wrong checksum
+            Path staged = stage(source, checksum);
+            synchronized (blobs) {
+                if (isStored(checksum)) {
+                    Files.deleteIfExists(staged);
+                    target = linkName(blobDirectory, target);
+                } else {
+                    Files.createDirectories(blobDirectory);
+                    Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+                    blobs.put(checksum, artifact.size());
+                    storedBytes += artifact.size();
+                }
+                retained.add(checksum);
+            }
+            logger.debug("Retained artifact {} as {}", artifact.path(), target);
+            return artifact.withStorePath(target.toString());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("Could not retain artifact {}: {}", artifact.path(), e.getMessage());
+            return artifact.withStorePath(null);
+        }
+    }
+
+    private Path stage(Path source, String checksum) throws IOException, NoSuchAlgorithmException {
+        Path stagingDirectory = Files.createDirectories(storeDirectory.resolve(STAGING_DIRECTORY));
+        Path staged = Files.createTempFile(stagingDirectory, checksum, ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream input = new DigestInputStream(Files.newInputStream(source), digest)) {
+                Files.copy(input, staged, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String copied = HexFormat.of().formatHex(digest.digest());
+            if (!copied.equals(checksum)) {
+                throw new IOException("content changed since discovery (now " + copied + ")");
+            }
+            return staged;
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+    }
+
+    // Called with the lock held; forgets blobs that were deleted behind the store's back
+    private boolean isStored(String checksum) {
+        Long size = blobs.get(checksum);
+        if (size == null) {
+            return false;
+        }
+        if (firstFile(storeDirectory.resolve(checksum)).isPresent()) {
+            return true;
+        }
+        blobs.remove(checksum);
+        storedBytes -= size;
+        return false;
+    }
+
+    // Called with the lock held; gives an existing blob the artifact's file name if it does not have it yet
+    private Path linkName(Path blobDirectory, Path target) throws IOException {
+        touch(blobDirectory);
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+        Optional<Path> existing = firstFile(blobDirectory);
+        if (existing.isEmpty()) {
+            throw new IOException("Stored blob " + blobDirectory + " is missing");
+        }
+        try {
+            Files.createLink(target, existing.get());
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.debug("Could not hard link {}, copying instead", target, e);
+            Files.copy(existing.get(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    private void evictOverBudget(Set<String> retained) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (blobs) {
+            long budget = budgetBytes();
+            Iterator<Map.Entry<String, Long>> iterator = blobs.entrySet().iterator();
+            while (storedBytes > budget && iterator.hasNext()) {
+                Map.Entry<String, Long> blob = iterator.next();
+                if (retained.contains(blob.getKey())) {
+                    continue;
+                }
+                iterator.remove();
+                storedBytes -= blob.getValue();
+                evicted.add(blob.getKey());
+                deleteBlob(storeDirectory.resolve(blob.getKey()));
+            }
+        }
+        if (!evicted.isEmpty()) {
+            logger.info("Evicted {} artifacts from the artifact store ({} bytes remain)", evicted.size(), storedBytes());
+        }
+    }
+
+    private void loadStoredBlobs() {
+        if (!builderServerConfig.isPreserveArtifacts() || !Files.isDirectory(storeDirectory)) {
+            return;
+        }
+        deleteBlob(storeDirectory.resolve(STAGING_DIRECTORY));
+
+        List<Path> directories;
+        try (Stream<Path> stream = Files.list(storeDirectory)) {
+            directories = stream.filter(Files::isDirectory)
+                    .filter(dir -> CHECKSUM_PATTERN.matcher(dir.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Could not read artifact store {}", storeDirectory, e);
+            return;
+        }
+
+        synchronized (blobs) {
+            for (Path directory : directories) {
+                Optional<Path> blob = firstFile(directory);
+                try {
+                    if (blob.isPresent()) {
+                        long size = Files.size(blob.get());
+                        blobs.put(directory.getFileName().toString(), size);
+                        storedBytes += size;
+                        continue;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Could not read stored artifact {}", blob.get(), e);
+                }
+                deleteBlob(directory);
+            }
+        }
+        evictOverBudget(Set.of());
+        logger.info("Loaded {} stored artifacts ({} bytes) from {}", blobs.size(), storedBytes(), storeDirectory);
+    }
+
+    private long budgetBytes() {
+        return Math.max(0L, builderServerConfig.getArtifactStoreMaxSizeMb()) * 1024 * 1024;
+    }
+
+    private Optional<Path> firstFile(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void touch(Path directory) {
+        // Keeps the on-disk recency in line with the in-memory LRU order across restarts
+        try {
+            Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Could not touch stored artifact {}", directory, e);
+        }
+    }
+
+    private void deleteBlob(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete {} from the artifact store", directory, e);
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
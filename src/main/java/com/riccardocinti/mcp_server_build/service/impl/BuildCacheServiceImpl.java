@@ -0,0 +1,315 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class BuildCacheServiceImpl implements BuildCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildCacheServiceImpl.class);
+
+    static final String CACHE_DIRECTORY = "build-cache";
+
+    private static final String ENTRY_SUFFIX = ".json";
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final ArtifactInspector artifactInspector = ArtifactInspector.shared();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Path cacheDirectory;
+
+    public BuildCacheServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+        this.cacheDirectory = Paths.get(builderServerConfig.getTempDirectory(), CACHE_DIRECTORY)
+                .toAbsolutePath().normalize();
+        loadPersistedEntries();
+    }
+
+    @Override
+    public Optional<String> fingerprint(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                        ExecutionPlan executionPlan) {
+        if (!builderServerConfig.isBuildCacheEnabled()) {
+            return Optional.empty();
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, builderConfiguration.buildTool().name());
+            update(digest, String.valueOf(builderConfiguration.buildCommands()));
+            update(digest, String.valueOf(executionPlan.dependencyResolutionMode()));
+            updateWithToolHome(digest, buildEnv.javaHome(), "release");
+            updateWithToolHome(digest, buildEnv.buildToolHome(), null);
+            Path projectRoot = Paths.get(builderConfiguration.projectPath()).toAbsolutePath().normalize();
+            // Cached results carry the project path and artifact locations, so identical checkouts must not share them
+            update(digest, projectRoot.toString());
+            updateWithProjectFiles(digest, projectRoot);
+            return Optional.of(HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("Could not fingerprint build inputs of {}, building without cache",
+                    builderConfiguration.projectPath(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<BuildResult> lookup(String fingerprint) {
+        String json;
+        synchronized (entries) {
+            json = entries.get(fingerprint);
+        }
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        try {
+            BuildResult result = objectMapper.readValue(json, BuildResult.class);
+            if (!artifactsIntact(result.getArtifactInfo())) {
+                logger.info("Cached artifacts for {} changed or disappeared, discarding cache entry",
+                        result.getProjectPath());
+                remove(fingerprint);
+                return Optional.empty();
+            }
+            result.setCached(true);
+            touchEntryFile(fingerprint);
+            logger.info("Build cache hit for {}", result.getProjectPath());
+            return Optional.of(result);
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable build cache entry {}", fingerprint, e);
+            remove(fingerprint);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void store(String fingerprint, BuildResult result) {
+        if (!builderServerConfig.isBuildCacheEnabled() || result == null || !result.isSuccess()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (IOException e) {
+            logger.warn("Could not serialize build result of {} for caching", result.getProjectPath(), e);
+            return;
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (entries) {
+            entries.put(fingerprint, json);
+            evicted.addAll(evictOverflow());
+        }
+        persist(fingerprint, json);
+        evicted.forEach(this::deleteEntryFile);
+        logger.debug("Stored build result of {} in cache ({} entries)", result.getProjectPath(), size());
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private List<String> evictOverflow() {
+        List<String> evicted = new ArrayList<>();
+        int maxEntries = Math.max(0, builderServerConfig.getBuildCacheMaxEntries());
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() - evicted.size() > maxEntries && iterator.hasNext()) {
+            evicted.add(iterator.next());
+        }
+        evicted.forEach(entries::remove);
+        return evicted;
+    }
+
+    private void remove(String fingerprint) {
+        synchronized (entries) {
+            entries.remove(fingerprint);
+        }
+        deleteEntryFile(fingerprint);
+    }
+
+    private boolean artifactsIntact(ArtifactInfo artifactInfo) {
+        if (artifactInfo == null || artifactInfo.artifacts() == null) {
+            return true;
+        }
+        for (ArtifactInfo.Artifact artifact : artifactInfo.artifacts()) {
+            try {
+                // Only rehashed when size, modification time or file key changed since discovery
+                Path path = Paths.get(artifact.path());
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile() || attributes.size() != artifact.size()
+                        || !artifactInspector.inspect(path, attributes).checksum().equals(artifact.checksum())) {
+                    return false;
+                }
+            } catch (IOException | NoSuchAlgorithmException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateWithToolHome(MessageDigest digest, String home, String versionFile) throws IOException {
+        if (home == null) {
+            update(digest, "");
+            return;
+        }
+        Path homePath = Paths.get(home);
+        Path resolved = Files.exists(homePath) ? homePath.toRealPath() : homePath;
+        update(digest, resolved.toString());
+        if (versionFile != null && Files.isRegularFile(resolved.resolve(versionFile))) {
+            updateWithFile(digest, resolved.resolve(versionFile));
+        }
+    }
+
+    private void updateWithProjectFiles(MessageDigest digest, Path projectRoot) throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(projectRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return ProjectTreeFilter.isExcluded(projectRoot, dir)
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        // Sort so the fingerprint does not depend on directory iteration order
+        files.sort(Comparator.comparing(file -> projectRoot.relativize(file).toString()));
+        for (Path file : files) {
+            update(digest, projectRoot.relativize(file).toString());
+            updateWithFile(digest, file);
+        }
+    }
+
+    private void updateWithFile(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private void loadPersistedEntries() {
+        if (!builderServerConfig.isBuildCacheEnabled() || !Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDirectory)) {
+            files = stream.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Could not read build cache directory {}", cacheDirectory, e);
+            return;
+        }
+
+        List<String> evicted;
+        synchronized (entries) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    entries.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), Files.readString(file));
+                } catch (IOException e) {
+                    logger.debug("Skipping unreadable build cache entry {}", file, e);
+                }
+            }
+            evicted = evictOverflow();
+        }
+        evicted.forEach(this::deleteEntryFile);
+        logger.info("Loaded {} build cache entries from {}", size(), cacheDirectory);
+    }
+
+    private void persist(String fingerprint, String json) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path temp = Files.createTempFile(cacheDirectory, fingerprint, ".tmp");
+            Files.writeString(temp, json);
+            Files.move(temp, entryFile(fingerprint), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist build cache entry {}", fingerprint, e);
+        }
+    }
+
+    private void deleteEntryFile(String fingerprint) {
+        try {
+            Files.deleteIfExists(entryFile(fingerprint));
+        } catch (IOException e) {
+            logger.debug("Could not delete build cache entry {}", fingerprint, e);
+        }
+    }
+
+    private void touchEntryFile(String fingerprint) {
+        // Keeps the on-disk recency in line with the in-memory LRU order across restarts
+        try {
+            Files.setLastModifiedTime(entryFile(fingerprint), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Could not touch build cache entry {}", fingerprint, e);
+        }
+    }
+
+    private Path entryFile(String fingerprint) {
+        return cacheDirectory.resolve(fingerprint + ENTRY_SUFFIX);
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildCancelledException;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCancellationService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildResultService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildSchedulerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class BuildCancellationServiceImpl implements BuildCancellationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildCancellationServiceImpl.class);
+
+    private final BuildResultService buildResultService;
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final Map<String, Set<Registration>> runningBuilds = new ConcurrentHashMap<>();
+
+    public BuildCancellationServiceImpl(BuildResultService buildResultService,
+                                        BuilderServerConfig builderServerConfig) {
+        this.buildResultService = buildResultService;
+        this.builderServerConfig = builderServerConfig;
+    }
+
+    @Override
+    public RunningBuild register(String projectPath) {
+        Registration registration = new Registration(key(projectPath), projectPath, Thread.currentThread());
+        runningBuilds.compute(registration.key, (key, registrations) -> {
+            Set<Registration> running = registrations != null ? registrations : new LinkedHashSet<>();
+            running.add(registration);
+            return running;
+        });
+        return registration;
+    }
+
+    @Override
+    public Optional<BuildResult> cancel(String projectPath) {
+        List<Registration> builds = new ArrayList<>();
+        runningBuilds.computeIfPresent(key(projectPath), (key, registrations) -> {
+            builds.addAll(registrations);
+            return registrations;
+        });
+        if (builds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        logger.info("Cancelling {} running builds of project: {}", builds.size(), projectPath);
+        builds.forEach(Registration::cancel);
+        return Optional.of(awaitResult(builds.getFirst()));
+    }
+
+    private BuildResult awaitResult(Registration build) {
+        try {
+            BuildResult result = build.result.get(builderServerConfig.getCancelAwaitTime(), TimeUnit.MILLISECONDS);
+            if (result != null) {
+                return result;
+            }
+        } catch (TimeoutException e) {
+            // The slot is already released; the pipeline reports its own result once it unwinds
+            logger.warn("Build of {} did not stop within {}ms of being cancelled", build.projectPath,
+                    builderServerConfig.getCancelAwaitTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Cancelled build of {} completed exceptionally", build.projectPath, e.getCause());
+        }
+        return buildResultService.createFailureResult(ErrorType.BUILD_CANCELLED,
+                cancelledException(build.projectPath), build.projectPath);
+    }
+
+    private static BuildCancelledException cancelledException(String projectPath) {
+        return new BuildCancelledException("Build cancelled for project: " + projectPath);
+    }
+
+    private static String key(String projectPath) {
+        if (projectPath == null) {
+            return "";
+        }
+        try {
+            return Paths.get(projectPath).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return projectPath;
+        }
+    }
+
+    private final class Registration implements RunningBuild {
+        private final String key;
+        private final String projectPath;
+        private final Thread thread;
+        private final CompletableFuture<BuildResult> result = new CompletableFuture<>();
+        private BuildSchedulerService.BuildSlot slot;
+        private boolean cancelled;
+        private boolean finished;
+
+        private Registration(String key, String projectPath, Thread thread) {
+            this.key = key;
+            this.projectPath = projectPath;
+            this.thread = thread;
+        }
+
+        private synchronized void cancel() {
+            if (finished || cancelled) {
+                return;
+            }
+            cancelled = true;
+            // Interrupting the pipeline terminates the process tree of the running invocation
+            thread.interrupt();
+            if (slot != null) {
+                slot.close();
+            }
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void throwIfCancelled() throws BuildCancelledException {
+            if (isCancelled()) {
+                throw cancelledException(projectPath);
+            }
+        }
+
+        @Override
+        public synchronized void holdSlot(BuildSchedulerService.BuildSlot slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void complete(BuildResult buildResult) {
+            result.complete(buildResult);
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                finished = true;
+                if (cancelled) {
+                    // Do not leak the cancellation interrupt to whatever runs next on this thread
+                    Thread.interrupted();
+                }
+            }
+            runningBuilds.computeIfPresent(key, (ignored, registrations) -> {
+                registrations.remove(this);
+                return registrations.isEmpty() ? null : registrations;
+            });
+            result.complete(null);
+        }
+    }
+}
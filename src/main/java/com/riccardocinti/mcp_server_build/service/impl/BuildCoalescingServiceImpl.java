@@ -0,0 +1,204 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCoalescingService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Service
+public class BuildCoalescingServiceImpl implements BuildCoalescingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildCoalescingServiceImpl.class);
+
+    private static final int LOCK_STRIPES = 32;
+
+    private final Map<BuildKey, InFlightBuild> inFlightBuilds = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public BuildCoalescingServiceImpl() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public BuildResult coalesce(BuildRequest request,
+                                BuildProgressListener progressListener,
+                                Function<BuildProgressListener, BuildResult> build) {
+        BuildKey key = buildKey(request);
+        if (key == null) {
+            // Invalid paths are rejected by project discovery, nothing worth sharing
+            return build.apply(progressListener);
+        }
+
+        ReentrantLock stripe = stripeFor(key);
+        InFlightBuild inFlightBuild;
+        AttachedListener attached = new AttachedListener(progressListener);
+        boolean leader = false;
+
+        stripe.lock();
+        try {
+            inFlightBuild = inFlightBuilds.get(key);
+            if (inFlightBuild == null) {
+                inFlightBuild = new InFlightBuild();
+                inFlightBuilds.put(key, inFlightBuild);
+                leader = true;
+            }
+            inFlightBuild.listeners.add(attached);
+        } finally {
+            stripe.unlock();
+        }
+
+        if (!leader) {
+            logger.info("Attaching to in-flight build of {}", key.projectPath());
+            // Listeners run outside the stripe lock, so a slow client cannot hold up builds of other projects
+            attached.replay(inFlightBuild.currentPhase);
+            return awaitShared(inFlightBuild);
+        }
+
+        try {
+            BuildResult result = build.apply(inFlightBuild);
+            release(key, inFlightBuild);
+            inFlightBuild.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            release(key, inFlightBuild);
+            inFlightBuild.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getInFlightBuildCount() {
+        return inFlightBuilds.size();
+    }
+
+    private BuildResult awaitShared(InFlightBuild inFlightBuild) {
+        try {
+            return inFlightBuild.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared build", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shared build failed", e.getCause());
+        }
+    }
+
+    private void release(BuildKey key, InFlightBuild inFlightBuild) {
+        ReentrantLock stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            inFlightBuilds.remove(key, inFlightBuild);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(BuildKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private BuildKey buildKey(BuildRequest request) {
+        if (request.projectPath() == null || request.projectPath().isBlank()) {
+            return null;
+        }
+        try {
+            Path projectRoot = Paths.get(request.projectPath()).toAbsolutePath().normalize();
+            if (!Files.isDirectory(projectRoot)) {
+                return null;
+            }
+            return new BuildKey(projectRoot.toString(), inputFingerprint(projectRoot),
+                    request.dependencyResolutionMode());
+        } catch (InvalidPathException | IOException | NoSuchAlgorithmException e) {
+            logger.debug("Could not compute build key for {}, building without coalescing", request.projectPath(), e);
+            return null;
+        }
+    }
+
+    private String inputFingerprint(Path projectRoot) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (BuildTool buildTool : BuildTool.values()) {
+            Path buildFile = projectRoot.resolve(buildTool.getConfigFile());
+            if (Files.isRegularFile(buildFile)) {
+                digest.update(buildTool.getConfigFile().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(buildFile));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record BuildKey(String projectPath, String inputFingerprint,
+                            DependencyResolutionMode dependencyResolutionMode) {
+    }
+
+    private static final class InFlightBuild implements BuildProgressListener {
+        private final CompletableFuture<BuildResult> result = new CompletableFuture<>();
+        private final List<AttachedListener> listeners = new CopyOnWriteArrayList<>();
+        private volatile BuildPhase currentPhase;
+
+        @Override
+        public void onPhaseStarted(BuildPhase phase) {
+            currentPhase = phase;
+            listeners.forEach(listener -> listener.onPhaseStarted(phase));
+        }
+
+        @Override
+        public void onMilestone(BuildMilestone milestone, String message) {
+            listeners.forEach(listener -> listener.onMilestone(milestone, message));
+        }
+    }
+
+    // Delivers the shared progress to one caller in order. The phase in progress when it attached is replayed,
+    // unless the leader has already reported a newer one to it.
+    private static final class AttachedListener implements BuildProgressListener {
+        private final BuildProgressListener delegate;
+        private boolean phaseSeen;
+
+        private AttachedListener(BuildProgressListener delegate) {
+            this.delegate = delegate;
+        }
+
+        private synchronized void replay(BuildPhase phase) {
+            if (phase != null && !phaseSeen) {
+                onPhaseStarted(phase);
+            }
+        }
+
+        @Override
+        public synchronized void onPhaseStarted(BuildPhase phase) {
+            phaseSeen = true;
+            delegate.onPhaseStarted(phase);
+        }
+
+        @Override
+        public synchronized void onMilestone(BuildMilestone milestone, String message) {
+            delegate.onMilestone(milestone, message);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildJobNotFoundException;
+import com.riccardocinti.mcp_server_build.model.BuildJob;
+import com.riccardocinti.mcp_server_build.model.BuildJobStatus;
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
+import com.riccardocinti.mcp_server_build.service.BuilderService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCancellationService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildJobService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildResultService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class BuildJobServiceImpl implements BuildJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildJobServiceImpl.class);
+
+    private static final long EVICTION_INTERVAL_MS = 60_000L;
+
+    private final BuilderService builderService;
+
+    private final BuildResultService buildResultService;
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final BuildCancellationService buildCancellationService;
+
+    private final Map<String, BuildJob> jobs = new ConcurrentHashMap<>();
+
+    private final ExecutorService buildExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("build-job-", 0).factory());
+
+    private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("build-job-evictor").daemon().factory());
+
+    public BuildJobServiceImpl(BuilderService builderService,
+                               BuildResultService buildResultService,
+                               BuilderServerConfig builderServerConfig,
+                               BuildCancellationService buildCancellationService) {
+        this.builderService = builderService;
+        this.buildResultService = buildResultService;
+        this.builderServerConfig = builderServerConfig;
+        this.buildCancellationService = buildCancellationService;
+        this.evictionExecutor.scheduleWithFixedDelay(this::evictExpiredJobs,
+                EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public BuildJobStatus startBuild(BuildRequest request) {
+        BuildJob job = new BuildJob(UUID.randomUUID().toString(), request.projectPath());
+        jobs.put(job.getJobId(), job);
+
+        logger.info("Submitting build job {} for project: {}", job.getJobId(), request.projectPath());
+        buildExecutor.execute(() -> runJob(job, request));
+
+        return job.snapshot();
+    }
+
+    @Override
+    public BuildJobStatus getBuildStatus(String jobId) throws BuildJobNotFoundException {
+        return findJob(jobId).snapshot();
+    }
+
+    @Override
+    public BuildJobStatus awaitBuild(String jobId, long maxWaitMillis) throws BuildJobNotFoundException {
+        BuildJob job = findJob(jobId);
+        long waitMillis = Math.clamp(maxWaitMillis, 0L, Math.max(0L, builderServerConfig.getMaxAwaitTime()));
+
+        try {
+            job.getResult().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Build job {} still running after waiting {}ms", jobId, waitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Build job {} completed exceptionally", jobId, e.getCause());
+        }
+
+        return job.snapshot();
+    }
+
+    @Override
+    public BuildResult cancelBuild(String jobId) throws BuildJobNotFoundException {
+        BuildJob job = findJob(jobId);
+        if (job.getStatus().isFinished()) {
+            return job.getResult().getNow(null);
+        }
+
+        logger.info("Cancelling build job {}", jobId);
+        // Jobs run through the regular pipeline, which is registered under the project path
+        BuildResult result = buildCancellationService.cancel(job.getProjectPath())
+                .orElseThrow(() -> new IllegalStateException("Build job " + jobId + " has not started its build yet"));
+        try {
+            // The job completes right after the pipeline; wait for it so its status reflects the cancellation
+            job.getResult().get(builderServerConfig.getCancelAwaitTime(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            logger.debug("Build job {} not completed after cancellation", jobId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private void runJob(BuildJob job, BuildRequest request) {
+        job.markStarted();
+        BuildResult result;
+        try {
+            result = builderService.buildProject(request, job::enterPhase);
+        } catch (Exception e) {
+            logger.error("Build job {} terminated unexpectedly", job.getJobId(), e);
+            result = buildResultService.createFailureResult(ErrorType.UNEXPECTED_ERROR, e, job.getProjectPath());
+        }
+        job.complete(result);
+        logger.info("Build job {} finished with status {}", job.getJobId(), job.getStatus());
+    }
+
+    private BuildJob findJob(String jobId) throws BuildJobNotFoundException {
+        BuildJob job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null) {
+            throw new BuildJobNotFoundException("No build job found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minusMillis(builderServerConfig.getJobTtl());
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            boolean expired = finishedAt != null && finishedAt.isBefore(cutoff);
+            if (expired) {
+                logger.debug("Evicting expired build job {}", job.getJobId());
+            }
+            return expired;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+        buildExecutor.shutdownNow();
+    }
+}
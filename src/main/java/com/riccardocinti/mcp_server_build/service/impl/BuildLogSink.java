@@ -0,0 +1,170 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.BuildLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+// Keeps only the tail of a build log in memory, bounded by lines and characters,
+// and streams the complete log to a gzip file under the temp directory
+class BuildLogSink implements Consumer<String>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildLogSink.class);
+
+    static final String LOG_DIRECTORY = "logs";
+
+    private final int maxTailLines;
+
+    private final int maxTailChars;
+
+    private final Deque<String> tail = new ArrayDeque<>();
+
+    private int tailChars;
+
+    private long totalLines;
+
+    private Path logFile;
+
+    private CountingOutputStream counter;
+
+    private Writer writer;
+
+    private boolean closed;
+
+    BuildLogSink(Path logFile, int maxTailLines, int maxTailChars) {
+        this(logFile, openLogFile(logFile), maxTailLines, maxTailChars);
+    }
+
+    // The target is where the complete log goes; without one only the tail is kept
+    BuildLogSink(Path logFile, OutputStream target, int maxTailLines, int maxTailChars) {
+        this.maxTailLines = Math.max(1, maxTailLines);
+        this.maxTailChars = Math.max(1, maxTailChars);
+        this.logFile = target != null ? logFile : null;
+        this.counter = new CountingOutputStream(target != null ? target : OutputStream.nullOutputStream());
+        this.writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8));
+    }
+
+    private static OutputStream openLogFile(Path logFile) {
+        if (logFile == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(logFile.getParent());
+            return new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile)));
+        } catch (IOException e) {
+            logger.warn("Cannot write build log to {}, keeping only its tail", logFile, e);
+            return null;
+        }
+    }
+
+    static BuildLogSink open(BuilderServerConfig config, BuildEnvironment buildEnv, String name) {
+        Path logFile = config.isLogSpillToDisk() && buildEnv.tempDirectory() != null
+                ? Paths.get(buildEnv.tempDirectory(), LOG_DIRECTORY, name + "-" + UUID.randomUUID() + ".log.gz")
+                : null;
+        return new BuildLogSink(logFile, config.getLogTailLines(), config.getLogTailSizeKb() * 1024);
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        if (closed) {
+            return;
+        }
+        totalLines++;
+        write(line);
+
+        // An overlong line keeps its end, leaving room for its newline within the budget
+        String kept = line.length() >= maxTailChars ? line.substring(line.length() - maxTailChars + 1) : line;
+        tail.addLast(kept);
+        tailChars += kept.length() + 1;
+        while (tail.size() > maxTailLines || tailChars > maxTailChars) {
+            tailChars -= tail.removeFirst().length() + 1;
+        }
+    }
+
+    synchronized BuildLog toBuildLog() {
+        close();
+        StringBuilder text = new StringBuilder(tailChars);
+        tail.forEach(line -> text.append(line).append("\n"));
+        return new BuildLog(text.toString(), logFile != null ? logFile.toString() : null,
+                counter.count, totalLines, tail.size() < totalLines);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Buffered lines were lost, so the file is not the complete log
+            logger.warn("Failed to finish build log {}", logFile, e);
+            logFile = null;
+        }
+    }
+
+    private void write(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            // Keep counting, but stop writing a log that can no longer be completed
+            logger.warn("Failed to write build log {}, keeping only its tail", logFile, e);
+            try {
+                writer.close();
+            } catch (IOException closeFailure) {
+                logger.debug("Could not close build log {}", logFile, closeFailure);
+            }
+            counter = new CountingOutputStream(OutputStream.nullOutputStream(), counter.count);
+            writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8));
+            logFile = null;
+        }
+    }
+
+    // Counts uncompressed bytes on their way to the gzip stream
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this(out, 0L);
+        }
+
+        CountingOutputStream(OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
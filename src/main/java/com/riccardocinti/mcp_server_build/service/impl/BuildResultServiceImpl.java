@@ -22,16 +22,12 @@ public class BuildResultServiceImpl implements BuildResultService {
                                           BuildEnvironment buildEnv,
                                           DependencyResult depResult,
                                           CompilationResult compResult,
-                                          ArtifactInfo artifactInfo) {
+                                          ArtifactInfo artifactInfo,
+                                          BuildTimer timer) {
 
         logger.debug("Compiling build result for {} project: {}",
                 projectInfo.buildTool(), projectInfo.projectName());
 
-        LocalDateTime endTime = LocalDateTime.now();
-
-        // Calculate total build duration from individual phases
-        long totalDuration = calculateTotalDuration(depResult, compResult);
-
         // Determine overall build status
         BuildStatus finalStatus = determineFinalStatus(depResult, compResult, artifactInfo);
         boolean success = finalStatus == BuildStatus.COMPLETED;
@@ -43,8 +39,8 @@ public class BuildResultServiceImpl implements BuildResultService {
                 .projectPath(projectInfo.projectPath())
                 .buildConfiguration(buildConfig)
                 .artifactInfo(artifactInfo)
-                .endTime(endTime)
-                .buildDuration(totalDuration);
+                .moduleResults(compResult != null ? compResult.moduleResults() : null)
+                .buildLog(compResult != null ? compResult.log() : null);
 
         // Add success-specific information
         if (success) {
@@ -56,6 +52,10 @@ public class BuildResultServiceImpl implements BuildResultService {
         }
 
         BuildResult result = resultBuilder.build();
+        // Stamped now so the summary has a duration; the pipeline stamps the final timings once it returns
+        if (timer != null) {
+            timer.applyTo(result);
+        }
 
         // Log comprehensive build summary
         logBuildSummary(result, projectInfo, depResult, compResult, artifactInfo);
@@ -72,11 +72,12 @@ public class BuildResultServiceImpl implements BuildResultService {
             message += " - Caused by: " + exception.getCause().getMessage();
         }
 
+        // A point in time only; builds run through BuilderService replace these with measured timings
         LocalDateTime now = LocalDateTime.now();
 
         BuildResult result = BuildResult.builder()
                 .success(false)
-                .status(BuildStatus.FAILED)
+                .status(errorType == ErrorType.BUILD_CANCELLED ? BuildStatus.CANCELLED : BuildStatus.FAILED)
                 .errorType(errorType)
                 .message(message)
                 .projectPath(projectPath)
@@ -90,16 +91,6 @@ public class BuildResultServiceImpl implements BuildResultService {
         return result;
     }
 
-    private long calculateTotalDuration(DependencyResult depResult, CompilationResult compResult) {
-        long dependencyDuration = depResult != null ? depResult.duration() : 0L;
-        long compilationDuration = compResult != null ? compResult.duration() : 0L;
-
-        // Add estimated overhead for project discovery, environment setup, and artifact discovery
-        long estimatedOverhead = 2000L; // 2 seconds estimated overhead
-
-        return dependencyDuration + compilationDuration + estimatedOverhead;
-    }
-
     private BuildStatus determineFinalStatus(DependencyResult depResult, CompilationResult compResult, ArtifactInfo artifactInfo) {
         // Check dependency resolution status
         if (depResult == null || !depResult.success()) {
@@ -165,13 +156,13 @@ public class BuildResultServiceImpl implements BuildResultService {
 
         if (depResult != null && !depResult.success()) {
             message.append(" during dependency resolution");
-            if (depResult.failedDependencies() != null && !depResult.failedDependencies().isEmpty()) {
-                message.append(" (").append(depResult.failedDependencies().size()).append(" failed dependencies)");
+            if (depResult.failedCount() > 0) {
+                message.append(" (").append(depResult.failedCount()).append(" failed dependencies)");
             }
         } else if (compResult != null && !compResult.success()) {
             message.append(" during compilation");
-            if (compResult.errors().size() > 0) {
-                message.append(" (").append(compResult.errors().size()).append(" compilation errors)");
+            if (compResult.errorCount() > 0) {
+                message.append(" (").append(compResult.errorCount()).append(" compilation errors)");
             }
         }
 
@@ -312,6 +303,15 @@ public class BuildResultServiceImpl implements BuildResultService {
                 suggestions.add("Verify build output directories exist and are accessible");
                 suggestions.add("Review build configuration for custom output paths");
             }
+            case BUILD_REJECTED -> {
+                suggestions.add("The build queue is full, retry the build once running builds complete");
+                suggestions.add("Use get_build_queue_status to check the number of running and queued builds");
+                suggestions.add("Increase mcp.builder.max-queued-builds or mcp.builder.max-connections if the host allows it");
+            }
+            case BUILD_CANCELLED -> {
+                suggestions.add("The build was cancelled on request and its processes were terminated");
+                suggestions.add("Start the build again once the reason for cancelling it is resolved");
+            }
             case UNEXPECTED_ERROR -> {
                 suggestions.add("Review detailed error message for specific issues");
                 suggestions.add("Check system resources (disk space, memory)");
@@ -346,9 +346,9 @@ public class BuildResultServiceImpl implements BuildResultService {
             summary.append("Dependencies: ")
                     .append(depResult.success() ? "SUCCESS" : "FAILED")
                     .append(" (").append(depResult.duration()).append("ms, ")
-                    .append(depResult.resolvedDependencies().size()).append(" resolved");
-            if (depResult.failedDependencies().size() > 0) {
-                summary.append(", ").append(depResult.failedDependencies().size()).append(" failed");
+                    .append(depResult.resolvedCount()).append(" resolved");
+            if (depResult.failedCount() > 0) {
+                summary.append(", ").append(depResult.failedCount()).append(" failed");
             }
             summary.append(")\n");
         }
@@ -358,11 +358,11 @@ public class BuildResultServiceImpl implements BuildResultService {
                     .append(compResult.success() ? "SUCCESS" : "FAILED")
                     .append(" (").append(compResult.duration()).append("ms, ")
                     .append(compResult.compiledFiles().size()).append(" files");
-            if (compResult.errors().size() > 0) {
-                summary.append(", ").append(compResult.errors().size()).append(" errors");
+            if (compResult.errorCount() > 0) {
+                summary.append(", ").append(compResult.errorCount()).append(" errors");
             }
-            if (compResult.warnings().size() > 0) {
-                summary.append(", ").append(compResult.warnings().size()).append(" warnings");
+            if (compResult.warningCount() > 0) {
+                summary.append(", ").append(compResult.warningCount()).append(" warnings");
             }
             summary.append(")\n");
         }
@@ -0,0 +1,192 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildQueueFullException;
+import com.riccardocinti.mcp_server_build.model.SchedulerStatus;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildSchedulerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class BuildSchedulerServiceImpl implements BuildSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildSchedulerServiceImpl.class);
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotGranted = lock.newCondition();
+
+    // Insertion order doubles as the round-robin order: a client is moved to the end after each grant
+    private final LinkedHashMap<String, Deque<Ticket>> queuesByClient = new LinkedHashMap<>();
+    private int activeBuilds;
+    private int queuedBuilds;
+
+    private long completedWaits;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long rejectedBuilds;
+
+    public BuildSchedulerServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+    }
+
+    @Override
+    public BuildSlot acquireSlot(String clientId) throws BuildQueueFullException, InterruptedException {
+        long startNanos = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (queuedBuilds == 0 && activeBuilds < maxConcurrentBuilds()) {
+                activeBuilds++;
+                recordWait(0L);
+                return new Slot(0L);
+            }
+
+            if (queuedBuilds >= builderServerConfig.getMaxQueuedBuilds()) {
+                rejectedBuilds++;
+                throw new BuildQueueFullException("Build queue is full (" + queuedBuilds + " builds waiting, "
+                        + activeBuilds + " running). Retry later or raise mcp.builder.max-queued-builds");
+            }
+
+            Ticket ticket = new Ticket(clientId);
+            queuesByClient.computeIfAbsent(clientId, key -> new ArrayDeque<>()).addLast(ticket);
+            queuedBuilds++;
+            logger.debug("Build for client {} queued, {} builds waiting", clientId, queuedBuilds);
+
+            try {
+                while (!ticket.granted) {
+                    slotGranted.await();
+                }
+            } catch (InterruptedException e) {
+                if (ticket.granted) {
+                    releaseSlot();
+                } else {
+                    removeTicket(ticket);
+                }
+                throw e;
+            }
+
+            long waitedNanos = System.nanoTime() - startNanos;
+            recordWait(waitedNanos);
+            logger.debug("Build slot granted to client {} after {}ms", clientId, waitedNanos / 1_000_000);
+            return new Slot(waitedNanos / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SchedulerStatus getStatus() {
+        lock.lock();
+        try {
+            Map<String, Integer> queuedByClient = new LinkedHashMap<>();
+            queuesByClient.forEach((client, queue) -> queuedByClient.put(client, queue.size()));
+
+            return new SchedulerStatus(
+                    maxConcurrentBuilds(),
+                    activeBuilds,
+                    queuedBuilds,
+                    builderServerConfig.getMaxQueuedBuilds(),
+                    queuedByClient,
+                    completedWaits,
+                    completedWaits > 0 ? totalWaitNanos / completedWaits / 1_000_000 : 0L,
+                    maxWaitNanos / 1_000_000,
+                    rejectedBuilds);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int maxConcurrentBuilds() {
+        return Math.max(1, builderServerConfig.getMaxConnections());
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            activeBuilds--;
+            dispatchWaitingBuilds();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchWaitingBuilds() {
+        boolean granted = false;
+        while (queuedBuilds > 0 && activeBuilds < maxConcurrentBuilds()) {
+            Iterator<Map.Entry<String, Deque<Ticket>>> iterator = queuesByClient.entrySet().iterator();
+            Map.Entry<String, Deque<Ticket>> next = iterator.next();
+            iterator.remove();
+
+            Ticket ticket = next.getValue().pollFirst();
+            if (!next.getValue().isEmpty()) {
+                queuesByClient.put(next.getKey(), next.getValue());
+            }
+
+            queuedBuilds--;
+            activeBuilds++;
+            ticket.granted = true;
+            granted = true;
+        }
+        if (granted) {
+            slotGranted.signalAll();
+        }
+    }
+
+    private void removeTicket(Ticket ticket) {
+        Deque<Ticket> queue = queuesByClient.get(ticket.clientId);
+        if (queue != null && queue.remove(ticket)) {
+            queuedBuilds--;
+            if (queue.isEmpty()) {
+                queuesByClient.remove(ticket.clientId);
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        completedWaits++;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+    }
+
+    private static final class Ticket {
+        private final String clientId;
+        private boolean granted;
+
+        private Ticket(String clientId) {
+            this.clientId = clientId;
+        }
+    }
+
+    private final class Slot implements BuildSlot {
+        private final long queueWaitTime;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(long queueWaitTime) {
+            this.queueWaitTime = queueWaitTime;
+        }
+
+        @Override
+        public long queueWaitTime() {
+            return queueWaitTime;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.TimeoutPhase;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildTimeoutService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Service
+public class BuildTimeoutServiceImpl implements BuildTimeoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildTimeoutServiceImpl.class);
+
+    private static final int MAX_TRACKED_PROJECTS = 256;
+
+    private static final String BUILD_KEY = "BUILD";
+
+    private final BuilderServerConfig builderServerConfig;
+
+    // Recent durations of successful runs, per project and resolution mode and per combination of timeout phases
+    private final Map<String, Map<String, Deque<Long>>> histories = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Deque<Long>>> eldest) {
+            return size() > MAX_TRACKED_PROJECTS;
+        }
+    };
+
+    public BuildTimeoutServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+    }
+
+    @Override
+    public BuildDeadline startBuild(String projectPath, DependencyResolutionMode dependencyResolutionMode) {
+        long budget = adaptive(historyKey(projectPath, dependencyResolutionMode), BUILD_KEY,
+                Math.max(0L, builderServerConfig.getBuildDeadline()));
+        return new BuildDeadline(projectPath, dependencyResolutionMode, System.nanoTime(), budget);
+    }
+
+    @Override
+    public long invocationTimeout(BuildDeadline deadline, ExecutionPlan.Invocation invocation) throws TimeoutException {
+        long budget = invocation.timeoutPhases() == null || invocation.timeoutPhases().isEmpty()
+                ? builderServerConfig.getTimeout()
+                : invocation.timeoutPhases().stream().mapToLong(this::phaseTimeout).sum();
+        budget = adaptive(historyKey(deadline), key(invocation), budget);
+
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new TimeoutException("Build deadline of " + deadline.budgetMillis() + "ms exceeded before: "
+                    + invocation.describe());
+        }
+        return Math.min(budget, remaining);
+    }
+
+    @Override
+    public void recordInvocation(BuildDeadline deadline, ExecutionPlan.Invocation invocation, long durationMillis) {
+        record(historyKey(deadline), key(invocation), durationMillis);
+    }
+
+    @Override
+    public void recordBuild(BuildDeadline deadline) {
+        record(historyKey(deadline), BUILD_KEY, deadline.elapsedMillis());
+    }
+
+    // Only successful runs are recorded, so a run that outgrew the learned timeouts would keep timing out;
+    // forgetting the history puts the project back on its configured budgets until it has enough runs again
+    @Override
+    public void recordTimeout(BuildDeadline deadline, ExecutionPlan.Invocation invocation) {
+        String historyKey = historyKey(deadline);
+        boolean learned;
+        synchronized (histories) {
+            learned = histories.remove(historyKey) != null;
+        }
+        if (learned && builderServerConfig.isAdaptiveTimeoutEnabled()) {
+            logger.info("Timeout of {} in {}, falling back to the configured timeouts", invocation.describe(), historyKey);
+        }
+    }
+
+    private long phaseTimeout(TimeoutPhase phase) {
+        long timeout = switch (phase) {
+            case DEPENDENCIES -> builderServerConfig.getDependenciesTimeout();
+            case COMPILE -> builderServerConfig.getCompileTimeout();
+            case PACKAGE -> builderServerConfig.getPackageTimeout();
+        };
+        return timeout > 0 ? timeout : builderServerConfig.getTimeout();
+    }
+
+    // Tightens the configured budget to p95 x safety factor once enough runs are recorded; never loosens it
+    private long adaptive(String historyKey, String key, long configured) {
+        if (!builderServerConfig.isAdaptiveTimeoutEnabled()) {
+            return configured;
+        }
+        OptionalLong p95 = percentile95(historyKey, key);
+        if (p95.isEmpty()) {
+            return configured;
+        }
+        long learned = Math.max(builderServerConfig.getAdaptiveTimeoutMinimum(),
+                Math.round(p95.getAsLong() * builderServerConfig.getAdaptiveTimeoutSafetyFactor()));
+        long timeout = configured > 0 ? Math.min(configured, learned) : learned;
+        logger.debug("Adaptive timeout for {} of {}: {}ms (p95 {}ms)", key, historyKey, timeout, p95.getAsLong());
+        return timeout;
+    }
+
+    private OptionalLong percentile95(String historyKey, String key) {
+        long[] samples;
+        synchronized (histories) {
+            Map<String, Deque<Long>> projectHistory = histories.get(historyKey);
+            Deque<Long> durations = projectHistory != null ? projectHistory.get(key) : null;
+            if (durations == null || durations.size() < Math.max(1, builderServerConfig.getAdaptiveTimeoutMinSamples())) {
+                return OptionalLong.empty();
+            }
+            samples = durations.stream().mapToLong(Long::longValue).toArray();
+        }
+        Arrays.sort(samples);
+        // Nearest-rank percentile
+        int rank = (int) Math.ceil(0.95 * samples.length);
+        return OptionalLong.of(samples[Math.max(0, rank - 1)]);
+    }
+
+    private void record(String historyKey, String key, long durationMillis) {
+        int historySize = Math.max(1, builderServerConfig.getAdaptiveTimeoutHistorySize());
+        synchronized (histories) {
+            Deque<Long> durations = histories.computeIfAbsent(historyKey, project -> new HashMap<>())
+                    .computeIfAbsent(key, ignored -> new ArrayDeque<>());
+            durations.addLast(durationMillis);
+            while (durations.size() > historySize) {
+                durations.removeFirst();
+            }
+        }
+    }
+
+    private static String key(ExecutionPlan.Invocation invocation) {
+        if (invocation.timeoutPhases() == null || invocation.timeoutPhases().isEmpty()) {
+            return invocation.describe();
+        }
+        return invocation.timeoutPhases().stream().sorted().map(Enum::name).collect(Collectors.joining("+"));
+    }
+
+    private static String historyKey(BuildDeadline deadline) {
+        return historyKey(deadline.projectPath(), deadline.dependencyResolutionMode());
+    }
+
+    private static String historyKey(String projectPath, DependencyResolutionMode dependencyResolutionMode) {
+        return projectKey(projectPath) + " [" + dependencyResolutionMode + "]";
+    }
+
+    private static String projectKey(String projectPath) {
+        if (projectPath == null) {
+            return "";
+        }
+        try {
+            return Paths.get(projectPath).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return projectPath;
+        }
+    }
+}
@@ -3,15 +3,15 @@ package com.riccardocinti.mcp_server_build.service.impl;
 import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
 import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
 import com.riccardocinti.mcp_server_build.model.DockerHints;
+import com.riccardocinti.mcp_server_build.model.PomModel;
 import com.riccardocinti.mcp_server_build.model.ProjectInfo;
 import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
 import com.riccardocinti.mcp_server_build.service.interfaces.BuilderToolDetectionService;
+import com.riccardocinti.mcp_server_build.service.interfaces.PomModelService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
@@ -25,11 +25,17 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
 
     private static final Logger logger = LoggerFactory.getLogger(BuilderToolDetectionServiceImpl.class);
 
-    // Common patterns for detecting frameworks and configurations
-    private static final Pattern SPRING_BOOT_PATTERN = Pattern.compile("spring-boot-starter|@SpringBootApplication");
-    private static final Pattern JAVA_VERSION_PATTERN = Pattern.compile("(?:java\\.version|maven\\.compiler\\.source|sourceCompatibility).*?([0-9]+)");
-    private static final Pattern SERVER_PORT_PATTERN = Pattern.compile("server\\.port\\s*[:=]\\s*([0-9]+)");
-    private static final Pattern MAIN_CLASS_PATTERN = Pattern.compile("@SpringBootApplication|public static void main");
+    // Properties that carry the Java version, in order of precedence
+    private static final List<String> JAVA_VERSION_PROPERTIES = List.of(
+            "maven.compiler.release", "maven.compiler.source", "java.version", "maven.compiler.target");
+
+    private static final Pattern JAVA_VERSION_PATTERN = Pattern.compile("^(?:1\\.)?([0-9]+)$");
+
+    private final PomModelService pomModelService;
+
+    public BuilderToolDetectionServiceImpl(PomModelService pomModelService) {
+        this.pomModelService = pomModelService;
+    }
 
     public BuilderConfiguration detectAndAnalyzeBuildTool(ProjectInfo projectInfo) throws BuilderToolDetectionException {
         logger.debug("Analyzing build tool configuration for {} project: {}",
@@ -48,11 +54,11 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
         }
     }
 
-    private BuilderConfiguration analyzeMavenProject(ProjectInfo projectInfo) throws IOException {
+    private BuilderConfiguration analyzeMavenProject(ProjectInfo projectInfo) {
         logger.debug("Analyzing Maven project configuration");
 
         Path pomPath = Paths.get(projectInfo.buildFilePath());
-        String pomContent = Files.readString(pomPath);
+        PomModel pomModel = pomModelService.readPom(pomPath);
         Path projectRoot = pomPath.getParent();
 
         BuilderConfiguration.Builder configBuilder = BuilderConfiguration.builder()
@@ -60,20 +66,23 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
                 .projectPath(projectInfo.projectPath());
 
         // Extract Java version
-        String javaVersion = extractJavaVersionFromMaven(pomContent);
+        String javaVersion = extractJavaVersionFromMaven(pomModel);
         configBuilder.javaVersion(javaVersion);
 
+        // Single pass over the sources for Spring Boot, main class, package and port hints
+        ProjectSourceScanner.Result sourceScan = ProjectSourceScanner.scan(projectRoot);
+
         // Determine if it's a Spring Boot project
-        boolean isSpringBoot = isSpringBootProject(pomContent, projectRoot);
+        boolean isSpringBoot = isSpringBootProject(pomModel, sourceScan);
 
         // Extract main class
-        String mainClass = extractMainClass(projectRoot, isSpringBoot, projectInfo.projectName());
+        String mainClass = extractMainClass(sourceScan, isSpringBoot, projectInfo.projectName());
         if (mainClass != null) {
             configBuilder.mainClass(mainClass);
         }
 
         // Extract or determine server port
-        String port = extractServerPort(projectRoot, isSpringBoot);
+        String port = extractServerPort(sourceScan, isSpringBoot);
         configBuilder.port(port);
 
         // Build commands based on project type
@@ -81,8 +90,10 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
         configBuilder.buildCommands(buildCommands);
 
         // Extract additional properties
-        Map<String, String> properties = extractMavenProperties(pomContent);
-        configBuilder.properties(properties);
+        configBuilder.properties(pomModel.properties());
+
+        // Reactor modules and their inter-module dependencies
+        configBuilder.modules(MavenReactorResolver.resolve(projectRoot, pomModel, pomModelService));
 
         // Generate Docker hints
         DockerHints dockerHints = generateDockerHints(javaVersion, port, isSpringBoot, MAVEN);
@@ -102,17 +113,12 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
         throw new UnsupportedOperationException();
     }
 
-    private String extractJavaVersionFromMaven(String pomContent) {
-        // Look for maven.compiler.source or java.version
-        Pattern[] patterns = {
-                Pattern.compile("<maven\\.compiler\\.source>([0-9]+)</maven\\.compiler\\.source>"),
-                Pattern.compile("<java\\.version>([0-9]+)</java\\.version>"),
-                Pattern.compile("<maven\\.compiler\\.target>([0-9]+)</maven\\.compiler\\.target>")
-        };
-
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(pomContent);
-            if (matcher.find()) {
+    private String extractJavaVersionFromMaven(PomModel pomModel) {
+        // Look for maven.compiler.release/source, java.version or maven.compiler.target
+        for (String property : JAVA_VERSION_PROPERTIES) {
+            String value = pomModel.property(property);
+            Matcher matcher = JAVA_VERSION_PATTERN.matcher(value != null ? value.trim() : "");
+            if (matcher.matches()) {
                 return matcher.group(1);
             }
         }
@@ -121,98 +127,39 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
         return "21"; // Default to Java 21
     }
 
-    private boolean isSpringBootProject(String buildContent, Path projectRoot) {
-        // Check build file content for Spring Boot dependencies
-        if (SPRING_BOOT_PATTERN.matcher(buildContent).find()) {
-            return true;
-        }
-
-        // Check for Spring Boot application class
-        try {
-            return Files.walk(projectRoot)
-                    .filter(path -> path.toString().endsWith(".java"))
-                    .anyMatch(javaFile -> {
-                        try {
-                            String content = Files.readString(javaFile);
-                            return content.contains("@SpringBootApplication");
-                        } catch (IOException e) {
-                            return false;
-                        }
-                    });
-        } catch (IOException e) {
-            logger.warn("Error checking for Spring Boot application class", e);
-            return false;
-        }
+    private boolean isSpringBootProject(PomModel pomModel, ProjectSourceScanner.Result sourceScan) {
+        // Check the parent, dependencies and plugins for Spring Boot, then for a Spring Boot application class
+        return pomModel.hasDependency("spring-boot-starter")
+                || pomModel.hasPlugin("spring-boot-maven-plugin")
+                || sourceScan.springBootApplication();
     }
 
-    private String extractMainClass(Path projectRoot, boolean isSpringBoot, String projectName) {
+    private String extractMainClass(ProjectSourceScanner.Result sourceScan, boolean isSpringBoot, String projectName) {
         if (!isSpringBoot) {
             return null; // Non-Spring Boot projects might not have a clear main class
         }
 
-        try {
-            // Look for @SpringBootApplication annotated class
-            Optional<Path> mainClassPath = Files.walk(projectRoot)
-                    .filter(path -> path.toString().endsWith(".java"))
-                    .filter(javaFile -> {
-                        try {
-                            String content = Files.readString(javaFile);
-                            return content.contains("@SpringBootApplication");
-                        } catch (IOException e) {
-                            return false;
-                        }
-                    })
-                    .findFirst();
-
-            if (mainClassPath.isPresent()) {
-                return extractFullyQualifiedClassName(mainClassPath.get(), projectRoot);
-            }
-        } catch (IOException e) {
-            logger.warn("Error extracting main class", e);
+        // Look for @SpringBootApplication annotated class
+        if (sourceScan.mainClass() != null) {
+            return sourceScan.mainClass();
         }
 
-        // Fallback: generate likely main class name
+        // Fallback: generate likely main class name, in the project's base package when known
         String capitalizedProjectName = projectName.substring(0, 1).toUpperCase() +
                 projectName.substring(1).replaceAll("[^a-zA-Z0-9]", "");
-        return "com.example." + capitalizedProjectName.toLowerCase() + "." + capitalizedProjectName + "Application";
+        String basePackage = sourceScan.basePackage() != null
+                ? sourceScan.basePackage() : "com.example." + capitalizedProjectName.toLowerCase();
+        return basePackage + "." + capitalizedProjectName + "Application";
     }
 
-    private String extractFullyQualifiedClassName(Path javaFile, Path projectRoot) throws IOException {
-        String content = Files.readString(javaFile);
-
-        // Extract package name
-        Pattern packagePattern = Pattern.compile("package\\s+([^;]+);");
-        Matcher packageMatcher = packagePattern.matcher(content);
-        String packageName = packageMatcher.find() ? packageMatcher.group(1).trim() : "";
-
-        // Extract class name from file name
-        String fileName = javaFile.getFileName().toString();
-        String className = fileName.substring(0, fileName.lastIndexOf('.'));
-
-        return packageName.isEmpty() ? className : packageName + "." + className;
-    }
-
-    private String extractServerPort(Path projectRoot, boolean isSpringBoot) {
+    private String extractServerPort(ProjectSourceScanner.Result sourceScan, boolean isSpringBoot) {
         if (!isSpringBoot) {
             return "3000"; // Default for non-Spring Boot projects
         }
 
-        // Check application.properties and application.yml
-        String[] configFiles = {"application.properties", "application.yml", "application.yaml"};
-
-        for (String configFile : configFiles) {
-            Path configPath = projectRoot.resolve("src/main/resources/" + configFile);
-            if (Files.exists(configPath)) {
-                try {
-                    String content = Files.readString(configPath);
-                    Matcher matcher = SERVER_PORT_PATTERN.matcher(content);
-                    if (matcher.find()) {
-                        return matcher.group(1);
-                    }
-                } catch (IOException e) {
-                    logger.warn("Error reading config file: " + configFile, e);
-                }
-            }
+        // server.port from application.properties / application.yml, if any
+        if (sourceScan.serverPort() != null) {
+            return sourceScan.serverPort();
         }
 
         return "8080"; // Default Spring Boot port
@@ -231,26 +178,6 @@ public class BuilderToolDetectionServiceImpl implements BuilderToolDetectionServ
         return commands;
     }
 
-    private Map<String, String> extractMavenProperties(String pomContent) {
-        Map<String, String> properties = new HashMap<>();
-
-        // Extract properties section
-        Pattern propertiesPattern = Pattern.compile("<properties>(.*?)</properties>", Pattern.DOTALL);
-        Matcher matcher = propertiesPattern.matcher(pomContent);
-
-        if (matcher.find()) {
-            String propertiesSection = matcher.group(1);
-            Pattern propertyPattern = Pattern.compile("<([^>]+)>([^<]+)</[^>]+>");
-            Matcher propertyMatcher = propertyPattern.matcher(propertiesSection);
-
-            while (propertyMatcher.find()) {
-                properties.put(propertyMatcher.group(1), propertyMatcher.group(2));
-            }
-        }
-
-        return properties;
-    }
-
     private DockerHints generateDockerHints(String javaVersion, String port, boolean isSpringBoot, BuildTool buildTool) {
         DockerHints.Builder hintsBuilder = DockerHints.builder();
 
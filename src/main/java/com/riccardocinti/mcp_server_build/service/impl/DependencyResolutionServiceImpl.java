@@ -2,48 +2,48 @@ package com.riccardocinti.mcp_server_build.service.impl;
 
 import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
 import com.riccardocinti.mcp_server_build.exceptions.DependencyResolutionException;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
 import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.BuildLog;
 import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
 import com.riccardocinti.mcp_server_build.model.DependencyResult;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
 import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
 import com.riccardocinti.mcp_server_build.service.interfaces.DependencyResolutionService;
+import com.riccardocinti.mcp_server_build.service.interfaces.MavenExecutionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 public class DependencyResolutionServiceImpl implements DependencyResolutionService {
 
     private static final Logger logger = LoggerFactory.getLogger(DependencyResolutionServiceImpl.class);
 
-    private static final Pattern MAVEN_DEPENDENCY_PATTERN = Pattern.compile("\\[INFO\\]\\s+([^:]+):([^:]+):([^:]+):([^:]+)");
-
-    // Error patterns for different build tools
-    private static final Pattern MAVEN_ERROR_PATTERN = Pattern.compile("\\[ERROR\\](.+)");
+    private final MavenExecutionService mavenExecutionService;
 
     private final BuilderServerConfig builderServerConfig;
 
-    public DependencyResolutionServiceImpl(BuilderServerConfig builderServerConfig) {
+    public DependencyResolutionServiceImpl(MavenExecutionService mavenExecutionService,
+                                           BuilderServerConfig builderServerConfig) {
+        this.mavenExecutionService = mavenExecutionService;
         this.builderServerConfig = builderServerConfig;
     }
 
     @Override
-    public DependencyResult resolveDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv)
+    public DependencyResult resolveDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                                ExecutionPlan executionPlan, BuildDeadline deadline,
+                                                BuildProgressListener progressListener)
             throws DependencyResolutionException {
 
         logger.debug("Starting dependency resolution for {} project", builderConfiguration.buildTool());
@@ -51,11 +51,14 @@ public class DependencyResolutionServiceImpl implements DependencyResolutionServ
 
         try {
             return switch (builderConfiguration.buildTool()) {
-                case MAVEN -> resolveMavenDependencies(builderConfiguration, buildEnv);
+                case MAVEN -> resolveMavenDependencies(builderConfiguration, buildEnv, executionPlan, deadline,
+                        progressListener);
                 case GRADLE, GRADLE_KOTLIN -> resolveGradleDependencies(builderConfiguration, buildEnv);
                 case NPM -> resolveNpmDependencies(builderConfiguration, buildEnv);
             };
 
+        } catch (DependencyResolutionException e) {
+            throw e;
         } catch (Exception e) {
             long duration = Duration.between(startTime, Instant.now()).toMillis();
             logger.error("Dependency resolution failed after {}ms", duration, e);
@@ -63,41 +66,88 @@ public class DependencyResolutionServiceImpl implements DependencyResolutionServ
         }
     }
 
-    private DependencyResult resolveMavenDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv)
+    @Override
+    public DependencyResult completeResolution(BuilderConfiguration builderConfiguration,
+                                               int exitCode,
+                                               DependencyResult parsedResult) throws DependencyResolutionException {
+        return switch (builderConfiguration.buildTool()) {
+            case MAVEN -> completeMavenResolution(exitCode, parsedResult);
+            case GRADLE, GRADLE_KOTLIN, NPM -> throw new UnsupportedOperationException();
+        };
+    }
+
+    private DependencyResult resolveMavenDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                                      ExecutionPlan executionPlan, BuildDeadline deadline,
+                                                      BuildProgressListener progressListener)
             throws DependencyResolutionException, IOException, InterruptedException, ExecutionException, TimeoutException {
 
+        if (executionPlan.dependencyResolutionMode() == DependencyResolutionMode.SKIP) {
+            logger.debug("Maven dependency resolution skipped, dependencies are resolved by the build itself");
+            return deferredResult(executionPlan.dependencyResolutionMode());
+        }
+
+        if (executionPlan.fusesDependencyResolution()) {
+            logger.debug("Maven dependency resolution is fused into the compilation invocation");
+            return deferredResult(executionPlan.dependencyResolutionMode());
+        }
+
         logger.debug("Resolving Maven dependencies");
         Instant startTime = Instant.now();
 
-        List<String> command = buildMavenDependencyCommand(buildEnv);
+        ExecutionPlan.Invocation invocation = executionPlan.dependencyInvocation()
+                .orElseThrow(() -> new DependencyResolutionException("Execution plan has no dependency resolution step"));
+        try (BuildLogSink log = BuildLogSink.open(builderServerConfig, buildEnv, "dependencies")) {
+            MavenOutputParser parser = new MavenOutputParser(BuildPhase.DEPENDENCY_RESOLUTION, log, progressListener);
+            ProcessResult processResult = mavenExecutionService.execute(invocation, buildEnv, deadline, parser);
+
+            long duration = Duration.between(startTime, Instant.now()).toMillis();
+            return completeMavenResolution(processResult.exitCode(),
+                    parser.toDependencyResult(executionPlan.dependencyResolutionMode(), duration));
+        }
+    }
 
-        ProcessResult processResult = executeCommand(command, buildEnv);
+    private DependencyResult deferredResult(DependencyResolutionMode resolutionMode) {
+        return DependencyResult.builder()
+                .success(true)
+                .resolutionMode(resolutionMode)
+                .resolvedDependencies(new ArrayList<>())
+                .failedDependencies(new ArrayList<>())
+                .log(BuildLog.empty())
+                .duration(0L)
+                .build();
+    }
 
-        List<String> resolvedDependencies = parseMavenDependencies(processResult.output());
-        List<String> failedDependencies = parseMavenFailures(processResult.output());
+    private DependencyResult completeMavenResolution(int exitCode, DependencyResult parsedResult)
+            throws DependencyResolutionException {
 
-        long duration = Duration.between(startTime, Instant.now()).toMillis();
-        boolean success = processResult.exitCode() == 0 && failedDependencies.isEmpty();
+        boolean success = exitCode == 0 && parsedResult.success();
 
         DependencyResult result = DependencyResult.builder()
                 .success(success)
-                .resolvedDependencies(resolvedDependencies)
-                .failedDependencies(failedDependencies)
-                .output(processResult.output())
-                .duration(duration)
+                .resolutionMode(parsedResult.resolutionMode())
+                .resolvedDependencies(parsedResult.resolvedDependencies())
+                .failedDependencies(parsedResult.failedDependencies())
+                .resolvedCount(parsedResult.resolvedCount())
+                .failedCount(parsedResult.failedCount())
+                .log(parsedResult.log())
+                .duration(parsedResult.duration())
                 .build();
 
-        logger.info("Maven dependency resolution completed - Success: {}, Resolved: {}, Failed: {}, Duration: {}ms",
-                success, resolvedDependencies.size(), failedDependencies.size(), duration);
+        logger.info("Maven dependency resolution completed - Mode: {}, Success: {}, Resolved: {}, Failed: {}, Duration: {}ms",
+                result.resolutionMode(), success, result.resolvedCount(), result.failedCount(), result.duration());
 
         if (!success) {
             throw new DependencyResolutionException("Maven dependency resolution failed: " +
-                    String.join(", ", failedDependencies));
+                    String.join(", ", result.failedDependencies()) + logHint(result.log()));
         }
 
         return result;
     }
 
+    static String logHint(BuildLog log) {
+        return log != null && log.logFile() != null ? ". Full log: " + log.logFile() : "";
+    }
+
     private DependencyResult resolveNpmDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv) {
         throw new UnsupportedOperationException();
     }
@@ -106,116 +156,4 @@ public class DependencyResolutionServiceImpl implements DependencyResolutionServ
         throw new UnsupportedOperationException();
     }
 
-    private List<String> buildMavenDependencyCommand(BuildEnvironment buildEnv) {
-        List<String> command = new ArrayList<>();
-
-        // Use Maven from MAVEN_HOME if available, otherwise assume it's in PATH
-        String mavenHome = buildEnv.buildToolHome();
-        if (mavenHome != null) {
-            String mvnCmd = isWindows() ? "mvn.cmd" : "mvn";
-            command.add(Paths.get(mavenHome, "bin", mvnCmd).toString());
-        } else {
-            command.add(isWindows() ? "mvn.cmd" : "mvn");
-        }
-
-        // Add Maven dependency resolution goals
-        command.add("dependency:resolve");
-        command.add("dependency:resolve-sources");
-
-        // Add standard Maven flags
-        command.add("--batch-mode");
-        command.add("--no-transfer-progress");
-        command.add("--quiet");
-
-        logger.debug("Built Maven dependency command: {}", String.join(" ", command));
-        return command;
-    }
-
-    private ProcessResult executeCommand(List<String> command, BuildEnvironment buildEnv)
-            throws IOException, InterruptedException, ExecutionException, TimeoutException {
-
-        ProcessBuilder processBuilder = new ProcessBuilder(command);
-        processBuilder.directory(new java.io.File(buildEnv.workingDirectory()));
-        processBuilder.environment().putAll(buildEnv.environmentVariables());
-        processBuilder.redirectErrorStream(true);
-
-        logger.debug("Executing command in directory {}: {}",
-                buildEnv.workingDirectory(), String.join(" ", command));
-
-        Process process = processBuilder.start();
-
-        // Create async task to read process output
-        CompletableFuture<String> outputFuture = CompletableFuture.supplyAsync(() -> {
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                    // Log important lines for debugging
-                    if (line.contains("ERROR") || line.contains("FAILURE") || line.contains("npm ERR")) {
-                        logger.debug("Process output: {}", line);
-                    }
-                }
-            } catch (IOException e) {
-                logger.error("Error reading process output", e);
-            }
-            return output.toString();
-        });
-
-        // Wait for process with timeout
-        long timeoutMs = builderServerConfig.getTimeout();
-        boolean finished = process.waitFor(timeoutMs, TimeUnit.MILLISECONDS);
-
-        if (!finished) {
-            process.destroyForcibly();
-            throw new InterruptedException("Process timed out after " + timeoutMs + "ms");
-        }
-
-        String output = outputFuture.get(5, TimeUnit.SECONDS); // Give some time for output reading
-        int exitCode = process.exitValue();
-
-        logger.debug("Process completed with exit code: {}", exitCode);
-        return new ProcessResult(exitCode, output);
-    }
-
-    private List<String> parseMavenDependencies(String output) {
-        List<String> dependencies = new ArrayList<>();
-
-        // Parse Maven dependency tree output
-        String[] lines = output.split("\n");
-        for (String line : lines) {
-            if (line.contains(":")) {
-                Matcher matcher = MAVEN_DEPENDENCY_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    String dependency = matcher.group(1) + ":" + matcher.group(2) + ":" + matcher.group(4);
-                    dependencies.add(dependency);
-                }
-            }
-        }
-
-        logger.debug("Parsed {} Maven dependencies", dependencies.size());
-        return dependencies;
-    }
-
-    private List<String> parseMavenFailures(String output) {
-        List<String> failures = new ArrayList<>();
-
-        String[] lines = output.split("\n");
-        for (String line : lines) {
-            Matcher matcher = MAVEN_ERROR_PATTERN.matcher(line);
-            if (matcher.find()) {
-                String error = matcher.group(1).trim();
-                if (error.contains("Could not resolve") || error.contains("Failed to")) {
-                    failures.add(error);
-                }
-            }
-        }
-
-        return failures;
-    }
-
-    private boolean isWindows() {
-        return System.getProperty("os.name").toLowerCase().contains("windows");
-    }
-
 }
@@ -0,0 +1,252 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.TimeoutPhase;
+import com.riccardocinti.mcp_server_build.service.interfaces.ExecutionPlanningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class ExecutionPlanningServiceImpl implements ExecutionPlanningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionPlanningServiceImpl.class);
+
+    private static final String MAVEN_RESOLVE_GOAL = "dependency:resolve";
+
+    private static final String MAVEN_RESOLVE_SOURCES_GOAL = "dependency:resolve-sources";
+
+    private static final String MAVEN_OFFLINE_OPTION = "--offline";
+
+    // Limits the resolved report to compile and runtime dependencies; the plugin still resolves test scope itself,
+    // so what this mode saves is the source jar download of every dependency
+    private static final String MAVEN_RUNTIME_SCOPE_OPTION = "-DincludeScope=runtime";
+
+    private static final String MAVEN_THREADS_OPTION = "-T";
+
+    // Maven default lifecycle, in execution order. Requesting a phase runs every phase before it.
+    private static final List<String> MAVEN_DEFAULT_LIFECYCLE = List.of(
+            "validate", "initialize", "generate-sources", "process-sources", "generate-resources",
+            "process-resources", "compile", "process-classes", "generate-test-sources", "process-test-sources",
+            "generate-test-resources", "process-test-resources", "test-compile", "process-test-classes", "test",
+            "prepare-package", "package", "pre-integration-test", "integration-test", "post-integration-test",
+            "verify", "install", "deploy");
+
+    private final BuilderServerConfig builderServerConfig;
+
+    public ExecutionPlanningServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+    }
+
+    @Override
+    public ExecutionPlan planExecution(BuilderConfiguration builderConfiguration,
+                                       DependencyResolutionMode requestedResolutionMode)
+            throws BuilderToolDetectionException {
+        DependencyResolutionMode resolutionMode = requestedResolutionMode != null
+                ? requestedResolutionMode : builderServerConfig.getDependencyResolutionMode();
+
+        return switch (builderConfiguration.buildTool()) {
+            case MAVEN -> planMavenExecution(builderConfiguration, resolutionMode);
+            case GRADLE, GRADLE_KOTLIN -> planGradleExecution(builderConfiguration);
+            case NPM -> planNpmExecution(builderConfiguration);
+        };
+    }
+
+    private ExecutionPlan planMavenExecution(BuilderConfiguration builderConfiguration,
+                                             DependencyResolutionMode resolutionMode) {
+        List<String> commands = builderConfiguration.buildCommands() != null
+                ? builderConfiguration.buildCommands() : List.of();
+
+        ExecutionPlan plan = builderServerConfig.isFuseInvocations()
+                ? planFusedMavenExecution(commands, resolutionMode)
+                : planSeparateMavenExecution(commands, resolutionMode);
+        plan = withReactorThreads(plan, builderConfiguration);
+
+        logger.debug("Planned {} Maven invocation(s) for {} build command(s) with {} dependency resolution: {}",
+                plan.getInvocationCount(), commands.size(), resolutionMode,
+                plan.invocations().stream().map(ExecutionPlan.Invocation::describe).toList());
+        return plan;
+    }
+
+    private ExecutionPlan planFusedMavenExecution(List<String> commands, DependencyResolutionMode resolutionMode) {
+        List<String> goals = new ArrayList<>(mavenDependencyGoals(resolutionMode));
+        Set<String> options = new LinkedHashSet<>(mavenDependencyOptions(resolutionMode));
+
+        for (String command : commands) {
+            splitMavenCommand(command, goals, options);
+        }
+
+        Set<BuildPhase> phases = resolutionMode == DependencyResolutionMode.SKIP
+                ? EnumSet.of(BuildPhase.COMPILATION)
+                : EnumSet.of(BuildPhase.DEPENDENCY_RESOLUTION, BuildPhase.COMPILATION);
+
+        List<String> fusedGoals = removeImpliedLifecyclePhases(goals);
+        ExecutionPlan.Invocation invocation = new ExecutionPlan.Invocation(
+                fusedGoals,
+                List.copyOf(options),
+                phases,
+                timeoutPhases(fusedGoals, phases, false));
+
+        return new ExecutionPlan(resolutionMode, List.of(invocation));
+    }
+
+    private ExecutionPlan planSeparateMavenExecution(List<String> commands, DependencyResolutionMode resolutionMode) {
+        List<ExecutionPlan.Invocation> invocations = new ArrayList<>();
+        if (resolutionMode != DependencyResolutionMode.SKIP) {
+            List<String> dependencyOptions = new ArrayList<>(mavenDependencyOptions(resolutionMode));
+            dependencyOptions.add("--quiet");
+            invocations.add(new ExecutionPlan.Invocation(mavenDependencyGoals(resolutionMode), dependencyOptions,
+                    EnumSet.of(BuildPhase.DEPENDENCY_RESOLUTION), EnumSet.of(TimeoutPhase.DEPENDENCIES)));
+        }
+
+        boolean compiled = false;
+        for (String command : commands) {
+            List<String> goals = new ArrayList<>();
+            Set<String> options = new LinkedHashSet<>();
+            splitMavenCommand(command, goals, options);
+            if (resolutionMode == DependencyResolutionMode.OFFLINE) {
+                // The build itself must not reach out to remote repositories either
+                options.add(MAVEN_OFFLINE_OPTION);
+            }
+            Set<TimeoutPhase> timeoutPhases = timeoutPhases(goals, EnumSet.of(BuildPhase.COMPILATION), compiled);
+            compiled |= timeoutPhases.contains(TimeoutPhase.COMPILE);
+            invocations.add(new ExecutionPlan.Invocation(goals, List.copyOf(options),
+                    EnumSet.of(BuildPhase.COMPILATION), timeoutPhases));
+        }
+
+        return new ExecutionPlan(resolutionMode, invocations);
+    }
+
+    // Lets Maven build independent reactor modules concurrently, sized to the cores and the widest graph level
+    private ExecutionPlan withReactorThreads(ExecutionPlan plan, BuilderConfiguration builderConfiguration) {
+        if (!builderConfiguration.isMultiModule()) {
+            return plan;
+        }
+        int maxThreads = builderServerConfig.getReactorThreads() > 0
+                ? builderServerConfig.getReactorThreads() : Runtime.getRuntime().availableProcessors();
+        int threads = Math.min(maxThreads, MavenReactorResolver.parallelWidth(builderConfiguration.modules()));
+        if (threads <= 1) {
+            return plan;
+        }
+
+        List<ExecutionPlan.Invocation> invocations = new ArrayList<>();
+        for (ExecutionPlan.Invocation invocation : plan.invocations()) {
+            boolean threadsGiven = invocation.options().stream()
+                    .anyMatch(option -> option.startsWith(MAVEN_THREADS_OPTION) || option.startsWith("--threads"));
+            if (threadsGiven) {
+                invocations.add(invocation);
+                continue;
+            }
+            List<String> options = new ArrayList<>(invocation.options());
+            options.add(MAVEN_THREADS_OPTION + threads);
+            if (invocation.phases().size() > 1) {
+                // Modules interleave, so a fused invocation needs each line's thread to attribute it to a phase
+                options.add(MavenPhaseAttributor.THREAD_NAME_OPTION);
+            }
+            invocations.add(new ExecutionPlan.Invocation(invocation.goals(), options, invocation.phases(),
+                    invocation.timeoutPhases()));
+        }
+        return new ExecutionPlan(plan.dependencyResolutionMode(), invocations);
+    }
+
+    // Lifecycle phases up to packaging compile, later ones and plugin goals package. Packaging compiles too,
+    // unless an earlier invocation of the plan already did.
+    private Set<TimeoutPhase> timeoutPhases(List<String> goals, Set<BuildPhase> phases, boolean compiledBefore) {
+        Set<TimeoutPhase> timeoutPhases = EnumSet.noneOf(TimeoutPhase.class);
+        if (phases.contains(BuildPhase.DEPENDENCY_RESOLUTION)) {
+            timeoutPhases.add(TimeoutPhase.DEPENDENCIES);
+        }
+        if (!phases.contains(BuildPhase.COMPILATION)) {
+            return timeoutPhases;
+        }
+
+        int compileIndex = MAVEN_DEFAULT_LIFECYCLE.indexOf("compile");
+        int packageIndex = MAVEN_DEFAULT_LIFECYCLE.indexOf("package");
+        boolean compiles = false;
+        boolean packages = false;
+        for (String goal : goals) {
+            int phaseIndex = MAVEN_DEFAULT_LIFECYCLE.indexOf(goal);
+            if (phaseIndex >= packageIndex || (phaseIndex < 0 && goal.contains(":") && !goal.startsWith("dependency:"))) {
+                packages = true;
+            } else if (phaseIndex >= compileIndex) {
+                compiles = true;
+            }
+        }
+        if (compiles || !packages || !compiledBefore) {
+            timeoutPhases.add(TimeoutPhase.COMPILE);
+        }
+        if (packages) {
+            timeoutPhases.add(TimeoutPhase.PACKAGE);
+        }
+        return timeoutPhases;
+    }
+
+    private List<String> mavenDependencyGoals(DependencyResolutionMode resolutionMode) {
+        return switch (resolutionMode) {
+            case SKIP -> List.of();
+            case OFFLINE, RUNTIME_SCOPE -> List.of(MAVEN_RESOLVE_GOAL);
+            case FULL_WITH_SOURCES -> List.of(MAVEN_RESOLVE_GOAL, MAVEN_RESOLVE_SOURCES_GOAL);
+        };
+    }
+
+    private List<String> mavenDependencyOptions(DependencyResolutionMode resolutionMode) {
+        return switch (resolutionMode) {
+            case SKIP, FULL_WITH_SOURCES -> List.of();
+            case OFFLINE -> List.of(MAVEN_OFFLINE_OPTION);
+            case RUNTIME_SCOPE -> List.of(MAVEN_RUNTIME_SCOPE_OPTION);
+        };
+    }
+
+    private void splitMavenCommand(String command, List<String> goals, Set<String> options) {
+        String[] args = command.trim().split("\\s+");
+        for (int i = 1; i < args.length; i++) { // Skip first element which is 'mvn'
+            if (args[i].startsWith("-")) {
+                options.add(args[i]);
+            } else if (!goals.contains(args[i])) {
+                goals.add(args[i]);
+            }
+        }
+    }
+
+    private List<String> removeImpliedLifecyclePhases(List<String> goals) {
+        List<String> fused = new ArrayList<>();
+        for (int i = 0; i < goals.size(); i++) {
+            int phaseIndex = MAVEN_DEFAULT_LIFECYCLE.indexOf(goals.get(i));
+            boolean implied = false;
+            if (phaseIndex >= 0) {
+                for (int j = i + 1; j < goals.size(); j++) {
+                    if (MAVEN_DEFAULT_LIFECYCLE.indexOf(goals.get(j)) > phaseIndex) {
+                        implied = true;
+                        break;
+                    }
+                }
+            }
+            if (!implied) {
+                fused.add(goals.get(i));
+            }
+        }
+        return fused;
+    }
+
+    // Checked, so unsupported tools still fail through the pipeline's error mapping with a message
+    private ExecutionPlan planGradleExecution(BuilderConfiguration builderConfiguration)
+            throws BuilderToolDetectionException {
+        throw new BuilderToolDetectionException("Gradle builds are not supported yet: " + builderConfiguration.projectPath());
+    }
+
+    private ExecutionPlan planNpmExecution(BuilderConfiguration builderConfiguration)
+            throws BuilderToolDetectionException {
+        throw new BuilderToolDetectionException("NPM builds are not supported yet: " + builderConfiguration.projectPath());
+    }
+}
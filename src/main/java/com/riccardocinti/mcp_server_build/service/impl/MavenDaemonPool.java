@@ -0,0 +1,268 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+// Hands out warm mvnd daemons per (JDK, mvnd distribution). Each generation of daemons gets its own
+// daemon storage directory, so a generation can be stopped without touching daemons serving other builds.
+// A generation is retired after a number of builds, or once its daemons have grown past a resident memory limit.
+// Stopping a generation deletes its storage directory; those left behind by a previous server instance are reaped
+// at startup.
+class MavenDaemonPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenDaemonPool.class);
+
+    private static final long STOP_TIMEOUT_MS = 30_000L;
+
+    private final ProcessExecutor processExecutor;
+
+    private final int maxBuildsPerGeneration;
+
+    private final String maxHeapSize;
+
+    private final long maxResidentBytes;
+
+    // Resident memory of the daemons serving a generation's storage directory
+    private final ToLongFunction<Path> memoryProbe;
+
+    private final Map<DaemonKey, Generation> currentGenerations = new HashMap<>();
+
+    private final List<Generation> retiredGenerations = new ArrayList<>();
+
+    MavenDaemonPool(ProcessExecutor processExecutor, int maxBuildsPerGeneration, String maxHeapSize,
+                    long maxResidentBytes) {
+        this(processExecutor, maxBuildsPerGeneration, maxHeapSize, maxResidentBytes, MavenDaemonPool::residentMemory);
+    }
+
+    MavenDaemonPool(ProcessExecutor processExecutor, int maxBuildsPerGeneration, String maxHeapSize,
+                    long maxResidentBytes, ToLongFunction<Path> memoryProbe) {
+        this.processExecutor = processExecutor;
+        this.maxBuildsPerGeneration = maxBuildsPerGeneration;
+        this.maxHeapSize = maxHeapSize;
+        this.maxResidentBytes = maxResidentBytes;
+        this.memoryProbe = memoryProbe;
+    }
+
+    synchronized Lease acquire(String mvndExecutable, String javaHome, Path storageRoot) {
+        DaemonKey key = new DaemonKey(mvndExecutable, javaHome);
+        Generation generation = currentGenerations.get(key);
+
+        if (generation != null && maxBuildsPerGeneration > 0 && generation.builds >= maxBuildsPerGeneration) {
+            logger.info("Recycling Maven daemons for {} after {} builds", key, generation.builds);
+            retire(generation);
+            generation = null;
+        } else if (generation != null && generation.residentBytes >= maxResidentBytes && maxResidentBytes > 0) {
+            logger.info("Recycling Maven daemons for {} at {} bytes resident", key, generation.residentBytes);
+            retire(generation);
+            generation = null;
+        }
+
+        if (generation == null) {
+            Path storage = storageRoot.resolve(storageName(key)).resolve(UUID.randomUUID().toString());
+            generation = new Generation(key, storage);
+            currentGenerations.put(key, generation);
+            logger.debug("Starting new Maven daemon generation for {} in {}", key, storage);
+        }
+
+        generation.builds++;
+        generation.activeBuilds++;
+        return new Lease(generation);
+    }
+
+    // Kills the daemons still serving storage directories of a previous server instance and deletes those directories
+    void reapOrphans(Path storageRoot, long gracePeriodMs) {
+        if (!Files.isDirectory(storageRoot)) {
+            return;
+        }
+        List<Path> orphans = new ArrayList<>();
+        try (Stream<Path> keys = Files.list(storageRoot)) {
+            for (Path keyDirectory : keys.filter(Files::isDirectory).toList()) {
+                try (Stream<Path> generations = Files.list(keyDirectory)) {
+                    orphans.addAll(generations.filter(Files::isDirectory).filter(this::isOrphan).toList());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list Maven daemon storage in {}", storageRoot, e);
+        }
+
+        for (Path orphan : orphans) {
+            List<ProcessHandle> daemons = daemons(orphan).toList();
+            if (!daemons.isEmpty()) {
+                logger.info("Killing {} orphaned Maven daemons in {}", daemons.size(), orphan);
+                ProcessReaper.terminateTree(daemons, gracePeriodMs);
+            }
+            deleteStorage(orphan);
+        }
+    }
+
+    synchronized int getGenerationCount() {
+        return currentGenerations.size();
+    }
+
+    void shutdown() {
+        List<Generation> toStop;
+        synchronized (this) {
+            toStop = new ArrayList<>(currentGenerations.values());
+            toStop.addAll(retiredGenerations);
+            currentGenerations.clear();
+            retiredGenerations.clear();
+        }
+        toStop.forEach(this::stop);
+    }
+
+    private void retire(Generation generation) {
+        currentGenerations.remove(generation.key, generation);
+        if (generation.activeBuilds == 0) {
+            Thread.ofVirtual().name("mvnd-stop").start(() -> stop(generation));
+        } else {
+            retiredGenerations.add(generation);
+        }
+    }
+
+    private void release(Generation generation) {
+        // Measured once the build is done, when its daemon has reached the size it keeps for the next build
+        long residentBytes = maxResidentBytes > 0 ? memoryProbe.applyAsLong(generation.storage) : 0L;
+        boolean stopNow;
+        synchronized (this) {
+            generation.residentBytes = Math.max(generation.residentBytes, residentBytes);
+            generation.activeBuilds--;
+            stopNow = generation.activeBuilds == 0 && retiredGenerations.remove(generation);
+        }
+        if (stopNow) {
+            stop(generation);
+        }
+    }
+
+    private void stop(Generation generation) {
+        List<String> command = List.of(generation.key.mvndExecutable(), "--stop",
+                "-Dmvnd.daemonStorage=" + generation.storage);
+        try {
+            ProcessResult result = processExecutor.execute(command, null, Map.of(), STOP_TIMEOUT_MS, line -> {
+            });
+            if (result.exitCode() == 0) {
+                logger.debug("Stopped Maven daemons in {}", generation.storage);
+                deleteStorage(generation.storage);
+            } else {
+                logger.warn("Stopping Maven daemons in {} failed with exit code {}", generation.storage,
+                        result.exitCode());
+            }
+        } catch (TimeoutException e) {
+            logger.warn("Timed out stopping Maven daemons in {}", generation.storage);
+        } catch (IOException e) {
+            logger.warn("Failed to stop Maven daemons in {}", generation.storage, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Daemons carry their storage directory on the command line. Resident sizes come from /proc, so where it is
+    // not available nothing is measured and only the build count recycles generations.
+    static long residentMemory(Path storage) {
+        return daemons(storage).mapToLong(process -> residentMemory(process.pid())).sum();
+    }
+
+    private static Stream<ProcessHandle> daemons(Path storage) {
+        String storagePath = storage.toString();
+        return ProcessHandle.allProcesses()
+                .filter(process -> process.info().commandLine().map(line -> line.contains(storagePath)).orElse(false));
+    }
+
+    static long residentMemory(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    // VmRSS:    123456 kB
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.trace("Could not read resident memory of process {}", pid, e);
+        }
+        return 0L;
+    }
+
+    private synchronized boolean isOrphan(Path storage) {
+        return Stream.concat(currentGenerations.values().stream(), retiredGenerations.stream())
+                .noneMatch(generation -> generation.storage.equals(storage));
+    }
+
+    private void deleteStorage(Path storage) {
+        if (!Files.exists(storage)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(storage)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete Maven daemon storage {}", storage, e);
+        }
+    }
+
+    private String storageName(DaemonKey key) {
+        return UUID.nameUUIDFromBytes((key.mvndExecutable() + "|" + key.javaHome()).getBytes(StandardCharsets.UTF_8))
+                .toString();
+    }
+
+    private record DaemonKey(String mvndExecutable, String javaHome) {
+    }
+
+    private static final class Generation {
+        private final DaemonKey key;
+        private final Path storage;
+        private int builds;
+        private int activeBuilds;
+        private long residentBytes;
+
+        private Generation(DaemonKey key, Path storage) {
+            this.key = key;
+            this.storage = storage;
+        }
+    }
+
+    final class Lease implements AutoCloseable {
+        private final Generation generation;
+        private boolean released;
+
+        private Lease(Generation generation) {
+            this.generation = generation;
+        }
+
+        List<String> daemonOptions() {
+            List<String> options = new ArrayList<>();
+            options.add("-Dmvnd.daemonStorage=" + generation.storage);
+            if (generation.key.javaHome() != null) {
+                options.add("-Dmvnd.javaHome=" + generation.key.javaHome());
+            }
+            if (maxHeapSize != null && !maxHeapSize.isBlank()) {
+                options.add("-Dmvnd.maxHeapSize=" + maxHeapSize);
+            }
+            return options;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(generation);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+// Entry point of a Maven worker JVM started by MavenWorkerPool. Loads MavenCli from the Maven distribution once and
+// runs one build per request read from stdin, so Maven core stays loaded and JIT-compiled across builds.
+// Runs outside the server, so it depends on nothing but the JDK and is copied to its own class directory.
+final class MavenEmbeddedWorker {
+
+    static final String READY = "maven-worker-ready";
+
+    // Requests are one line: a token, the working directory and the Maven arguments, separated by NUL.
+    // Once the build is done the worker prints the token and Maven's exit code on a line of their own.
+    static final String FIELD_SEPARATOR = "\u0000";
+
+    private static final String MAVEN_CLI_CLASS = "org.apache.maven.cli.MavenCli";
+
+    private static final String CLASS_WORLD_CLASS = "org.codehaus.plexus.classworlds.ClassWorld";
+
+    private static final String MULTIMODULE_PROJECT_DIRECTORY = "maven.multiModuleProjectDirectory";
+
+    private MavenEmbeddedWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // A worker never outlives the server that started it, nor leaves the processes of its build behind
+        ProcessHandle.current().parent().ifPresent(server -> server.onExit().thenRun(MavenEmbeddedWorker::halt));
+
+        Path mavenHome = Paths.get(args[0]);
+        URLClassLoader classLoader = new URLClassLoader("maven-embedded", mavenClassPath(mavenHome),
+                ClassLoader.getPlatformClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+        Class<?> classWorldClass = classLoader.loadClass(CLASS_WORLD_CLASS);
+        Object classWorld = classWorldClass.getConstructor(String.class, ClassLoader.class)
+                .newInstance("plexus.core", classLoader);
+        Class<?> mavenCliClass = classLoader.loadClass(MAVEN_CLI_CLASS);
+        Object mavenCli = mavenCliClass.getConstructor(classWorldClass).newInstance(classWorld);
+        Method doMain = mavenCliClass.getMethod("doMain", String[].class, String.class, PrintStream.class,
+                PrintStream.class);
+
+        // -D options of one build must not leak into the next
+        Properties baseline = (Properties) System.getProperties().clone();
+        System.out.println(READY);
+        System.out.flush();
+
+        BufferedReader requests = new BufferedReader(new InputStreamReader(System.in));
+        String request;
+        while ((request = requests.readLine()) != null) {
+            String[] fields = request.split(FIELD_SEPARATOR, -1);
+            String workingDirectory = fields[1];
+            String[] arguments = Arrays.copyOfRange(fields, 2, fields.length);
+            int exitCode;
+            try {
+                System.setProperty(MULTIMODULE_PROJECT_DIRECTORY, projectDirectory(Paths.get(workingDirectory)));
+                // Null streams keep the worker's own stdout, which is the pipe the server reads
+                exitCode = (Integer) doMain.invoke(mavenCli, arguments, workingDirectory, null, null);
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace(System.out);
+                exitCode = 1;
+            } finally {
+                restore(baseline);
+            }
+            System.err.flush();
+            System.out.println(fields[0] + " " + exitCode);
+            System.out.flush();
+        }
+        halt();
+    }
+
+    // Same lookup as the mvn script: the nearest directory with a .mvn directory, else the working directory
+    private static String projectDirectory(Path workingDirectory) {
+        for (Path dir = workingDirectory; dir != null; dir = dir.getParent()) {
+            if (Files.isDirectory(dir.resolve(".mvn"))) {
+                return dir.toString();
+            }
+        }
+        return workingDirectory.toString();
+    }
+
+    private static void restore(Properties baseline) {
+        Properties current = System.getProperties();
+        for (String name : current.stringPropertyNames()) {
+            if (!baseline.containsKey(name)) {
+                System.clearProperty(name);
+            }
+        }
+        for (String name : baseline.stringPropertyNames()) {
+            String value = baseline.getProperty(name);
+            if (!value.equals(current.getProperty(name))) {
+                System.setProperty(name, value);
+            }
+        }
+    }
+
+    private static URL[] mavenClassPath(Path mavenHome) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        urls.add(mavenHome.resolve("conf").resolve("logging").toUri().toURL());
+        addJars(mavenHome.resolve("lib").resolve("ext"), urls);
+        addJars(mavenHome.resolve("lib"), urls);
+        addJars(mavenHome.resolve("boot"), urls);
+        return urls.toArray(URL[]::new);
+    }
+
+    private static void addJars(Path directory, List<URL> urls) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(directory, "*.jar")) {
+            for (Path jar : jars) {
+                urls.add(jar.toUri().toURL());
+            }
+        }
+    }
+
+    private static void halt() {
+        ProcessHandle.current().descendants().forEach(ProcessHandle::destroyForcibly);
+        Runtime.getRuntime().halt(0);
+    }
+}
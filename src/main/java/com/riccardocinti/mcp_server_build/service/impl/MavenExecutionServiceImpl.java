@@ -0,0 +1,255 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.model.enums.MavenExecutionBackend;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildTimeoutService;
+import com.riccardocinti.mcp_server_build.service.interfaces.MavenExecutionService;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProcessExecutor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+@Service
+public class MavenExecutionServiceImpl implements MavenExecutionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenExecutionServiceImpl.class);
+
+    static final String DAEMON_DIRECTORY = "mvnd";
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final ProcessExecutor processExecutor;
+
+    private final BuildTimeoutService buildTimeoutService;
+
+    private final MavenDaemonPool daemonPool;
+
+    private final MavenWorkerPool workerPool;
+
+    public MavenExecutionServiceImpl(BuilderServerConfig builderServerConfig, ProcessExecutor processExecutor,
+                                     BuildTimeoutService buildTimeoutService) {
+        this.builderServerConfig = builderServerConfig;
+        this.processExecutor = processExecutor;
+        this.buildTimeoutService = buildTimeoutService;
+        this.daemonPool = new MavenDaemonPool(processExecutor, builderServerConfig.getDaemonMaxBuilds(),
+                builderServerConfig.getDaemonMaxHeapSize(), builderServerConfig.getDaemonMaxRssMb() * 1024 * 1024);
+        String tempDirectory = builderServerConfig.getTempDirectory();
+        if (tempDirectory != null && !tempDirectory.isBlank()) {
+            daemonPool.reapOrphans(Paths.get(tempDirectory, DAEMON_DIRECTORY),
+                    builderServerConfig.getProcessKillGracePeriod());
+        }
+        // Worker JVMs are warm Maven processes too, so they share the daemon limits
+        this.workerPool = new MavenWorkerPool(builderServerConfig.getDaemonMaxBuilds(),
+                builderServerConfig.getDaemonMaxHeapSize(), builderServerConfig.getDaemonMaxRssMb() * 1024 * 1024,
+                builderServerConfig.getProcessKillGracePeriod());
+    }
+
+    @Override
+    public ProcessResult execute(ExecutionPlan.Invocation invocation, BuildEnvironment buildEnv, BuildDeadline deadline,
+                                 Consumer<String> lineObserver)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+
+        ProcessResult result;
+        try {
+            long timeoutMs = buildTimeoutService.invocationTimeout(deadline, invocation);
+            result = execute(invocation, buildEnv, timeoutMs, lineObserver);
+        } catch (TimeoutException e) {
+            buildTimeoutService.recordTimeout(deadline, invocation);
+            throw e;
+        }
+        if (result.exitCode() == 0) {
+            // Only successful runs say how long this project's build normally takes
+            buildTimeoutService.recordInvocation(deadline, invocation, result.duration());
+        }
+        return result;
+    }
+
+    private ProcessResult execute(ExecutionPlan.Invocation invocation, BuildEnvironment buildEnv, long timeoutMs,
+                                  Consumer<String> lineObserver)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+
+        if (builderServerConfig.getMavenBackend() == MavenExecutionBackend.DAEMON) {
+            Optional<String> mvndExecutable = findMvndExecutable(buildEnv);
+            if (mvndExecutable.isPresent()) {
+                return executeOnDaemon(mvndExecutable.get(), invocation, buildEnv, timeoutMs, lineObserver);
+            }
+            logger.warn("Maven daemon backend selected but mvnd was not found, falling back to forked Maven");
+        }
+
+        if (builderServerConfig.getMavenBackend() == MavenExecutionBackend.EMBEDDED) {
+            Optional<Path> mavenHome = embeddableMavenHome(invocation, buildEnv);
+            if (mavenHome.isPresent()) {
+                try {
+                    return executeEmbedded(mavenHome.get(), invocation, buildEnv, timeoutMs, lineObserver);
+                } catch (MavenWorkerPool.WorkerStartException e) {
+                    logger.warn("Could not start a Maven worker for {}, falling back to forked Maven: {}",
+                            mavenHome.get(), e.getMessage());
+                }
+            }
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(mavenExecutable(buildEnv));
+        addArguments(command, invocation);
+        return executeCommand(command, buildEnv, timeoutMs, lineObserver);
+    }
+
+    private ProcessResult executeOnDaemon(String mvndExecutable, ExecutionPlan.Invocation invocation,
+                                          BuildEnvironment buildEnv, long timeoutMs, Consumer<String> lineObserver)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+
+        Path storageRoot = Paths.get(buildEnv.tempDirectory(), DAEMON_DIRECTORY);
+        try (MavenDaemonPool.Lease lease = daemonPool.acquire(mvndExecutable, buildEnv.javaHome(), storageRoot)) {
+            List<String> command = new ArrayList<>();
+            command.add(mvndExecutable);
+            addArguments(command, invocation);
+            command.addAll(lease.daemonOptions());
+            return executeCommand(command, buildEnv, timeoutMs, lineObserver);
+        }
+    }
+
+    private ProcessResult executeEmbedded(Path mavenHome, ExecutionPlan.Invocation invocation,
+                                          BuildEnvironment buildEnv, long timeoutMs, Consumer<String> lineObserver)
+            throws IOException, InterruptedException, TimeoutException {
+
+        List<String> arguments = new ArrayList<>();
+        addArguments(arguments, invocation);
+        logger.debug("Executing Maven on a worker JVM in directory {}: {}",
+                buildEnv.workingDirectory(), String.join(" ", arguments));
+
+        ProcessResult result = workerPool.execute(buildEnv.javaHome(), mavenHome, buildEnv.environmentVariables(),
+                Paths.get(buildEnv.tempDirectory(), MavenWorkerPool.WORKER_DIRECTORY),
+                Paths.get(buildEnv.workingDirectory()), arguments, timeoutMs, logImportantLines(lineObserver));
+
+        logger.debug("Maven worker build completed with exit code {} in {}ms", result.exitCode(), result.duration());
+        return result;
+    }
+
+    private Optional<Path> embeddableMavenHome(ExecutionPlan.Invocation invocation, BuildEnvironment buildEnv) {
+        if (buildEnv.buildToolHome() == null || buildEnv.tempDirectory() == null) {
+            logger.warn("Embedded Maven backend selected but MAVEN_HOME is unknown, falling back to forked Maven");
+            return Optional.empty();
+        }
+        Path mavenHome;
+        try {
+            mavenHome = Paths.get(buildEnv.buildToolHome()).toRealPath();
+        } catch (IOException e) {
+            logger.warn("Cannot resolve MAVEN_HOME {}, falling back to forked Maven", buildEnv.buildToolHome());
+            return Optional.empty();
+        }
+        if (!Files.isDirectory(mavenHome.resolve("lib")) || !Files.isDirectory(mavenHome.resolve("boot"))) {
+            logger.warn("{} is not a Maven distribution, falling back to forked Maven", mavenHome);
+            return Optional.empty();
+        }
+        Path workingDirectory = Paths.get(buildEnv.workingDirectory());
+        if (Files.isRegularFile(workingDirectory.resolve(".mvn").resolve("jvm.config"))) {
+            // Worker JVMs are shared between projects, so per-project JVM options need a JVM of their own
+            logger.info("{} has .mvn/jvm.config, building it with forked Maven", workingDirectory);
+            return Optional.empty();
+        }
+        if (!MavenWorkerPool.canRun(workingDirectory, invocation.arguments())) {
+            logger.info("Maven arguments cannot be passed to a worker JVM, building with forked Maven");
+            return Optional.empty();
+        }
+        return Optional.of(mavenHome);
+    }
+
+    private void addArguments(List<String> command, ExecutionPlan.Invocation invocation) {
+        // Add planned goals and options
+        command.addAll(invocation.arguments());
+
+        // Add standard Maven flags if not already present
+        if (!invocation.options().contains("--batch-mode")) {
+            command.add("--batch-mode");
+        }
+        if (!invocation.options().contains("--no-transfer-progress")) {
+            command.add("--no-transfer-progress");
+        }
+    }
+
+    private String mavenExecutable(BuildEnvironment buildEnv) {
+        // Use Maven from MAVEN_HOME if available, otherwise assume it's in PATH
+        String mvnCmd = isWindows() ? "mvn.cmd" : "mvn";
+        String mavenHome = buildEnv.buildToolHome();
+        return mavenHome != null ? Paths.get(mavenHome, "bin", mvnCmd).toString() : mvnCmd;
+    }
+
+    private Optional<String> findMvndExecutable(BuildEnvironment buildEnv) {
+        String mvndCmd = isWindows() ? "mvnd.cmd" : "mvnd";
+
+        String mvndHome = builderServerConfig.getMvndHome();
+        if (mvndHome == null || mvndHome.isBlank()) {
+            mvndHome = buildEnv.environmentVariables().get("MVND_HOME");
+        }
+        if (mvndHome != null && !mvndHome.isBlank()) {
+            Path executable = Paths.get(mvndHome, "bin", mvndCmd);
+            return Files.isExecutable(executable) ? Optional.of(executable.toString()) : Optional.empty();
+        }
+
+        String path = buildEnv.environmentVariables().get("PATH");
+        if (path == null) {
+            return Optional.empty();
+        }
+        for (String directory : path.split(File.pathSeparator)) {
+            Path executable = Paths.get(directory, mvndCmd);
+            if (Files.isExecutable(executable)) {
+                return Optional.of(executable.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private ProcessResult executeCommand(List<String> command, BuildEnvironment buildEnv, long timeoutMs,
+                                         Consumer<String> lineObserver)
+            throws IOException, InterruptedException, TimeoutException {
+
+        logger.debug("Executing Maven command in directory {}: {}",
+                buildEnv.workingDirectory(), String.join(" ", command));
+
+        ProcessResult result = processExecutor.execute(command, Paths.get(buildEnv.workingDirectory()),
+                buildEnv.environmentVariables(), timeoutMs, logImportantLines(lineObserver));
+
+        logger.debug("Maven process completed with exit code {} in {}ms", result.exitCode(), result.duration());
+        return result;
+    }
+
+    private Consumer<String> logImportantLines(Consumer<String> lineObserver) {
+        return line -> {
+            lineObserver.accept(line);
+            // Log important lines for real-time feedback
+            if (line.contains("ERROR") || line.contains("FAILURE") || line.contains("BUILD SUCCESSFUL") ||
+                    line.contains("BUILD SUCCESS") || line.contains("Compiling")) {
+                logger.info("Build output: {}", line);
+            } else if (line.contains("WARNING") || line.contains("WARN")) {
+                logger.debug("Build warning: {}", line);
+            }
+        };
+    }
+
+    private boolean isWindows() {
+        return System.getProperty("os.name").toLowerCase().contains("windows");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        daemonPool.shutdown();
+        workerPool.shutdown();
+    }
+}
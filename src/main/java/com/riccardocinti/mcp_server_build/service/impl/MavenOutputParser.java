@@ -0,0 +1,233 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.DependencyResult;
+import com.riccardocinti.mcp_server_build.model.ModuleResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses Maven output line by line as it is produced, so the log never has to be re-read or split.
+// Cheap substring checks decide which patterns a line can match before any regex runs.
+// The text itself only goes to the log sink, which bounds what stays in memory; extracted messages and
+// dependencies are capped as well, with counts that keep covering everything the build printed.
+class MavenOutputParser implements Consumer<String> {
+
+    static final int MAX_MESSAGES = 100;
+
+    static final int MAX_DEPENDENCIES = 1000;
+
+    private static final Pattern MAVEN_ERROR_PATTERN = Pattern.compile("\\[ERROR\\](.+)");
+    private static final Pattern MAVEN_WARNING_PATTERN = Pattern.compile("\\[WARNING\\](.+)");
+    private static final Pattern MAVEN_COMPILED_PATTERN = Pattern.compile("\\[INFO\\] Compiling ([0-9]+) source files?");
+    private static final Pattern MAVEN_DEPENDENCY_PATTERN = Pattern.compile("\\[INFO\\]\\s+([^:]+):([^:]+):([^:]+):([^:]+)");
+    // e.g. "[INFO] Building core 1.0-SNAPSHOT  [2/5]"; the colon excludes "[INFO] Building jar: ..."
+    private static final Pattern MAVEN_MODULE_PATTERN = Pattern.compile("\\[INFO\\] Building ([^:\\s]+) (\\S+)(?:\\s+\\[(\\d+)/(\\d+)])?\\s*$");
+    // The totals line of a Surefire/Failsafe run, as opposed to the per-class lines ending in "-- in <class>"
+    private static final Pattern MAVEN_TESTS_PATTERN = Pattern.compile("Tests run: (\\d+), Failures: (\\d+), Errors: (\\d+), Skipped: (\\d+)\\s*$");
+    // e.g. "[INFO] core ........... SUCCESS [  1.234 s]" in the reactor summary of a multi-module build
+    private static final Pattern MAVEN_REACTOR_SUMMARY_PATTERN = Pattern.compile(
+            "\\[INFO\\] (.+?) \\.+ (SUCCESS|FAILURE|SKIPPED)(?: \\[\\s*([0-9:.]+) (s|min|h)])?");
+    // Archives written by the jar, war, ear, source, javadoc and assembly plugins, and by Spring Boot's repackage
+    // goal when it attaches the executable under a classifier. The shade plugin moves its output over the original
+    // artifact ("Replacing <artifact> with <shaded jar>"), so the first path is the one that holds the shaded jar;
+    // an attached shaded jar is logged without a path and is left to artifact discovery
+    private static final Pattern MAVEN_ARTIFACT_PATTERN = Pattern.compile(
+            "\\[INFO\\] (?:(?:Building (?:jar|war|ear): |Attaching repackaged archive )(.+?)(?: with classifier \\S+)?"
+                    + "|Replacing (.+?\\.(?:jar|war|ear)) with .+)\\s*$");
+
+    private final BuildPhase phase;
+
+    private final BuildLogSink log;
+
+    private final List<String> compiledFiles = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private final Map<String, ModuleResult> moduleResults = new LinkedHashMap<>();
+    private final List<String> resolvedDependencies = new ArrayList<>();
+    private final List<String> failedDependencies = new ArrayList<>();
+    private final Set<String> artifactPaths = new LinkedHashSet<>();
+    private int errorCount;
+    private int warningCount;
+    private int resolvedCount;
+    private int failedCount;
+
+    private final BuildProgressListener progressListener;
+
+    MavenOutputParser(BuildPhase phase, BuildLogSink log, BuildProgressListener progressListener) {
+        this.phase = phase;
+        this.log = log;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        log.accept(line);
+        // Module headers precede the first mojo of each module, so they can land in either phase
+        if (line.startsWith("[INFO] Building ")) {
+            parseModuleHeader(line);
+        }
+        if (phase == BuildPhase.DEPENDENCY_RESOLUTION) {
+            parseDependencyLine(line);
+        } else {
+            parseCompilationLine(line);
+        }
+    }
+
+    private void parseModuleHeader(String line) {
+        Matcher matcher = MAVEN_MODULE_PATTERN.matcher(line);
+        if (matcher.find()) {
+            String position = matcher.group(3) != null ? " [" + matcher.group(3) + "/" + matcher.group(4) + "]" : "";
+            progressListener.onMilestone(BuildMilestone.MODULE_STARTED,
+                    "Building " + matcher.group(1) + " " + matcher.group(2) + position);
+        }
+    }
+
+    private void parseDependencyLine(String line) {
+        if (line.contains("[ERROR]")) {
+            Matcher matcher = MAVEN_ERROR_PATTERN.matcher(line);
+            if (matcher.find()) {
+                String error = matcher.group(1).trim();
+                if (error.contains("Could not resolve") || error.contains("Failed to")) {
+                    if (failedCount++ == 0) {
+                        progressListener.onMilestone(BuildMilestone.FIRST_ERROR, error);
+                    }
+                    addCapped(failedDependencies, error, MAX_MESSAGES);
+                }
+            }
+        } else if (line.contains("[INFO]") && line.contains(":")) {
+            Matcher matcher = MAVEN_DEPENDENCY_PATTERN.matcher(line);
+            if (matcher.find()) {
+                resolvedCount++;
+                addCapped(resolvedDependencies, matcher.group(1) + ":" + matcher.group(2) + ":" + matcher.group(4),
+                        MAX_DEPENDENCIES);
+            }
+        }
+    }
+
+    private void parseCompilationLine(String line) {
+        if (line.contains("Tests run:")) {
+            Matcher matcher = MAVEN_TESTS_PATTERN.matcher(line);
+            if (matcher.find()) {
+                progressListener.onMilestone(BuildMilestone.TESTS_COMPLETED, String.format(
+                        "Tests run: %s, failures: %s, errors: %s, skipped: %s",
+                        matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4)));
+            }
+        }
+
+        if (line.contains("[ERROR]")) {
+            Matcher matcher = MAVEN_ERROR_PATTERN.matcher(line);
+            if (matcher.find()) {
+                String error = matcher.group(1).trim();
+                if (!error.isEmpty() && !error.contains("BUILD FAILURE")) {
+                    if (errorCount++ == 0) {
+                        progressListener.onMilestone(BuildMilestone.FIRST_ERROR, error);
+                    }
+                    addCapped(errors, error, MAX_MESSAGES);
+                }
+            }
+        } else if (line.contains("[WARNING]")) {
+            Matcher matcher = MAVEN_WARNING_PATTERN.matcher(line);
+            if (matcher.find()) {
+                String warning = matcher.group(1).trim();
+                if (!warning.isEmpty()) {
+                    warningCount++;
+                    addCapped(warnings, warning, MAX_MESSAGES);
+                }
+            }
+        } else if (line.contains("Compiling ")) {
+            Matcher matcher = MAVEN_COMPILED_PATTERN.matcher(line);
+            if (matcher.find()) {
+                addCapped(compiledFiles, Integer.parseInt(matcher.group(1)) + " source files compiled", MAX_MESSAGES);
+                progressListener.onMilestone(BuildMilestone.COMPILING, matcher.group().substring("[INFO] ".length()));
+            }
+        } else if (line.contains("Building ") || line.contains("repackaged archive") || line.contains("Replacing ")) {
+            Matcher matcher = MAVEN_ARTIFACT_PATTERN.matcher(line);
+            if (matcher.find()) {
+                artifactPaths.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            }
+        } else if (line.contains(" ..") && (line.contains("SUCCESS") || line.contains("FAILURE") || line.contains("SKIPPED"))) {
+            Matcher matcher = MAVEN_REACTOR_SUMMARY_PATTERN.matcher(line);
+            if (matcher.find()) {
+                String module = matcher.group(1).trim();
+                long duration = matcher.group(3) != null ? parseMavenDuration(matcher.group(3), matcher.group(4)) : 0L;
+                moduleResults.put(module, new ModuleResult(module, matcher.group(2), duration));
+            }
+        }
+    }
+
+    synchronized List<String> getCompiledFiles() {
+        return List.copyOf(compiledFiles);
+    }
+
+    synchronized List<String> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    synchronized List<String> getWarnings() {
+        return List.copyOf(warnings);
+    }
+
+    synchronized int getErrorCount() {
+        return errorCount;
+    }
+
+    synchronized int getWarningCount() {
+        return warningCount;
+    }
+
+    synchronized List<ModuleResult> getModuleResults() {
+        return List.copyOf(moduleResults.values());
+    }
+
+    synchronized List<String> getArtifactPaths() {
+        return List.copyOf(artifactPaths);
+    }
+
+    // Success here only reflects the parsed output; the caller still has to account for the exit code
+    synchronized DependencyResult toDependencyResult(DependencyResolutionMode resolutionMode, long duration) {
+        return DependencyResult.builder()
+                .success(failedDependencies.isEmpty())
+                .resolutionMode(resolutionMode)
+                .resolvedDependencies(new ArrayList<>(resolvedDependencies))
+                .failedDependencies(new ArrayList<>(failedDependencies))
+                .resolvedCount(resolvedCount)
+                .failedCount(failedCount)
+                .log(log.toBuildLog())
+                .duration(duration)
+                .build();
+    }
+
+    static <T> void addCapped(List<T> entries, T entry, int max) {
+        if (entries.size() < max) {
+            entries.add(entry);
+        }
+    }
+
+    static long parseMavenDuration(String value, String unit) {
+        try {
+            if (unit.equals("s")) {
+                return Math.round(Double.parseDouble(value) * 1000);
+            }
+            // "mm:ss min" or "hh:mm h"
+            String[] parts = value.split(":");
+            long major = Long.parseLong(parts[0]);
+            long minor = parts.length > 1 ? Long.parseLong(parts[1]) : 0L;
+            return unit.equals("min")
+                    ? (major * 60 + minor) * 1000
+                    : (major * 3600 + minor * 60) * 1000;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Attributes lines and elapsed time of a fused Maven invocation back to logical build phases,
+// switching phase on every mojo execution header; each phase's lines go straight to that phase's parser.
+// A parallel reactor (-T) interleaves its modules, so the plan has Maven print the builder thread's name
+// ("[mvn-builder-core] [INFO] ...") and phases are followed per thread. Lines without a thread name, such as
+// compiler or test output, belong to the most recent header.
+class MavenPhaseAttributor implements Consumer<String> {
+
+    static final String THREAD_NAME_OPTION = "-Dorg.slf4j.simpleLogger.showThreadName=true";
+
+    private static final Pattern MOJO_HEADER_PATTERN = Pattern.compile("\\[INFO\\] --- (\\S+):(\\S+):(\\S+) \\(([^)]+)\\) @ \\S+ ---");
+
+    private static final Pattern THREAD_PREFIX_PATTERN = Pattern.compile("^\\[([^\\]\\s]+)] (?=\\[(?:INFO|WARNING|ERROR|DEBUG)])");
+
+    // Key of the single thread of a serial build, whose lines carry no thread name
+    private static final String SERIAL_THREAD = "";
+
+    private final Map<BuildPhase, MavenOutputParser> parsers;
+    private final MavenOutputParser fallbackParser;
+    private final BuildPhase initialPhase;
+    private final long startNanos;
+
+    // Threads that have run a mojo, by thread name
+    private final Map<String, ReactorThread> threads = new HashMap<>();
+    // Spans during which at least one thread was in a phase; spans of parallel threads overlap
+    private final Map<BuildPhase, List<long[]>> spans = new EnumMap<>(BuildPhase.class);
+
+    private BuildPhase currentPhase;
+    private BuildPhase firstErrorPhase;
+    private long firstHeaderNanos = -1L;
+    private boolean finished;
+
+    // Lines of a phase without its own parser go to the initial phase's parser
+    MavenPhaseAttributor(BuildPhase initialPhase, Map<BuildPhase, MavenOutputParser> parsers) {
+        this.parsers = new EnumMap<>(parsers);
+        this.fallbackParser = parsers.get(initialPhase);
+        this.initialPhase = initialPhase;
+        this.currentPhase = initialPhase;
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        long now = System.nanoTime();
+        String threadName = SERIAL_THREAD;
+        Matcher prefix = THREAD_PREFIX_PATTERN.matcher(line);
+        if (prefix.find()) {
+            threadName = prefix.group(1);
+            // Parsers see lines in the usual single-threaded format
+            line = line.substring(prefix.end());
+        }
+
+        BuildPhase phase;
+        Matcher matcher = MOJO_HEADER_PATTERN.matcher(line);
+        if (matcher.find()) {
+            phase = isDependencyResolutionMojo(matcher) ? BuildPhase.DEPENDENCY_RESOLUTION : BuildPhase.COMPILATION;
+            if (firstHeaderNanos < 0) {
+                firstHeaderNanos = now;
+            }
+            ReactorThread thread = threads.get(threadName);
+            if (thread == null) {
+                threads.put(threadName, new ReactorThread(phase, now));
+            } else {
+                thread.switchTo(phase, now);
+            }
+            currentPhase = phase;
+        } else {
+            ReactorThread thread = threads.get(threadName);
+            if (thread != null) {
+                thread.lastSeenNanos = now;
+                phase = thread.phase;
+            } else {
+                phase = currentPhase;
+            }
+        }
+
+        if (firstErrorPhase == null && line.contains("[ERROR]")) {
+            firstErrorPhase = phase;
+        }
+
+        getParser(phase).accept(line);
+    }
+
+    synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        long now = System.nanoTime();
+        // Until the first mojo runs Maven is reading the project, which counts towards the initial phase
+        addSpan(initialPhase, startNanos, firstHeaderNanos < 0 ? now : firstHeaderNanos);
+        threads.forEach((name, thread) ->
+                addSpan(thread.phase, thread.startNanos, name.equals(SERIAL_THREAD) ? now : thread.lastSeenNanos));
+    }
+
+    synchronized MavenOutputParser getParser(BuildPhase phase) {
+        return parsers.getOrDefault(phase, fallbackParser);
+    }
+
+    // Wall-clock time during which any module was in the phase
+    synchronized long getDuration(BuildPhase phase) {
+        List<long[]> phaseSpans = new ArrayList<>(spans.getOrDefault(phase, List.of()));
+        phaseSpans.sort(Comparator.comparingLong(span -> span[0]));
+        long total = 0L;
+        long coveredUntil = Long.MIN_VALUE;
+        for (long[] span : phaseSpans) {
+            long start = Math.max(span[0], coveredUntil);
+            if (span[1] > start) {
+                total += span[1] - start;
+            }
+            coveredUntil = Math.max(coveredUntil, span[1]);
+        }
+        return total / 1_000_000;
+    }
+
+    synchronized BuildPhase getFailedPhase() {
+        return firstErrorPhase != null ? firstErrorPhase : currentPhase;
+    }
+
+    private void addSpan(BuildPhase phase, long startNanos, long endNanos) {
+        spans.computeIfAbsent(phase, p -> new ArrayList<>()).add(new long[]{startNanos, endNanos});
+    }
+
+    private boolean isDependencyResolutionMojo(Matcher matcher) {
+        String plugin = matcher.group(1);
+        String goal = matcher.group(3);
+        return plugin.contains("dependency") && goal.startsWith("resolve") && "default-cli".equals(matcher.group(4));
+    }
+
+    private final class ReactorThread {
+        private BuildPhase phase;
+        private long startNanos;
+        private long lastSeenNanos;
+
+        private ReactorThread(BuildPhase phase, long nowNanos) {
+            this.phase = phase;
+            this.startNanos = nowNanos;
+            this.lastSeenNanos = nowNanos;
+        }
+
+        private void switchTo(BuildPhase next, long nowNanos) {
+            addSpan(phase, startNanos, nowNanos);
+            phase = next;
+            startNanos = nowNanos;
+            lastSeenNanos = nowNanos;
+        }
+    }
+}
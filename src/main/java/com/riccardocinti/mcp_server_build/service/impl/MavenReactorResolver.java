@@ -0,0 +1,124 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.exceptions.PomParsingException;
+import com.riccardocinti.mcp_server_build.model.ModuleInfo;
+import com.riccardocinti.mcp_server_build.model.PomModel;
+import com.riccardocinti.mcp_server_build.service.interfaces.PomModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Expands <modules> recursively into the reactor's buildable modules and the dependencies between them
+class MavenReactorResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenReactorResolver.class);
+
+    private MavenReactorResolver() {
+    }
+
+    static List<ModuleInfo> resolve(Path projectRoot, PomModel rootModel, PomModelService pomModelService) {
+        if (!rootModel.isAggregator()) {
+            return List.of();
+        }
+
+        Map<Path, PomModel> models = new LinkedHashMap<>();
+        collectModules(projectRoot.toAbsolutePath().normalize(), rootModel, pomModelService, models);
+
+        Map<String, Path> modulesByKey = new HashMap<>();
+        models.forEach((dir, model) -> modulesByKey.put(key(model.coordinates().groupId(), model.artifactId()), dir));
+
+        List<ModuleInfo> modules = new ArrayList<>();
+        models.forEach((dir, model) -> {
+            Set<String> dependsOn = new LinkedHashSet<>();
+            // A parent that is part of the reactor is built before its children, like a dependency
+            if (model.parent() != null) {
+                addIfModule(modulesByKey, models, model.parent().groupId(), model.parent().artifactId(), dependsOn);
+            }
+            for (PomModel.Dependency dependency : model.dependencies()) {
+                addIfModule(modulesByKey, models, dependency.groupId(), dependency.artifactId(), dependsOn);
+            }
+            dependsOn.remove(model.artifactId());
+            modules.add(new ModuleInfo(model.artifactId(), dir.toString(), List.copyOf(dependsOn)));
+        });
+
+        logger.debug("Resolved reactor of {} with {} modules", projectRoot, modules.size());
+        return modules;
+    }
+
+    // Number of modules that can build at the same time: the widest level of the dependency graph
+    static int parallelWidth(Collection<ModuleInfo> modules) {
+        Map<String, ModuleInfo> byArtifactId = new HashMap<>();
+        modules.forEach(module -> byArtifactId.put(module.artifactId(), module));
+
+        Map<String, Integer> levels = new HashMap<>();
+        Map<Integer, Integer> widths = new HashMap<>();
+        for (ModuleInfo module : modules) {
+            int level = level(module, byArtifactId, levels, new LinkedHashSet<>());
+            widths.merge(level, 1, Integer::sum);
+        }
+        return widths.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private static int level(ModuleInfo module, Map<String, ModuleInfo> byArtifactId, Map<String, Integer> levels,
+                             Set<String> visiting) {
+        Integer known = levels.get(module.artifactId());
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(module.artifactId())) {
+            return 0; // Maven rejects cyclic reactors; do not recurse forever on one
+        }
+        int level = 0;
+        for (String dependency : module.dependsOn()) {
+            ModuleInfo upstream = byArtifactId.get(dependency);
+            if (upstream != null) {
+                level = Math.max(level, level(upstream, byArtifactId, levels, visiting) + 1);
+            }
+        }
+        visiting.remove(module.artifactId());
+        levels.put(module.artifactId(), level);
+        return level;
+    }
+
+    private static void collectModules(Path dir, PomModel model, PomModelService pomModelService,
+                                       Map<Path, PomModel> models) {
+        if (models.putIfAbsent(dir, model) != null) {
+            return;
+        }
+        for (String module : model.modules()) {
+            Path moduleDir = dir.resolve(module).normalize();
+            Path modulePom = Files.isRegularFile(moduleDir) ? moduleDir : moduleDir.resolve("pom.xml");
+            if (!Files.isRegularFile(modulePom)) {
+                logger.warn("Module {} of {} has no pom.xml, skipping", module, dir);
+                continue;
+            }
+            try {
+                collectModules(modulePom.getParent(), pomModelService.readPom(modulePom), pomModelService, models);
+            } catch (PomParsingException e) {
+                logger.warn("Could not read module {} of {}: {}", module, dir, e.getMessage());
+            }
+        }
+    }
+
+    private static void addIfModule(Map<String, Path> modulesByKey, Map<Path, PomModel> models, String groupId,
+                                    String artifactId, Set<String> dependsOn) {
+        Path moduleDir = modulesByKey.get(key(groupId, artifactId));
+        if (moduleDir != null) {
+            dependsOn.add(models.get(moduleDir).artifactId());
+        }
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+}
@@ -0,0 +1,339 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+// Keeps warm Maven worker JVMs per (JDK, Maven distribution, environment). A worker runs MavenCli in-process for one
+// build at a time, so the system properties and streams a build changes stay inside its worker, and a build that
+// times out or is cancelled is stopped by killing its worker. Workers are recycled after a number of builds, or
+// once they have grown past a resident memory limit.
+class MavenWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenWorkerPool.class);
+
+    static final String WORKER_DIRECTORY = "maven-worker";
+
+    private static final long STARTUP_TIMEOUT_MS = 60_000L;
+
+    private final int maxBuildsPerWorker;
+
+    private final String maxHeapSize;
+
+    private final long maxResidentBytes;
+
+    private final long killGracePeriodMs;
+
+    private final Map<WorkerKey, Deque<Worker>> idleWorkers = new HashMap<>();
+
+    private final Set<Worker> liveWorkers = ConcurrentHashMap.newKeySet();
+
+    // Readers block on a worker's pipe for a whole build, so they get their own threads instead of the common pool
+    private final ExecutorService outputExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("maven-worker-output-", 0).factory());
+
+    MavenWorkerPool(int maxBuildsPerWorker, String maxHeapSize, long maxResidentBytes, long killGracePeriodMs) {
+        this.maxBuildsPerWorker = maxBuildsPerWorker;
+        this.maxHeapSize = maxHeapSize;
+        this.maxResidentBytes = maxResidentBytes;
+        this.killGracePeriodMs = killGracePeriodMs;
+    }
+
+    // Requests travel as a single line, so arguments holding a line break or NUL have to be forked instead
+    static boolean canRun(Path workingDirectory, List<String> arguments) {
+        return arguments.stream().noneMatch(MavenWorkerPool::breaksRequest)
+                && !breaksRequest(workingDirectory.toString());
+    }
+
+    ProcessResult execute(String javaHome, Path mavenHome, Map<String, String> environment, Path workerRoot,
+                          Path workingDirectory, List<String> arguments, long timeoutMs, Consumer<String> lineObserver)
+            throws IOException, InterruptedException, TimeoutException {
+
+        WorkerKey key = new WorkerKey(javaHome, mavenHome, Map.copyOf(environment));
+        Worker worker = acquire(key, workerRoot);
+        boolean reusable = false;
+        ProcessOutputCounter collector = new ProcessOutputCounter(lineObserver);
+        String token = UUID.randomUUID().toString();
+        Future<Integer> build = outputExecutor.submit(() -> worker.readUntil(token, collector));
+        try {
+            worker.send(token, workingDirectory, arguments);
+            int exitCode;
+            try {
+                exitCode = build.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Maven worker {} timed out after {}ms, terminating it", worker.pid(), timeoutMs);
+                throw new TimeoutException("Maven worker timed out after " + timeoutMs + "ms");
+            } catch (InterruptedException e) {
+                logger.info("Build on Maven worker {} cancelled, terminating it", worker.pid());
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IOException("Lost the output of Maven worker " + worker.pid(), e.getCause());
+            }
+            reusable = worker.process.isAlive();
+            ProcessResult result = collector.toResult(exitCode);
+            logger.debug("Maven worker {} finished build {} with exit code {} after {}ms", worker.pid(), worker.builds,
+                    exitCode, result.duration());
+            return result;
+        } finally {
+            build.cancel(true);
+            release(worker, reusable);
+        }
+    }
+
+    synchronized int getWorkerCount() {
+        return liveWorkers.size();
+    }
+
+    void shutdown() {
+        List<Worker> toStop;
+        synchronized (this) {
+            toStop = new ArrayList<>(liveWorkers);
+            idleWorkers.clear();
+        }
+        toStop.forEach(this::terminate);
+        outputExecutor.shutdownNow();
+    }
+
+    private Worker acquire(WorkerKey key, Path workerRoot) throws IOException, InterruptedException {
+        synchronized (this) {
+            Deque<Worker> idle = idleWorkers.get(key);
+            Worker worker;
+            while (idle != null && (worker = idle.pollFirst()) != null) {
+                if (worker.process.isAlive()) {
+                    worker.builds++;
+                    return worker;
+                }
+                liveWorkers.remove(worker);
+            }
+        }
+        Worker worker = start(key, workerRoot);
+        worker.builds++;
+        return worker;
+    }
+
+    private void release(Worker worker, boolean reusable) {
+        String reason = null;
+        if (!reusable) {
+            reason = "its build did not finish";
+        } else if (maxBuildsPerWorker > 0 && worker.builds >= maxBuildsPerWorker) {
+            reason = "it served " + worker.builds + " builds";
+        } else if (maxResidentBytes > 0) {
+            long residentBytes = MavenDaemonPool.residentMemory(worker.pid());
+            if (residentBytes >= maxResidentBytes) {
+                reason = "it grew to " + residentBytes + " bytes resident";
+            }
+        }
+        if (reason == null) {
+            synchronized (this) {
+                if (liveWorkers.contains(worker)) {
+                    idleWorkers.computeIfAbsent(worker.key, k -> new ArrayDeque<>()).offerFirst(worker);
+                    return;
+                }
+            }
+        } else {
+            logger.debug("Recycling Maven worker {} because {}", worker.pid(), reason);
+        }
+        terminate(worker);
+    }
+
+    private Worker start(WorkerKey key, Path workerRoot) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(key.javaHome() != null ? Paths.get(key.javaHome(), "bin", "java").toString() : "java");
+        if (maxHeapSize != null && !maxHeapSize.isBlank()) {
+            command.add("-Xmx" + maxHeapSize);
+        }
+        String mavenOpts = key.environment().get("MAVEN_OPTS");
+        if (mavenOpts != null && !mavenOpts.isBlank()) {
+            command.addAll(List.of(mavenOpts.trim().split("\\s+")));
+        }
+        command.add("-Dmaven.home=" + key.mavenHome());
+        command.add("-Dmaven.conf=" + key.mavenHome().resolve("conf"));
+        command.add("-Dlibrary.jansi.path=" + key.mavenHome().resolve("lib").resolve("jansi-native"));
+        Worker worker;
+        try {
+            command.add("-cp");
+            command.add(workerClassDirectory(workerRoot).toString());
+            command.add(MavenEmbeddedWorker.class.getName());
+            command.add(key.mavenHome().toString());
+
+            ProcessBuilder processBuilder = new ProcessBuilder(command);
+            processBuilder.environment().putAll(key.environment());
+            processBuilder.redirectErrorStream(true);
+            worker = new Worker(key, processBuilder.start());
+        } catch (IOException e) {
+            throw new WorkerStartException("Could not launch a Maven worker: " + e.getMessage(), e);
+        }
+        liveWorkers.add(worker);
+
+        // Anything printed before the handshake is why the worker could not load Maven
+        StringBuilder startupOutput = new StringBuilder();
+        Future<Boolean> ready = outputExecutor.submit(() -> worker.awaitReady(startupOutput));
+        boolean started = false;
+        try {
+            started = ready.get(STARTUP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (!started) {
+                throw new WorkerStartException("Maven worker exited during startup: " + startupOutput.toString().trim());
+            }
+            logger.info("Started Maven worker {} for {}", worker.pid(), key);
+            return worker;
+        } catch (TimeoutException e) {
+            throw new WorkerStartException("Maven worker did not start within " + STARTUP_TIMEOUT_MS + "ms");
+        } catch (ExecutionException e) {
+            throw new WorkerStartException("Could not read from Maven worker " + worker.pid(), e.getCause());
+        } finally {
+            if (!started) {
+                ready.cancel(true);
+                terminate(worker);
+            }
+        }
+    }
+
+    // The worker runs on its own class path; its class file is shared by every worker of this server version
+    private Path workerClassDirectory(Path workerRoot) throws IOException {
+        String resource = MavenEmbeddedWorker.class.getSimpleName() + ".class";
+        byte[] classFile;
+        try (InputStream in = MavenEmbeddedWorker.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Maven worker class file not found: " + resource);
+            }
+            classFile = in.readAllBytes();
+        }
+        String version;
+        try {
+            version = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(classFile), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        Path classDirectory = workerRoot.resolve(version);
+        Path target = classDirectory.resolve(MavenEmbeddedWorker.class.getName().replace('.', '/') + ".class");
+        if (!Files.isRegularFile(target)) {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), resource, ".tmp");
+            Files.write(temp, classFile);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return classDirectory;
+    }
+
+    private void terminate(Worker worker) {
+        synchronized (this) {
+            liveWorkers.remove(worker);
+            Deque<Worker> idle = idleWorkers.get(worker.key);
+            if (idle != null) {
+                idle.remove(worker);
+            }
+        }
+        // Surefire forks and other processes the build started are descendants of the worker
+        ProcessReaper.terminateTree(List.of(worker.process.toHandle()), killGracePeriodMs);
+    }
+
+    private static boolean breaksRequest(String value) {
+        return value.contains("\n") || value.contains("\r") || value.contains(MavenEmbeddedWorker.FIELD_SEPARATOR);
+    }
+
+    // Nothing of the build has run yet, so the caller can still run it some other way
+    static final class WorkerStartException extends IOException {
+
+        WorkerStartException(String message) {
+            super(message);
+        }
+
+        WorkerStartException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private record WorkerKey(String javaHome, Path mavenHome, Map<String, String> environment) {
+
+        @Override
+        public String toString() {
+            return mavenHome + " on " + javaHome;
+        }
+    }
+
+    private static final class Worker {
+        private final WorkerKey key;
+        private final Process process;
+        private final BufferedReader output;
+        private final Writer requests;
+        private int builds;
+
+        private Worker(WorkerKey key, Process process) {
+            this.key = key;
+            this.process = process;
+            this.output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            this.requests = new OutputStreamWriter(process.getOutputStream());
+        }
+
+        private long pid() {
+            return process.pid();
+        }
+
+        private boolean awaitReady(StringBuilder startupOutput) throws IOException {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.equals(MavenEmbeddedWorker.READY)) {
+                    return true;
+                }
+                startupOutput.append(line).append('\n');
+            }
+            return false;
+        }
+
+        private void send(String token, Path workingDirectory, List<String> arguments) throws IOException {
+            List<String> fields = new ArrayList<>();
+            fields.add(token);
+            fields.add(workingDirectory.toString());
+            fields.addAll(arguments);
+            requests.write(String.join(MavenEmbeddedWorker.FIELD_SEPARATOR, fields));
+            requests.write('\n');
+            requests.flush();
+        }
+
+        // Forwards the build's output until the worker reports its exit code
+        private int readUntil(String token, Consumer<String> collector) throws IOException, InterruptedException {
+            String prefix = token + " ";
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return Integer.parseInt(line.substring(prefix.length()).trim());
+                }
+                collector.accept(line);
+            }
+            // The worker died mid-build, e.g. a plugin called System.exit, which never counts as a success
+            int exitCode = process.waitFor();
+            return exitCode != 0 ? exitCode : 1;
+        }
+    }
+}
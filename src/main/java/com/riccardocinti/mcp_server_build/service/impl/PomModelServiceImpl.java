@@ -0,0 +1,269 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.exceptions.PomParsingException;
+import com.riccardocinti.mcp_server_build.model.PomModel;
+import com.riccardocinti.mcp_server_build.service.interfaces.PomModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class PomModelServiceImpl implements PomModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PomModelServiceImpl.class);
+
+    private static final int MAX_CACHED_MODELS = 64;
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    // Keyed by content hash, so an edited pom.xml is re-parsed and identical poms share one model
+    private final Map<String, PomModel> models = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PomModel> eldest) {
+            return size() > MAX_CACHED_MODELS;
+        }
+    };
+
+    @Override
+    public PomModel readPom(Path pomFile) throws PomParsingException {
+        byte[] content;
+        String hash;
+        try {
+            content = Files.readAllBytes(pomFile);
+            hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new PomParsingException("Could not read " + pomFile, e);
+        }
+
+        synchronized (models) {
+            PomModel cached = models.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        PomModel model = parse(pomFile, content);
+        synchronized (models) {
+            models.put(hash, model);
+        }
+        logger.debug("Parsed {} ({} properties, {} modules, {} dependencies, {} plugins)", pomFile,
+                model.properties().size(), model.modules().size(), model.dependencies().size(),
+                model.plugins().size());
+        return model;
+    }
+
+    private PomModel parse(Path pomFile, byte[] content) throws PomParsingException {
+        PomHandler handler = new PomHandler();
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(content));
+            List<String> path = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        path.add(reader.getLocalName());
+                        text.setLength(0);
+                        handler.start(path);
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(reader.getText());
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        handler.end(path, text.toString().trim());
+                        path.removeLast();
+                        text.setLength(0);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new PomParsingException("Malformed POM " + pomFile + ": " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.debug("Could not close POM reader for {}", pomFile, e);
+                }
+            }
+        }
+        return handler.toModel();
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // A POM never needs a DTD; refusing them also rules out external entity expansion
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    // Collects only the elements the model needs, matched by their exact path below <project>,
+    // so values inside profiles, dependencyManagement or pluginManagement are not mistaken for the project's own
+    private static final class PomHandler {
+
+        private final Map<String, String> project = new LinkedHashMap<>();
+        private final Map<String, String> parent = new LinkedHashMap<>();
+        private final Map<String, String> properties = new LinkedHashMap<>();
+        private final List<String> modules = new ArrayList<>();
+        private final List<Map<String, String>> dependencies = new ArrayList<>();
+        private final List<Map<String, String>> plugins = new ArrayList<>();
+
+        void start(List<String> path) {
+            if (matches(path, "project", "dependencies", "dependency")) {
+                dependencies.add(new LinkedHashMap<>());
+            } else if (matches(path, "project", "build", "plugins", "plugin")) {
+                plugins.add(new LinkedHashMap<>());
+            }
+        }
+
+        void end(List<String> path, String text) {
+            int depth = path.size();
+            String element = path.get(depth - 1);
+            if (depth == 2 && path.getFirst().equals("project")) {
+                project.put(element, text);
+            } else if (depth == 3 && matchesPrefix(path, "project", "parent")) {
+                parent.put(element, text);
+            } else if (depth == 3 && matchesPrefix(path, "project", "properties")) {
+                properties.put(element, text);
+            } else if (matches(path, "project", "modules", "module")) {
+                modules.add(text);
+            } else if (depth == 4 && matchesPrefix(path, "project", "dependencies", "dependency")) {
+                dependencies.getLast().put(element, text);
+            } else if (depth == 5 && matchesPrefix(path, "project", "build", "plugins", "plugin")) {
+                plugins.getLast().put(element, text);
+            }
+        }
+
+        PomModel toModel() {
+            PomModel.Coordinates parentCoordinates = parent.isEmpty() ? null : new PomModel.Coordinates(
+                    parent.get("groupId"), parent.get("artifactId"), parent.get("version"));
+
+            // groupId and version are inherited from the parent when the project does not declare them
+            String groupId = project.getOrDefault("groupId", parentCoordinates != null ? parentCoordinates.groupId() : null);
+            String version = project.getOrDefault("version", parentCoordinates != null ? parentCoordinates.version() : null);
+            String artifactId = project.get("artifactId");
+
+            Interpolator interpolator = new Interpolator(properties, groupId, artifactId, version, parentCoordinates);
+
+            Map<String, String> interpolatedProperties = new LinkedHashMap<>();
+            properties.forEach((key, value) -> interpolatedProperties.put(key, interpolator.interpolate(value)));
+
+            return PomModel.builder()
+                    .coordinates(new PomModel.Coordinates(interpolator.interpolate(groupId),
+                            interpolator.interpolate(artifactId), interpolator.interpolate(version)))
+                    .parent(parentCoordinates)
+                    .packaging(interpolator.interpolate(project.getOrDefault("packaging", "jar")))
+                    .name(interpolator.interpolate(project.get("name")))
+                    .properties(Map.copyOf(interpolatedProperties))
+                    .modules(modules.stream().map(interpolator::interpolate).toList())
+                    .dependencies(dependencies.stream()
+                            .map(dependency -> new PomModel.Dependency(
+                                    interpolator.interpolate(dependency.get("groupId")),
+                                    interpolator.interpolate(dependency.get("artifactId")),
+                                    interpolator.interpolate(dependency.get("version")),
+                                    interpolator.interpolate(dependency.getOrDefault("scope", "compile"))))
+                            .toList())
+                    .plugins(plugins.stream()
+                            .map(plugin -> new PomModel.Plugin(
+                                    interpolator.interpolate(plugin.getOrDefault("groupId", "org.apache.maven.plugins")),
+                                    interpolator.interpolate(plugin.get("artifactId")),
+                                    interpolator.interpolate(plugin.get("version"))))
+                            .toList())
+                    .build();
+        }
+
+        private static boolean matches(List<String> path, String... expected) {
+            return path.size() == expected.length && matchesPrefix(path, expected);
+        }
+
+        private static boolean matchesPrefix(List<String> path, String... expected) {
+            if (path.size() < expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (!path.get(i).equals(expected[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Resolves ${...} against project coordinates and properties; unknown expressions are left as written
+    private static final class Interpolator {
+
+        private final Map<String, String> values = new LinkedHashMap<>();
+
+        Interpolator(Map<String, String> properties, String groupId, String artifactId, String version,
+                     PomModel.Coordinates parent) {
+            // Model values take precedence over properties of the same name, as in Maven
+            for (String prefix : List.of("project.", "pom.")) {
+                putIfPresent(prefix + "groupId", groupId);
+                putIfPresent(prefix + "artifactId", artifactId);
+                putIfPresent(prefix + "version", version);
+                if (parent != null) {
+                    putIfPresent(prefix + "parent.groupId", parent.groupId());
+                    putIfPresent(prefix + "parent.artifactId", parent.artifactId());
+                    putIfPresent(prefix + "parent.version", parent.version());
+                }
+            }
+            properties.forEach(values::putIfAbsent);
+        }
+
+        String interpolate(String value) {
+            return interpolate(value, new HashSet<>());
+        }
+
+        private String interpolate(String value, Set<String> resolving) {
+            if (value == null || !value.contains("${")) {
+                return value;
+            }
+            Matcher matcher = EXPRESSION_PATTERN.matcher(value);
+            StringBuilder result = new StringBuilder();
+            while (matcher.find()) {
+                String expression = matcher.group(1);
+                String replacement = values.get(expression);
+                // Cyclic references stay unresolved instead of recursing forever
+                if (replacement != null && resolving.add(expression)) {
+                    replacement = interpolate(replacement, resolving);
+                    resolving.remove(expression);
+                } else {
+                    replacement = matcher.group();
+                }
+                matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(result);
+            return result.toString();
+        }
+
+        private void putIfPresent(String key, String value) {
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+    }
+}
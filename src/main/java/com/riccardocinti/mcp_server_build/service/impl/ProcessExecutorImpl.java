@@ -0,0 +1,144 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProcessExecutor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+@Service
+public class ProcessExecutorImpl implements ProcessExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessExecutorImpl.class);
+
+    // How long to keep draining output after the process exited, e.g. while a forked grandchild holds the pipe
+    private static final long OUTPUT_DRAIN_TIMEOUT_MS = 10_000L;
+
+    static final String REGISTRY_DIRECTORY = "processes";
+
+    // Readers block on pipes for the whole process lifetime, so they get their own threads instead of the common pool
+    private final ExecutorService outputExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("process-output-", 0).factory());
+
+    private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final ProcessReaper processReaper;
+
+    public ProcessExecutorImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+        String tempDirectory = builderServerConfig.getTempDirectory();
+        this.processReaper = new ProcessReaper(tempDirectory != null && !tempDirectory.isBlank()
+                ? Paths.get(tempDirectory, REGISTRY_DIRECTORY) : null,
+                builderServerConfig.getProcessRegistryRefreshInterval());
+        processReaper.reapOrphans(builderServerConfig.getProcessKillGracePeriod());
+    }
+
+    @Override
+    public ProcessResult execute(List<String> command, Path workingDirectory, Map<String, String> environment,
+                                 long timeoutMs, Consumer<String> lineObserver)
+            throws IOException, InterruptedException, TimeoutException {
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        if (workingDirectory != null) {
+            processBuilder.directory(workingDirectory.toFile());
+        }
+        processBuilder.environment().putAll(environment);
+        processBuilder.redirectErrorStream(true);
+
+        ProcessOutputCounter collector = new ProcessOutputCounter(lineObserver);
+        Process process = processBuilder.start();
+        runningProcesses.add(process);
+        processReaper.register(process.toHandle());
+        try {
+            Future<?> reader = outputExecutor.submit(() -> drain(process, collector));
+
+            boolean finished;
+            try {
+                finished = process.waitFor(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                logger.info("Process {} cancelled, terminating its process tree", process.pid());
+                terminate(process);
+                reader.cancel(true);
+                throw e;
+            }
+
+            if (!finished) {
+                logger.warn("Process {} timed out after {}ms, terminating its process tree", process.pid(), timeoutMs);
+                terminate(process);
+                reader.cancel(true);
+                throw new TimeoutException("Process timed out after " + timeoutMs + "ms: " + command.getFirst());
+            }
+
+            awaitOutput(process, reader);
+            ProcessResult result = collector.toResult(process.exitValue());
+            logger.debug("Process {} exited with code {} after {}ms ({} lines of output)",
+                    process.pid(), result.exitCode(), result.duration(), result.outputLines());
+            return result;
+        } finally {
+            runningProcesses.remove(process);
+            processReaper.unregister(process.toHandle());
+        }
+    }
+
+    private void terminate(Process process) {
+        // Surefire forks, forked javac and containers are descendants of the launcher and would outlive it
+        processReaper.terminate(process.toHandle(), builderServerConfig.getProcessKillGracePeriod());
+    }
+
+    private void drain(Process process, Consumer<String> collector) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                collector.accept(line);
+            }
+        } catch (IOException e) {
+            logger.error("Error reading process output", e);
+        }
+    }
+
+    private void awaitOutput(Process process, Future<?> reader) throws InterruptedException {
+        try {
+            reader.get(OUTPUT_DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Output of process {} still open {}ms after exit, returning what was read",
+                    process.pid(), OUTPUT_DRAIN_TIMEOUT_MS);
+            try {
+                // A blocked pipe read does not react to interrupts; closing the stream releases the reader
+                process.getInputStream().close();
+            } catch (IOException closeFailure) {
+                logger.debug("Could not close output of process {}", process.pid(), closeFailure);
+            }
+            reader.cancel(true);
+        } catch (ExecutionException e) {
+            logger.error("Error reading process output", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runningProcesses.forEach(this::terminate);
+        outputExecutor.shutdownNow();
+        processReaper.shutdown();
+    }
+}
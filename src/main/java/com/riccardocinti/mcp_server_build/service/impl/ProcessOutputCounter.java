@@ -0,0 +1,35 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+// Counts output lines and characters while forwarding each line to an observer as it arrives
+class ProcessOutputCounter implements Consumer<String> {
+
+    private final Consumer<String> lineObserver;
+
+    private final Instant startTime = Instant.now();
+
+    private long lines;
+
+    private long chars;
+
+    ProcessOutputCounter(Consumer<String> lineObserver) {
+        this.lineObserver = lineObserver;
+    }
+
+    @Override
+    public void accept(String line) {
+        synchronized (this) {
+            lines++;
+            chars += line.length() + 1;
+        }
+        lineObserver.accept(line);
+    }
+
+    synchronized ProcessResult toResult(int exitCode) {
+        return new ProcessResult(exitCode, startTime, Instant.now(), lines, chars);
+    }
+}
@@ -0,0 +1,275 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Terminates whole process trees and keeps a registry of running processes on disk, so that
+// trees left behind by a server instance that crashed can be killed by the next one.
+// Descendants are recorded periodically: once a launcher or an intermediate fork exits, its children are
+// re-parented and can no longer be reached from the root, only from what was recorded before.
+class ProcessReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessReaper.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final long STALE_TEMP_FILE_MS = 60_000L;
+
+    private final Path registryDirectory;
+
+    private final ProcessHandle server;
+
+    // Registered trees by root pid
+    private final Map<Long, Tree> trees = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService refreshExecutor;
+
+    ProcessReaper(Path registryDirectory, long refreshIntervalMs) {
+        this(registryDirectory, refreshIntervalMs, ProcessHandle.current());
+    }
+
+    ProcessReaper(Path registryDirectory, long refreshIntervalMs, ProcessHandle server) {
+        this.registryDirectory = registryDirectory;
+        this.server = server;
+        if (refreshIntervalMs > 0) {
+            refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("process-registry-refresh").daemon().factory());
+            refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            refreshExecutor = null;
+        }
+    }
+
+    void register(ProcessHandle process) {
+        Tree tree = new Tree(process);
+        trees.put(process.pid(), tree);
+        synchronized (tree) {
+            write(process, tree.members);
+        }
+    }
+
+    void unregister(ProcessHandle process) {
+        Tree tree = trees.remove(process.pid());
+        if (tree == null || registryDirectory == null) {
+            return;
+        }
+        synchronized (tree) {
+            tree.registered = false;
+            try {
+                Files.deleteIfExists(entryFile(process));
+            } catch (IOException e) {
+                logger.debug("Could not unregister process {}", process.pid(), e);
+            }
+        }
+    }
+
+    // Terminates a registered tree, including descendants that have been re-parented since they were recorded
+    void terminate(ProcessHandle process, long gracePeriodMs) {
+        List<ProcessHandle> roots = new ArrayList<>();
+        roots.add(process);
+        Tree tree = trees.get(process.pid());
+        if (tree != null) {
+            synchronized (tree) {
+                roots.addAll(tree.members);
+            }
+        }
+        terminateTree(roots, gracePeriodMs);
+    }
+
+    void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    void refresh() {
+        for (Tree tree : trees.values()) {
+            synchronized (tree) {
+                if (!tree.registered) {
+                    continue;
+                }
+                tree.members.addAll(collectTree(List.copyOf(tree.members)));
+                tree.members.removeIf(member -> !member.isAlive());
+                write(tree.root, tree.members);
+            }
+        }
+    }
+
+    // Kills the trees registered by server instances that are no longer running
+    int reapOrphans(long gracePeriodMs) {
+        if (registryDirectory == null || !Files.isDirectory(registryDirectory)) {
+            return 0;
+        }
+        int reaped = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(registryDirectory)) {
+            for (Path entry : entries) {
+                if (reapIfOrphaned(entry, gracePeriodMs)) {
+                    reaped++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan process registry {}", registryDirectory, e);
+        }
+        if (reaped > 0) {
+            logger.info("Terminated {} process trees left behind by a previous server instance", reaped);
+        }
+        return reaped;
+    }
+
+    // Entries hold the owning server's pid and start time, then a pid and start time for each recorded process
+    private boolean reapIfOrphaned(Path entry, long gracePeriodMs) throws IOException {
+        if (entry.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+            // Left behind by a crash mid-write; a live server replaces its own within one refresh
+            if (Files.getLastModifiedTime(entry).toMillis() < System.currentTimeMillis() - STALE_TEMP_FILE_MS) {
+                Files.deleteIfExists(entry);
+            }
+            return false;
+        }
+        String[] fields;
+        try {
+            fields = Files.readString(entry).trim().split("\\s+");
+        } catch (IOException e) {
+            logger.debug("Could not read process registry entry {}", entry, e);
+            return false;
+        }
+        if (fields.length < 4 || fields.length % 2 != 0) {
+            Files.deleteIfExists(entry);
+            return false;
+        }
+        try {
+            if (isRunning(Long.parseLong(fields[0]), Long.parseLong(fields[1]))) {
+                return false; // Still owned by a live server
+            }
+            Files.deleteIfExists(entry);
+            // A recorded start time guards against killing an unrelated process that reused the pid
+            List<ProcessHandle> orphans = new ArrayList<>();
+            for (int i = 2; i < fields.length; i += 2) {
+                long startMillis = Long.parseLong(fields[i + 1]);
+                ProcessHandle.of(Long.parseLong(fields[i]))
+                        .filter(handle -> startMillis(handle) == startMillis)
+                        .filter(ProcessHandle::isAlive)
+                        .ifPresent(orphans::add);
+            }
+            if (orphans.isEmpty()) {
+                return false;
+            }
+            logger.info("Terminating orphaned process tree {} ({} recorded processes still running)",
+                    fields[2], orphans.size());
+            terminateTree(orphans, gracePeriodMs);
+            return true;
+        } catch (NumberFormatException e) {
+            Files.deleteIfExists(entry);
+            return false;
+        }
+    }
+
+    /**
+     * Asks the processes and all of their descendants to terminate, then kills whatever is still alive
+     * after the grace period. Descendants are captured up front, before the roots exit and they are re-parented.
+     */
+    static void terminateTree(Collection<ProcessHandle> roots, long gracePeriodMs) {
+        Set<ProcessHandle> tree = collectTree(roots);
+        tree.forEach(ProcessHandle::destroy);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, gracePeriodMs));
+        for (ProcessHandle process : tree) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                process.onExit().get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Processes started during the grace period are caught by collecting again
+        List<ProcessHandle> survivors = collectTree(tree).stream().filter(ProcessHandle::isAlive).toList();
+        if (!survivors.isEmpty()) {
+            logger.warn("{} processes of tree {} ignored termination, killing them", survivors.size(),
+                    roots.iterator().next().pid());
+            survivors.forEach(ProcessHandle::destroyForcibly);
+        }
+    }
+
+    private static Set<ProcessHandle> collectTree(Collection<ProcessHandle> roots) {
+        Set<ProcessHandle> tree = new LinkedHashSet<>();
+        for (ProcessHandle root : roots) {
+            tree.add(root);
+            root.descendants().forEach(tree::add);
+        }
+        return tree;
+    }
+
+    private void write(ProcessHandle root, Collection<ProcessHandle> members) {
+        if (registryDirectory == null) {
+            return;
+        }
+        StringBuilder entry = new StringBuilder().append(server.pid()).append(' ').append(startMillis(server));
+        for (ProcessHandle member : members) {
+            entry.append(' ').append(member.pid()).append(' ').append(startMillis(member));
+        }
+        try {
+            Files.createDirectories(registryDirectory);
+            // Replaced atomically, so a crash mid-write never leaves a truncated entry behind
+            Path temp = registryDirectory.resolve(entryFile(root).getFileName() + TEMP_SUFFIX);
+            Files.writeString(temp, entry);
+            Files.move(temp, entryFile(root), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.debug("Could not register process {} for orphan cleanup", root.pid(), e);
+        }
+    }
+
+    private static boolean isRunning(long pid, long startMillis) {
+        return ProcessHandle.of(pid).filter(ProcessHandle::isAlive)
+                .map(handle -> startMillis(handle) == startMillis)
+                .orElse(false);
+    }
+
+    private static long startMillis(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    private Path entryFile(ProcessHandle process) {
+        return registryDirectory.resolve(server.pid() + "-" + process.pid());
+    }
+
+    // Every process seen in a registered tree; members are dropped once they exit
+    private static final class Tree {
+
+        private final ProcessHandle root;
+
+        private final Set<ProcessHandle> members = new LinkedHashSet<>();
+
+        private boolean registered = true;
+
+        private Tree(ProcessHandle root) {
+            this.root = root;
+            members.add(root);
+        }
+    }
+}
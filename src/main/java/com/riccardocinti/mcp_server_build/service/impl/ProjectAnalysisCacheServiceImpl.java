@@ -0,0 +1,355 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
+import com.riccardocinti.mcp_server_build.exceptions.ProjectDiscoveryException;
+import com.riccardocinti.mcp_server_build.model.ProjectAnalysis;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProjectAnalysisCacheService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ProjectAnalysisCacheServiceImpl implements ProjectAnalysisCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectAnalysisCacheServiceImpl.class);
+
+    // Files read by discovery and detection; stamped on every lookup because watch events arrive asynchronously
+    private static final List<String> KEY_FILES = List.of(
+            "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts", "package.json",
+            "src/main/resources/application.properties", "src/main/resources/application.yml",
+            "src/main/resources/application.yaml");
+
+    private static final FileStamp MISSING = new FileStamp(-1L, -1L);
+
+    private final BuilderServerConfig builderServerConfig;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // A directory registered twice yields the same key, so keys are shared by nested or concurrent entries
+    private final Map<WatchKey, Set<Entry>> watchedEntries = new HashMap<>();
+
+    private final WatchService watchService;
+
+    public ProjectAnalysisCacheServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+        this.watchService = builderServerConfig.isAnalysisCacheEnabled() ? newWatchService() : null;
+        if (watchService != null) {
+            Thread.ofPlatform().name("project-analysis-watcher").daemon().start(this::processWatchEvents);
+        }
+    }
+
+    @Override
+    public ProjectAnalysis getOrAnalyze(String projectPath, Analyzer analyzer)
+            throws ProjectDiscoveryException, BuilderToolDetectionException {
+        Path projectRoot = normalize(projectPath);
+        if (!builderServerConfig.isAnalysisCacheEnabled() || projectRoot == null
+                || !Files.isDirectory(projectRoot)) {
+            return analyzer.analyze();
+        }
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(projectRoot);
+        }
+        if (cached != null) {
+            if (cached.isCurrent()) {
+                logger.debug("Reusing cached project analysis for {}", projectRoot);
+                return cached.analysis;
+            }
+            logger.debug("Project files of {} changed, discarding cached analysis", projectRoot);
+            discard(cached);
+        }
+
+        // Watches and stamps are taken before analyzing, so edits made while it runs are not missed
+        Entry entry = new Entry(projectRoot);
+        ProjectAnalysis analysis;
+        try {
+            entry.track();
+            analysis = analyzer.analyze();
+        } catch (RuntimeException e) {
+            entry.release();
+            throw e;
+        }
+        entry.analysis = analysis;
+
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (entries) {
+            if (entry.stale) {
+                entry.release();
+                return analysis;
+            }
+            Entry previous = entries.put(projectRoot, entry);
+            if (previous != null && previous != entry) {
+                evicted.add(previous);
+            }
+            evicted.addAll(evictOverflow());
+        }
+        evicted.forEach(this::discard);
+        logger.debug("Cached project analysis for {} ({}, {} entries)", projectRoot,
+                entry.watched ? "watched" : "mtime/size checked", size());
+        return analysis;
+    }
+
+    @Override
+    public void invalidate(String projectPath) {
+        Path projectRoot = normalize(projectPath);
+        if (projectRoot == null) {
+            return;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.remove(projectRoot);
+        }
+        if (entry != null) {
+            entry.stale = true;
+            entry.release();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Could not close project watch service", e);
+        }
+    }
+
+    private List<Entry> evictOverflow() {
+        List<Entry> evicted = new ArrayList<>();
+        int maxEntries = Math.max(0, builderServerConfig.getAnalysisCacheMaxEntries());
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            evicted.add(iterator.next());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    private void discard(Entry entry) {
+        entry.stale = true;
+        synchronized (entries) {
+            entries.remove(entry.projectRoot, entry);
+        }
+        entry.release();
+    }
+
+    private void processWatchEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            List<WatchEvent<?>> events = key.pollEvents();
+            List<Entry> affected;
+            synchronized (watchedEntries) {
+                affected = List.copyOf(watchedEntries.getOrDefault(key, Set.of()));
+            }
+            for (Entry entry : affected) {
+                if (!key.isValid() || entry.isAffectedBy((Path) key.watchable(), events)) {
+                    logger.debug("Detected change under {}, invalidating cached project analysis", entry.projectRoot);
+                    discard(entry);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private WatchService newWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.info("File watching unavailable, cached project analysis is validated by mtime and size");
+            return null;
+        }
+    }
+
+    private static Path normalize(String projectPath) {
+        if (projectPath == null || projectPath.isBlank()) {
+            return null;
+        }
+        try {
+            return Paths.get(projectPath).toAbsolutePath().normalize();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static FileStamp stamp(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return new FileStamp(attrs.lastModifiedTime().toMillis(), attrs.size());
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    private record FileStamp(long lastModified, long size) {
+    }
+
+    private final class Entry {
+
+        private final Path projectRoot;
+
+        private final List<WatchKey> watchKeys = new ArrayList<>();
+
+        private final Map<Path, FileStamp> keyFileStamps = new HashMap<>();
+
+        // Only taken when the tree could not be watched
+        private Map<Path, FileStamp> treeStamps;
+
+        private boolean watched;
+
+        private volatile boolean stale;
+
+        private ProjectAnalysis analysis;
+
+        private Entry(Path projectRoot) {
+            this.projectRoot = projectRoot;
+        }
+
+        private void track() {
+            for (String keyFile : KEY_FILES) {
+                Path file = projectRoot.resolve(keyFile);
+                keyFileStamps.put(file, stamp(file));
+            }
+            watched = watchService != null && registerWatches();
+            if (!watched) {
+                treeStamps = stampTree();
+                stale = stale || treeStamps == null;
+            }
+        }
+
+        private boolean isCurrent() {
+            if (stale) {
+                return false;
+            }
+            for (Map.Entry<Path, FileStamp> keyFile : keyFileStamps.entrySet()) {
+                if (!stamp(keyFile.getKey()).equals(keyFile.getValue())) {
+                    return false;
+                }
+            }
+            return watched || treeStamps.equals(stampTree());
+        }
+
+        private boolean registerWatches() {
+            try {
+                walkProjectTree(new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        if (isExcluded(dir)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        synchronized (watchedEntries) {
+                            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                            watchedEntries.computeIfAbsent(key, k -> new HashSet<>()).add(Entry.this);
+                            watchKeys.add(key);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+                return true;
+            } catch (IOException | RuntimeException e) {
+                // Typically the inotify watch limit; the tree snapshot still catches every change
+                logger.debug("Could not watch {}, falling back to mtime/size checks", projectRoot, e);
+                release();
+                return false;
+            }
+        }
+
+        private Map<Path, FileStamp> stampTree() {
+            Map<Path, FileStamp> stamps = new HashMap<>();
+            try {
+                walkProjectTree(new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        return isExcluded(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        stamps.put(file, new FileStamp(attrs.lastModifiedTime().toMillis(), attrs.size()));
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                logger.debug("Could not stamp files under {}", projectRoot, e);
+                return null;
+            }
+            return stamps;
+        }
+
+        private void walkProjectTree(SimpleFileVisitor<Path> visitor) throws IOException {
+            Files.walkFileTree(projectRoot, visitor);
+        }
+
+        private boolean isExcluded(Path dir) {
+            return ProjectTreeFilter.isExcluded(projectRoot, dir);
+        }
+
+        // Changes that only touch output or tool directories do not affect the analysis
+        private boolean isAffectedBy(Path dir, List<WatchEvent<?>> events) {
+            for (WatchEvent<?> event : events) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || !(event.context() instanceof Path child)
+                        || !isExcluded(dir.resolve(child))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void release() {
+            synchronized (watchedEntries) {
+                for (WatchKey key : watchKeys) {
+                    Set<Entry> owners = watchedEntries.get(key);
+                    if (owners != null && owners.remove(this) && owners.isEmpty()) {
+                        watchedEntries.remove(key);
+                        key.cancel();
+                    }
+                }
+                watchKeys.clear();
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.riccardocinti.mcp_server_build.exceptions.ProjectDiscoveryException;
 import com.riccardocinti.mcp_server_build.model.BuildToolInfo;
 import com.riccardocinti.mcp_server_build.model.ProjectInfo;
 import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.service.interfaces.PomModelService;
 import com.riccardocinti.mcp_server_build.service.interfaces.ProjectDiscoveryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,12 @@ public class ProjectDiscoveryServiceImpl implements ProjectDiscoveryService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectDiscoveryServiceImpl.class);
 
+    private final PomModelService pomModelService;
+
+    public ProjectDiscoveryServiceImpl(PomModelService pomModelService) {
+        this.pomModelService = pomModelService;
+    }
+
     @Override
     public ProjectInfo discoverAndValidateProject(String projectPath) throws ProjectDiscoveryException {
         logger.debug("Starting project discovery for path: {}", projectPath);
@@ -123,20 +130,10 @@ public class ProjectDiscoveryServiceImpl implements ProjectDiscoveryService {
         }
     }
 
-    private String extractMavenProjectName(Path projectRoot) throws IOException {
-        Path pomPath = projectRoot.resolve("pom.xml");
-        String pomContent = Files.readString(pomPath);
-
-        // Simple XML parsing for artifactId
-        String artifactIdPattern = "<artifactId>([^<]+)</artifactId>";
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(artifactIdPattern);
-        java.util.regex.Matcher matcher = pattern.matcher(pomContent);
-
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-
-        return projectRoot.getFileName().toString();
+    private String extractMavenProjectName(Path projectRoot) {
+        // The project's own artifactId, not the parent's
+        String artifactId = pomModelService.readPom(projectRoot.resolve("pom.xml")).artifactId();
+        return artifactId != null && !artifactId.isBlank() ? artifactId : projectRoot.getFileName().toString();
     }
 
     private String extractGradleProjectName(Path projectRoot) throws IOException {
@@ -191,19 +188,10 @@ public class ProjectDiscoveryServiceImpl implements ProjectDiscoveryService {
         }
     }
 
-    private String extractMavenProjectVersion(Path projectRoot) throws IOException {
-        Path pomPath = projectRoot.resolve("pom.xml");
-        String pomContent = Files.readString(pomPath);
-
-        String versionPattern = "<version>([^<]+)</version>";
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(versionPattern);
-        java.util.regex.Matcher matcher = pattern.matcher(pomContent);
-
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-
-        return "unknown";
+    private String extractMavenProjectVersion(Path projectRoot) {
+        // Interpolated, and inherited from the parent when the project declares none
+        String version = pomModelService.readPom(projectRoot.resolve("pom.xml")).version();
+        return version != null && !version.isBlank() ? version : "unknown";
     }
 
     private String extractGradleProjectVersion(Path projectRoot) throws IOException {
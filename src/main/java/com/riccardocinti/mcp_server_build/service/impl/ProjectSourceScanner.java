@@ -0,0 +1,259 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Walks a project once, skipping build output and VCS directories as ProjectTreeFilter decides, and reads only the
+// header of each Java source (up to its first type declaration) to derive Spring Boot, main class, package and port hints
+class ProjectSourceScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectSourceScanner.class);
+
+    private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;");
+    private static final Pattern TYPE_DECLARATION_PATTERN = Pattern.compile("\\b(?:class|interface|enum|record)\\s+(\\w+)");
+    private static final Pattern SERVER_PORT_PATTERN = Pattern.compile("server\\.port\\s*[:=]\\s*([0-9]+)");
+
+    private static final String SPRING_BOOT_ANNOTATION = "@SpringBootApplication";
+
+    // Preference order of configuration files, matching Spring Boot's own lookup
+    private static final List<String> CONFIG_FILES = List.of(
+            "application.properties", "application.yml", "application.yaml");
+
+    private static final int READ_PARALLELISM = 8;
+
+    private static final String MAIN_SOURCES = "src" + File.separator + "main";
+
+    private ProjectSourceScanner() {
+    }
+
+    static Result scan(Path projectRoot) {
+        List<Path> sources = new ArrayList<>();
+        List<Path> configFiles = new ArrayList<>();
+        try {
+            Files.walkFileTree(projectRoot, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return ProjectTreeFilter.isExcluded(projectRoot, dir)
+                            ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".java")) {
+                        sources.add(file);
+                    } else if (CONFIG_FILES.contains(name)) {
+                        configFiles.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    logger.debug("Skipping unreadable path {}", file, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Error scanning project sources under {}", projectRoot, e);
+        }
+
+        List<SourceHeader> headers = readHeaders(sources);
+
+        // Main sources first, then by path, so the result does not depend on traversal or thread order
+        Comparator<SourceHeader> preference = Comparator
+                .comparing((SourceHeader header) -> !isMainSource(projectRoot, header.file()))
+                .thenComparing(header -> projectRoot.relativize(header.file()).toString());
+
+        Optional<SourceHeader> application = headers.stream()
+                .filter(SourceHeader::springBootApplication)
+                .min(preference);
+
+        String basePackage = application.map(SourceHeader::packageName)
+                .orElseGet(() -> commonPackage(headers.stream()
+                        .filter(header -> isMainSource(projectRoot, header.file()))
+                        .map(SourceHeader::packageName)
+                        .toList()));
+
+        return new Result(
+                application.isPresent(),
+                application.map(SourceHeader::qualifiedName).orElse(null),
+                basePackage,
+                serverPort(projectRoot, configFiles));
+    }
+
+    // Blocking reads run on virtual threads rather than the common pool, in a fixed number of
+    // batches so no more than READ_PARALLELISM files are open at a time
+    private static List<SourceHeader> readHeaders(List<Path> sources) {
+        int batches = Math.min(READ_PARALLELISM, sources.size());
+        List<Future<List<SourceHeader>>> futures = new ArrayList<>();
+        List<SourceHeader> headers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int batch = 0; batch < batches; batch++) {
+                int first = batch;
+                futures.add(executor.submit(() -> {
+                    List<SourceHeader> read = new ArrayList<>();
+                    for (int i = first; i < sources.size(); i += batches) {
+                        SourceHeader header = readHeader(sources.get(i));
+                        if (header != null) {
+                            read.add(header);
+                        }
+                    }
+                    return read;
+                }));
+            }
+            for (Future<List<SourceHeader>> future : futures) {
+                headers.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Interrupted while reading project sources");
+        } catch (ExecutionException e) {
+            logger.warn("Error reading project sources", e.getCause());
+        }
+        return headers;
+    }
+
+    private static SourceHeader readHeader(Path file) {
+        String packageName = "";
+        boolean springBootApplication = false;
+        CommentStripper commentStripper = new CommentStripper();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String code = commentStripper.strip(line);
+                if (code.isBlank()) {
+                    continue;
+                }
+
+                Matcher packageMatcher = PACKAGE_PATTERN.matcher(code);
+                if (packageMatcher.find()) {
+                    packageName = packageMatcher.group(1);
+                    continue;
+                }
+                if (code.contains(SPRING_BOOT_ANNOTATION)) {
+                    springBootApplication = true;
+                }
+
+                Matcher typeMatcher = TYPE_DECLARATION_PATTERN.matcher(code);
+                if (!code.trim().startsWith("import") && typeMatcher.find()) {
+                    // Nothing after the first type declaration affects the hints
+                    return new SourceHeader(file, packageName, typeMatcher.group(1), springBootApplication);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read source {}", file, e);
+            return null;
+        }
+
+        String fileName = file.getFileName().toString();
+        return new SourceHeader(file, packageName, fileName.substring(0, fileName.length() - ".java".length()),
+                springBootApplication);
+    }
+
+    private static String serverPort(Path projectRoot, List<Path> configFiles) {
+        Comparator<Path> preference = Comparator
+                .comparing((Path file) -> !isMainSource(projectRoot, file))
+                .thenComparing(file -> CONFIG_FILES.indexOf(file.getFileName().toString()))
+                .thenComparing(file -> projectRoot.relativize(file).toString());
+
+        for (Path configFile : configFiles.stream().sorted(preference).toList()) {
+            try {
+                Matcher matcher = SERVER_PORT_PATTERN.matcher(Files.readString(configFile));
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            } catch (IOException e) {
+                logger.warn("Error reading config file: {}", configFile, e);
+            }
+        }
+        return null;
+    }
+
+    private static String commonPackage(List<String> packageNames) {
+        String common = null;
+        for (String packageName : packageNames) {
+            if (packageName.isEmpty()) {
+                continue;
+            }
+            if (common == null) {
+                common = packageName;
+                continue;
+            }
+            while (!common.isEmpty() && !(packageName.equals(common) || packageName.startsWith(common + "."))) {
+                int lastDot = common.lastIndexOf('.');
+                common = lastDot < 0 ? "" : common.substring(0, lastDot);
+            }
+        }
+        return common == null || common.isEmpty() ? null : common;
+    }
+
+    private static boolean isMainSource(Path projectRoot, Path file) {
+        return projectRoot.relativize(file).toString().contains(MAIN_SOURCES);
+    }
+
+    // Tracks block comments across lines; string literals are not special-cased, which is fine for headers
+    private static final class CommentStripper {
+
+        private boolean inBlockComment;
+
+        String strip(String line) {
+            StringBuilder code = new StringBuilder();
+            int i = 0;
+            while (i < line.length()) {
+                if (inBlockComment) {
+                    int end = line.indexOf("*/", i);
+                    if (end < 0) {
+                        break;
+                    }
+                    inBlockComment = false;
+                    i = end + 2;
+                } else if (line.startsWith("//", i)) {
+                    break;
+                } else if (line.startsWith("/*", i)) {
+                    inBlockComment = true;
+                    i += 2;
+                } else {
+                    code.append(line.charAt(i++));
+                }
+            }
+            return code.toString();
+        }
+    }
+
+    private record SourceHeader(Path file, String packageName, String typeName, boolean springBootApplication) {
+
+        String qualifiedName() {
+            return packageName.isEmpty() ? typeName : packageName + "." + typeName;
+        }
+    }
+
+    record Result(boolean springBootApplication,
+                  String mainClass,
+                  String basePackage,
+                  String serverPort) {
+    }
+}
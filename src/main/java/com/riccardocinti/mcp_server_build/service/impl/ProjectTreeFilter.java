@@ -0,0 +1,49 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+// Decides which directories of a project tree hold no build inputs. Tool caches and VCS metadata are skipped at
+// any depth; output directories only directly under the project root or a module root (a directory with its own
+// build file), so source packages such as com/acme/build are still walked.
+final class ProjectTreeFilter {
+
+    private static final Set<String> TOOL_DIRECTORIES = Set.of(
+            "node_modules", ".git", ".idea", ".gradle", ".vscode");
+
+    private static final Set<String> OUTPUT_DIRECTORIES = Set.of("target", "build", "out", "dist");
+
+    private static final List<String> BUILD_FILES = List.of(
+            "pom.xml", "build.gradle", "build.gradle.kts", "package.json");
+
+    private ProjectTreeFilter() {
+    }
+
+    static boolean isExcluded(Path projectRoot, Path dir) {
+        if (dir.equals(projectRoot) || dir.getFileName() == null) {
+            return false;
+        }
+        String name = dir.getFileName().toString();
+        if (TOOL_DIRECTORIES.contains(name)) {
+            return true;
+        }
+        return OUTPUT_DIRECTORIES.contains(name) && isModuleRoot(projectRoot, dir.getParent());
+    }
+
+    private static boolean isModuleRoot(Path projectRoot, Path dir) {
+        if (dir == null) {
+            return false;
+        }
+        if (dir.equals(projectRoot)) {
+            return true;
+        }
+        for (String buildFile : BUILD_FILES) {
+            if (Files.isRegularFile(dir.resolve(buildFile))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,268 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.TempDirectoryStatus;
+import com.riccardocinti.mcp_server_build.service.interfaces.TempDirectoryCleanupService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Enforces the age and size budgets of mcp.builder.temp-directory. Spilled build logs are cleaned oldest first;
+// directories with their own lifecycle (build cache, artifact store, process registry, daemon storage, Maven worker
+// classes) count towards usage but are never touched here. Daemon storage belongs to live daemons; the daemon pool
+// deletes it when it stops a generation and reaps what a previous run left behind.
+// The setting may point at a shared directory such as /tmp, so anything else in it is neither counted nor deleted.
+@Service
+public class TempDirectoryCleanupServiceImpl implements TempDirectoryCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TempDirectoryCleanupServiceImpl.class);
+
+    private static final Set<String> MANAGED_DIRECTORIES = Set.of(
+            BuildCacheServiceImpl.CACHE_DIRECTORY,
+            ArtifactStoreServiceImpl.STORE_DIRECTORY,
+            ProcessExecutorImpl.REGISTRY_DIRECTORY,
+            MavenExecutionServiceImpl.DAEMON_DIRECTORY,
+            MavenWorkerPool.WORKER_DIRECTORY);
+
+    // Anything modified this recently is left alone, which also covers coarse file time granularity
+    private static final long MODIFICATION_MARGIN_MS = 60_000L;
+
+    private static final long MAX_INITIAL_DELAY_MS = 60_000L;
+
+    private final BuilderServerConfig builderServerConfig;
+
+    private final Set<InFlight> inFlightBuilds = ConcurrentHashMap.newKeySet();
+
+    private final Object cleanupLock = new Object();
+
+    private final ScheduledExecutorService cleanupExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("temp-directory-cleanup").daemon().factory());
+
+    private long usedBytes;
+    private long reclaimedBytes;
+    private long deletedEntries;
+    private long cleanupRuns;
+    private Instant lastCleanupAt;
+
+    public TempDirectoryCleanupServiceImpl(BuilderServerConfig builderServerConfig) {
+        this.builderServerConfig = builderServerConfig;
+        long interval = builderServerConfig.getTempCleanupInterval();
+        if (builderServerConfig.isTempCleanupEnabled() && interval > 0) {
+            cleanupExecutor.scheduleWithFixedDelay(this::scheduledCleanup,
+                    Math.min(interval, MAX_INITIAL_DELAY_MS), interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public InFlightBuild trackBuild() {
+        InFlight build = new InFlight(System.currentTimeMillis());
+        inFlightBuilds.add(build);
+        return build;
+    }
+
+    @Override
+    public TempDirectoryStatus cleanup() {
+        Path root = root();
+        if (root == null || !Files.isDirectory(root)) {
+            return getStatus();
+        }
+
+        synchronized (cleanupLock) {
+            long now = System.currentTimeMillis();
+            // Everything an in-flight build wrote was modified after it started
+            long protectedAfter = inFlightBuilds.stream()
+                    .mapToLong(InFlight::startedAt)
+                    .reduce(now, Math::min) - MODIFICATION_MARGIN_MS;
+            long maxAge = builderServerConfig.getTempCleanupMaxAge();
+            long budget = budgetBytes();
+
+            List<Entry> entries = new ArrayList<>();
+            long used = collectEntries(root, entries);
+            entries.sort(Comparator.comparingLong(Entry::lastModified));
+
+            long reclaimed = 0L;
+            long deleted = 0L;
+            for (Entry entry : entries) {
+                if (entry.lastModified() >= protectedAfter) {
+                    break;
+                }
+                boolean expired = maxAge > 0 && entry.lastModified() < now - maxAge;
+                boolean overBudget = budget > 0 && used > budget;
+                if (!expired && !overBudget) {
+                    break;
+                }
+                long freed = delete(entry.path());
+                used -= freed;
+                reclaimed += freed;
+                deleted++;
+            }
+
+            if (budget > 0 && used > budget) {
+                logger.info("Temp directory {} uses {} bytes, over its {} byte budget; the rest is in flight "
+                        + "or bounded by its own limits", root, used, budget);
+            }
+            if (deleted > 0) {
+                logger.info("Temp directory cleanup reclaimed {} bytes from {} entries under {}", reclaimed, deleted, root);
+            }
+
+            synchronized (this) {
+                usedBytes = used;
+                reclaimedBytes += reclaimed;
+                deletedEntries += deleted;
+                cleanupRuns++;
+                lastCleanupAt = Instant.now();
+            }
+        }
+        return getStatus();
+    }
+
+    @Override
+    public synchronized TempDirectoryStatus getStatus() {
+        Path root = root();
+        return new TempDirectoryStatus(root != null ? root.toString() : null, usedBytes, budgetBytes(),
+                reclaimedBytes, deletedEntries, cleanupRuns, lastCleanupAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    private void scheduledCleanup() {
+        try {
+            cleanup();
+        } catch (RuntimeException e) {
+            logger.warn("Temp directory cleanup failed", e);
+        }
+    }
+
+    // Each spilled log is one entry; returns the size of everything the server keeps in the directory
+    private long collectEntries(Path root, List<Entry> entries) {
+        long used = 0L;
+        try (Stream<Path> children = Files.list(root)) {
+            for (Path child : children.toList()) {
+                String name = child.getFileName().toString();
+                if (MANAGED_DIRECTORIES.contains(name)) {
+                    used += measure(child).size();
+                } else if (name.equals(BuildLogSink.LOG_DIRECTORY) && Files.isDirectory(child)) {
+                    try (Stream<Path> logs = Files.list(child)) {
+                        for (Path log : logs.toList()) {
+                            Entry entry = measure(log);
+                            entries.add(entry);
+                            used += entry.size();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list temp directory {}", root, e);
+        }
+        return used;
+    }
+
+    private Entry measure(Path path) {
+        long[] sizeAndLastModified = new long[2];
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    sizeAndLastModified[1] = Math.max(sizeAndLastModified[1], attrs.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    sizeAndLastModified[0] += attrs.size();
+                    sizeAndLastModified[1] = Math.max(sizeAndLastModified[1], attrs.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // Vanished or unreadable; an unreadable entry must not look old enough to delete
+                    if (!(e instanceof NoSuchFileException)) {
+                        sizeAndLastModified[1] = Long.MAX_VALUE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            sizeAndLastModified[1] = Long.MAX_VALUE;
+        }
+        return new Entry(path, sizeAndLastModified[0], sizeAndLastModified[1]);
+    }
+
+    private long delete(Path path) {
+        long[] freed = new long[1];
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    freed[0] += attrs.size();
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    Files.deleteIfExists(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Could not fully delete {} from the temp directory", path, e);
+        }
+        return freed[0];
+    }
+
+    private Path root() {
+        String tempDirectory = builderServerConfig.getTempDirectory();
+        return tempDirectory == null || tempDirectory.isBlank()
+                ? null : Paths.get(tempDirectory).toAbsolutePath().normalize();
+    }
+
+    private long budgetBytes() {
+        return Math.max(0L, builderServerConfig.getTempCleanupMaxSizeMb()) * 1024 * 1024;
+    }
+
+    private record Entry(Path path, long size, long lastModified) {
+    }
+
+    private final class InFlight implements InFlightBuild {
+
+        private final long startedAt;
+
+        private InFlight(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        long startedAt() {
+            return startedAt;
+        }
+
+        @Override
+        public void close() {
+            inFlightBuilds.remove(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+
+public interface ArtifactStoreService {
+
+    /**
+     * Copies the artifacts into the content-addressed store and returns them with their store paths set.
+     * Returns the artifacts unchanged when artifact preservation is disabled.
+     */
+    ArtifactInfo retain(ArtifactInfo artifactInfo);
+
+    long storedBytes();
+
+}
@@ -0,0 +1,21 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+
+import java.util.Optional;
+
+public interface BuildCacheService {
+
+    Optional<String> fingerprint(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                 ExecutionPlan executionPlan);
+
+    Optional<BuildResult> lookup(String fingerprint);
+
+    void store(String fingerprint, BuildResult result);
+
+    int size();
+
+}
@@ -0,0 +1,36 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.BuildCancelledException;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+
+import java.util.Optional;
+
+public interface BuildCancellationService {
+
+    /**
+     * Registers the build pipeline running on the calling thread so that it can be cancelled by project path.
+     */
+    RunningBuild register(String projectPath);
+
+    /**
+     * Cancels the builds running for the project and waits a bounded time for their result.
+     * Returns empty when no build of the project is running.
+     */
+    Optional<BuildResult> cancel(String projectPath);
+
+    interface RunningBuild extends AutoCloseable {
+
+        boolean isCancelled();
+
+        void throwIfCancelled() throws BuildCancelledException;
+
+        // The slot is released as soon as the build is cancelled, not when the pipeline has unwound
+        void holdSlot(BuildSchedulerService.BuildSlot slot);
+
+        void complete(BuildResult result);
+
+        @Override
+        void close();
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+
+import java.util.function.Function;
+
+public interface BuildCoalescingService {
+
+    BuildResult coalesce(BuildRequest request,
+                         BuildProgressListener progressListener,
+                         Function<BuildProgressListener, BuildResult> build);
+
+    int getInFlightBuildCount();
+
+}
@@ -0,0 +1,18 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.BuildJobNotFoundException;
+import com.riccardocinti.mcp_server_build.model.BuildJobStatus;
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+
+public interface BuildJobService {
+
+    BuildJobStatus startBuild(BuildRequest request);
+
+    BuildJobStatus getBuildStatus(String jobId) throws BuildJobNotFoundException;
+
+    BuildJobStatus awaitBuild(String jobId, long maxWaitMillis) throws BuildJobNotFoundException;
+
+    BuildResult cancelBuild(String jobId) throws BuildJobNotFoundException;
+
+}
@@ -0,0 +1,18 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+
+@FunctionalInterface
+public interface BuildProgressListener {
+
+    BuildProgressListener NOOP = phase -> {
+    };
+
+    void onPhaseStarted(BuildPhase phase);
+
+    // Called from the process output reader, so implementations must return quickly
+    default void onMilestone(BuildMilestone milestone, String message) {
+    }
+
+}
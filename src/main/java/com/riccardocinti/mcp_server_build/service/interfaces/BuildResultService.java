@@ -10,7 +10,8 @@ public interface BuildResultService {
                                    BuildEnvironment buildEnv,
                                    DependencyResult depResult,
                                    CompilationResult compResult,
-                                   ArtifactInfo artifactInfo);
+                                   ArtifactInfo artifactInfo,
+                                   BuildTimer timer);
 
     BuildResult createFailureResult(ErrorType errorType, Exception exception, String projectPath);
 
@@ -0,0 +1,20 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.BuildQueueFullException;
+import com.riccardocinti.mcp_server_build.model.SchedulerStatus;
+
+public interface BuildSchedulerService {
+
+    BuildSlot acquireSlot(String clientId) throws BuildQueueFullException, InterruptedException;
+
+    SchedulerStatus getStatus();
+
+    interface BuildSlot extends AutoCloseable {
+
+        long queueWaitTime();
+
+        @Override
+        void close();
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+
+import java.util.concurrent.TimeoutException;
+
+public interface BuildTimeoutService {
+
+    /**
+     * Starts the overall deadline of a build; called once the build holds a slot.
+     * Timeouts are learned per project and resolution mode, since the mode changes what the build runs.
+     */
+    BuildDeadline startBuild(String projectPath, DependencyResolutionMode dependencyResolutionMode);
+
+    /**
+     * Timeout for one invocation: the budgets of the phases it runs, capped by what is left of the deadline.
+     *
+     * @throws TimeoutException when the build deadline has already passed
+     */
+    long invocationTimeout(BuildDeadline deadline, ExecutionPlan.Invocation invocation) throws TimeoutException;
+
+    void recordInvocation(BuildDeadline deadline, ExecutionPlan.Invocation invocation, long durationMillis);
+
+    void recordBuild(BuildDeadline deadline);
+
+    /**
+     * Called when an invocation or the build deadline timed out; the learned timeouts proved too tight.
+     */
+    void recordTimeout(BuildDeadline deadline, ExecutionPlan.Invocation invocation);
+
+}
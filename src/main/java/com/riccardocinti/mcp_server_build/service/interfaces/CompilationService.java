@@ -1,12 +1,18 @@
 package com.riccardocinti.mcp_server_build.service.interfaces;
 
 import com.riccardocinti.mcp_server_build.exceptions.CompilationException;
+import com.riccardocinti.mcp_server_build.exceptions.DependencyResolutionException;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
 import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
 import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
 import com.riccardocinti.mcp_server_build.model.CompilationResult;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
 
 public interface CompilationService {
 
-    CompilationResult compileAndPackage(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv) throws CompilationException;
+    CompilationResult compileAndPackage(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                        ExecutionPlan executionPlan, BuildDeadline deadline,
+                                        BuildProgressListener progressListener)
+            throws CompilationException, DependencyResolutionException;
 
 }
@@ -1,11 +1,20 @@
 package com.riccardocinti.mcp_server_build.service.interfaces;
 
 import com.riccardocinti.mcp_server_build.exceptions.DependencyResolutionException;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
 import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
 import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
 import com.riccardocinti.mcp_server_build.model.DependencyResult;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
 
 public interface DependencyResolutionService {
 
-    DependencyResult resolveDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv) throws DependencyResolutionException;
+    DependencyResult resolveDependencies(BuilderConfiguration builderConfiguration, BuildEnvironment buildEnv,
+                                         ExecutionPlan executionPlan, BuildDeadline deadline,
+                                         BuildProgressListener progressListener)
+            throws DependencyResolutionException;
+
+    DependencyResult completeResolution(BuilderConfiguration builderConfiguration,
+                                        int exitCode,
+                                        DependencyResult parsedResult) throws DependencyResolutionException;
 }
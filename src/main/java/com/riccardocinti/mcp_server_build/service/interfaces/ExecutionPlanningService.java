@@ -0,0 +1,13 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+
+public interface ExecutionPlanningService {
+
+    ExecutionPlan planExecution(BuilderConfiguration builderConfiguration,
+                                DependencyResolutionMode requestedResolutionMode) throws BuilderToolDetectionException;
+
+}
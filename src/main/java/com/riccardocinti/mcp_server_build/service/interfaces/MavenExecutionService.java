@@ -0,0 +1,19 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+public interface MavenExecutionService {
+
+    ProcessResult execute(ExecutionPlan.Invocation invocation, BuildEnvironment buildEnv, BuildDeadline deadline,
+                          Consumer<String> lineObserver)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException;
+
+}
@@ -0,0 +1,12 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.PomParsingException;
+import com.riccardocinti.mcp_server_build.model.PomModel;
+
+import java.nio.file.Path;
+
+public interface PomModelService {
+
+    PomModel readPom(Path pomFile) throws PomParsingException;
+
+}
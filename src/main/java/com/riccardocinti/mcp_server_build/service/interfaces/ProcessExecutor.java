@@ -0,0 +1,22 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+public interface ProcessExecutor {
+
+    /**
+     * Runs a command to completion, merging stderr into stdout and streaming each line to the observer.
+     * Interrupting the calling thread cancels the invocation and destroys the process.
+     */
+    ProcessResult execute(List<String> command, Path workingDirectory, Map<String, String> environment,
+                          long timeoutMs, Consumer<String> lineObserver)
+            throws IOException, InterruptedException, TimeoutException;
+
+}
@@ -0,0 +1,22 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
+import com.riccardocinti.mcp_server_build.exceptions.ProjectDiscoveryException;
+import com.riccardocinti.mcp_server_build.model.ProjectAnalysis;
+
+public interface ProjectAnalysisCacheService {
+
+    ProjectAnalysis getOrAnalyze(String projectPath, Analyzer analyzer)
+            throws ProjectDiscoveryException, BuilderToolDetectionException;
+
+    void invalidate(String projectPath);
+
+    int size();
+
+    @FunctionalInterface
+    interface Analyzer {
+
+        ProjectAnalysis analyze() throws ProjectDiscoveryException, BuilderToolDetectionException;
+    }
+
+}
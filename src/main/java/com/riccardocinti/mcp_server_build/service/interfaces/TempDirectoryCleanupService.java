@@ -0,0 +1,28 @@
+package com.riccardocinti.mcp_server_build.service.interfaces;
+
+import com.riccardocinti.mcp_server_build.model.TempDirectoryStatus;
+
+public interface TempDirectoryCleanupService {
+
+    /**
+     * Marks a build as in flight until closed; nothing it may have written is cleaned up meanwhile.
+     */
+    InFlightBuild trackBuild();
+
+    /**
+     * Runs one cleanup pass now, in addition to the scheduled ones.
+     */
+    TempDirectoryStatus cleanup();
+
+    /**
+     * Usage as of the last pass, and the bytes and entries reclaimed since the server started.
+     */
+    TempDirectoryStatus getStatus();
+
+    interface InFlightBuild extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+}
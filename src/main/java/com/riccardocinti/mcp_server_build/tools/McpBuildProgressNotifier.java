@@ -0,0 +1,124 @@
+package com.riccardocinti.mcp_server_build.tools;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// Forwards build progress to the calling MCP client as logging notifications. Phase changes and the
+// first error are always sent; other milestones are held back while they arrive faster than minIntervalMs,
+// so a chatty build cannot flood the transport. The latest one held back is sent once the interval has
+// elapsed, or before the next phase change if that comes first, so the client never misses the last word.
+class McpBuildProgressNotifier implements BuildProgressListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpBuildProgressNotifier.class);
+
+    private static final String NOTIFICATION_LOGGER = "build-progress";
+
+    private final McpSyncServerExchange exchange;
+
+    private final long minIntervalNanos;
+
+    private long lastMilestoneNanos;
+
+    private boolean milestoneSent;
+
+    private boolean errorReported;
+
+    private String pendingMilestone;
+
+    private boolean flushScheduled;
+
+    McpBuildProgressNotifier(McpSyncServerExchange exchange, long minIntervalMs) {
+        this.exchange = exchange;
+        this.minIntervalNanos = Math.max(0L, minIntervalMs) * 1_000_000L;
+    }
+
+    // Notifications are sent under this notifier's lock, so each client sees them in the order they happened
+    @Override
+    public synchronized void onPhaseStarted(BuildPhase phase) {
+        // A milestone held back belongs to the phase that just ended
+        flushPending();
+        send(McpSchema.LoggingLevel.INFO, "Phase " + phase);
+    }
+
+    @Override
+    public synchronized void onMilestone(BuildMilestone milestone, String message) {
+        if (milestone == BuildMilestone.FIRST_ERROR) {
+            if (!errorReported) {
+                errorReported = true;
+                send(McpSchema.LoggingLevel.ERROR, message);
+            }
+            return;
+        }
+        long remaining = remainingNanos();
+        if (remaining > 0) {
+            pendingMilestone = message;
+            scheduleFlush(remaining);
+            return;
+        }
+        pendingMilestone = null;
+        sendMilestone(message);
+    }
+
+    private long remainingNanos() {
+        return milestoneSent ? lastMilestoneNanos + minIntervalNanos - System.nanoTime() : 0L;
+    }
+
+    // Called with the lock held; one sleeping virtual thread per notifier at most
+    private void scheduleFlush(long delayNanos) {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        Thread.ofVirtual().name("build-progress-flush").start(() -> {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                flushScheduled = false;
+                long remaining = remainingNanos();
+                if (pendingMilestone != null && remaining > 0) {
+                    // A phase change sent another milestone meanwhile and restarted the interval
+                    scheduleFlush(remaining);
+                } else {
+                    flushPending();
+                }
+            }
+        });
+    }
+
+    private void flushPending() {
+        if (pendingMilestone != null) {
+            String message = pendingMilestone;
+            pendingMilestone = null;
+            sendMilestone(message);
+        }
+    }
+
+    private void sendMilestone(String message) {
+        milestoneSent = true;
+        lastMilestoneNanos = System.nanoTime();
+        send(McpSchema.LoggingLevel.INFO, message);
+    }
+
+    private void send(McpSchema.LoggingLevel level, String message) {
+        try {
+            exchange.loggingNotification(McpSchema.LoggingMessageNotification.builder()
+                    .level(level)
+                    .logger(NOTIFICATION_LOGGER)
+                    .data(message)
+                    .build());
+        } catch (RuntimeException e) {
+            // A client that went away must not fail the build
+            logger.debug("Could not send build progress notification: {}", e.getMessage());
+        }
+    }
+}
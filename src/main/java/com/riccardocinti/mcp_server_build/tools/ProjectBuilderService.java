@@ -1,22 +1,138 @@
 package com.riccardocinti.mcp_server_build.tools;
 
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildJobNotFoundException;
+import com.riccardocinti.mcp_server_build.model.BuildJobStatus;
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
 import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.SchedulerStatus;
+import com.riccardocinti.mcp_server_build.model.TempDirectoryStatus;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
 import com.riccardocinti.mcp_server_build.service.BuilderService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCancellationService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildJobService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildSchedulerService;
+import com.riccardocinti.mcp_server_build.service.interfaces.TempDirectoryCleanupService;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class ProjectBuilderService {
 
+    private static final long DEFAULT_AWAIT_SECONDS = 30L;
+
+    private static final String DEPENDENCY_RESOLUTION_MODE_DESCRIPTION =
+            "How to resolve dependencies: SKIP, OFFLINE, RUNTIME_SCOPE or FULL_WITH_SOURCES. Defaults to the server setting";
+
     private final BuilderService builderService;
 
-    public ProjectBuilderService(BuilderService builderService) {
+    private final BuildJobService buildJobService;
+
+    private final BuildSchedulerService buildSchedulerService;
+
+    private final BuildCancellationService buildCancellationService;
+
+    private final TempDirectoryCleanupService tempDirectoryCleanupService;
+
+    private final BuilderServerConfig builderServerConfig;
+
+    public ProjectBuilderService(BuilderService builderService,
+                                 BuildJobService buildJobService,
+                                 BuildSchedulerService buildSchedulerService,
+                                 BuildCancellationService buildCancellationService,
+                                 TempDirectoryCleanupService tempDirectoryCleanupService,
+                                 BuilderServerConfig builderServerConfig) {
         this.builderService = builderService;
+        this.buildJobService = buildJobService;
+        this.buildSchedulerService = buildSchedulerService;
+        this.buildCancellationService = buildCancellationService;
+        this.tempDirectoryCleanupService = tempDirectoryCleanupService;
+        this.builderServerConfig = builderServerConfig;
     }
 
     @Tool(name = "build_project", description = "Build a valid project based on its configuration")
-    public BuildResult buildProject(String projectPath) {
-        return builderService.buildProject(projectPath);
+    public BuildResult buildProject(String projectPath,
+                                    @ToolParam(required = false, description = "Identifier of the calling agent, used for fair queueing")
+                                    String clientId,
+                                    @ToolParam(required = false, description = DEPENDENCY_RESOLUTION_MODE_DESCRIPTION)
+                                    String dependencyResolutionMode,
+                                    ToolContext toolContext) {
+        return builderService.buildProject(buildRequest(projectPath, clientId, dependencyResolutionMode),
+                progressListener(toolContext));
+    }
+
+    @Tool(name = "start_build", description = "Start building a project in the background and return a job id immediately")
+    public BuildJobStatus startBuild(String projectPath,
+                                     @ToolParam(required = false, description = "Identifier of the calling agent, used for fair queueing")
+                                     String clientId,
+                                     @ToolParam(required = false, description = DEPENDENCY_RESOLUTION_MODE_DESCRIPTION)
+                                     String dependencyResolutionMode) {
+        return buildJobService.startBuild(buildRequest(projectPath, clientId, dependencyResolutionMode));
+    }
+
+    @Tool(name = "get_build_status", description = "Get the current phase and per-phase elapsed time of a background build job")
+    public BuildJobStatus getBuildStatus(String jobId) {
+        return buildJobService.getBuildStatus(jobId);
+    }
+
+    @Tool(name = "await_build", description = "Wait a bounded amount of time for a background build job to finish and return its status")
+    public BuildJobStatus awaitBuild(String jobId,
+                                     @ToolParam(required = false, description = "Maximum seconds to wait, capped by the server")
+                                     Long waitSeconds) {
+        long seconds = waitSeconds != null ? waitSeconds : DEFAULT_AWAIT_SECONDS;
+        // Clamped before converting, so negative or huge values from the client cannot wrap around
+        long waitMillis = TimeUnit.SECONDS.toMillis(Math.max(0L, seconds));
+        return buildJobService.awaitBuild(jobId, Math.min(waitMillis, builderServerConfig.getMaxAwaitTime()));
+    }
+
+    @Tool(name = "cancel_build", description = "Cancel a running build by job id or project path, terminating its processes and releasing its build slot")
+    public BuildResult cancelBuild(@ToolParam(required = false, description = "Id of a job returned by start_build")
+                                   String jobId,
+                                   @ToolParam(required = false, description = "Project path of a running build, used when no job id is given")
+                                   String projectPath) {
+        if (jobId != null && !jobId.isBlank()) {
+            return buildJobService.cancelBuild(jobId);
+        }
+        if (projectPath == null || projectPath.isBlank()) {
+            throw new IllegalArgumentException("Either jobId or projectPath is required");
+        }
+        return buildCancellationService.cancel(projectPath)
+                .orElseThrow(() -> new BuildJobNotFoundException("No running build found for project: " + projectPath));
+    }
+
+    @Tool(name = "get_build_queue_status", description = "Get the number of running and queued builds and the observed queue wait times")
+    public SchedulerStatus getBuildQueueStatus() {
+        return buildSchedulerService.getStatus();
+    }
+
+    @Tool(name = "get_temp_directory_status", description = "Get the disk usage and budget of the server's temp directory and the bytes its cleanup has reclaimed")
+    public TempDirectoryStatus getTempDirectoryStatus() {
+        return tempDirectoryCleanupService.getStatus();
+    }
+
+    // Streams progress to the calling client when the call arrived over MCP
+    private BuildProgressListener progressListener(ToolContext toolContext) {
+        if (toolContext == null || !builderServerConfig.isProgressNotificationsEnabled()) {
+            return BuildProgressListener.NOOP;
+        }
+        return McpToolUtils.getMcpExchange(toolContext)
+                .<BuildProgressListener>map(exchange -> new McpBuildProgressNotifier(exchange,
+                        builderServerConfig.getProgressMinInterval()))
+                .orElse(BuildProgressListener.NOOP);
+    }
+
+    private BuildRequest buildRequest(String projectPath, String clientId, String dependencyResolutionMode) {
+        return BuildRequest.builder()
+                .projectPath(projectPath)
+                .clientId(clientId)
+                .dependencyResolutionMode(DependencyResolutionMode.fromValue(dependencyResolutionMode))
+                .build();
     }
 
 }
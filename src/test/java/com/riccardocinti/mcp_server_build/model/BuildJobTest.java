@@ -0,0 +1,48 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildJobTest {
+
+    @Nested
+    @DisplayName("complete(BuildResult buildResult) Tests")
+    class Complete {
+
+        @Test
+        @DisplayName("Should publish the terminal status together with the result")
+        void shouldSnapshotResultWithTerminalStatus() {
+            BuildJob job = new BuildJob("job", "/projects/app");
+            job.markStarted();
+            job.enterPhase(BuildPhase.COMPILATION);
+            assertNull(job.snapshot().result());
+            BuildResult buildResult = BuildResult.builder().success(true).build();
+
+            job.complete(buildResult);
+
+            BuildJobStatus status = job.snapshot();
+            assertEquals(JobStatus.COMPLETED, status.status());
+            assertNull(status.currentPhase());
+            assertSame(buildResult, status.result());
+        }
+
+        @Test
+        @DisplayName("Should report a failed result as a failed job")
+        void shouldMapFailedResult() {
+            BuildJob job = new BuildJob("job", "/projects/app");
+            BuildResult buildResult = BuildResult.builder().success(false).build();
+
+            job.complete(buildResult);
+
+            BuildJobStatus status = job.snapshot();
+            assertEquals(JobStatus.FAILED, status.status());
+            assertSame(buildResult, status.result());
+            assertSame(buildResult, job.getResult().getNow(null));
+        }
+    }
+}
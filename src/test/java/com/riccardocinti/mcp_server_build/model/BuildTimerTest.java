@@ -0,0 +1,111 @@
+package com.riccardocinti.mcp_server_build.model;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
+import com.riccardocinti.mcp_server_build.service.impl.BuildResultServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildTimerTest {
+
+    @Nested
+    @DisplayName("applyTo(BuildResult result) Tests")
+    class ApplyTo {
+
+        @Test
+        @DisplayName("Should time each phase in execution order and the whole build")
+        void shouldAccumulatePhases() throws Exception {
+            BuildTimer timer = new BuildTimer();
+            timer.enterPhase(BuildPhase.DEPENDENCY_RESOLUTION);
+            Thread.sleep(50);
+            timer.enterPhase(BuildPhase.COMPILATION);
+            Thread.sleep(100);
+
+            BuildResult result = timer.applyTo(BuildResult.builder().success(true).build());
+
+            Map<BuildPhase, Long> phases = result.getPhaseDurations();
+            assertEquals(List.of(BuildPhase.DEPENDENCY_RESOLUTION, BuildPhase.COMPILATION), List.copyOf(phases.keySet()));
+            assertTrue(phases.get(BuildPhase.DEPENDENCY_RESOLUTION) >= 50);
+            assertTrue(phases.get(BuildPhase.COMPILATION) >= 100);
+            assertTrue(result.getBuildDuration() >= 150);
+            assertEquals(result.getBuildDuration(),
+                    Duration.between(result.getStartTime(), result.getEndTime()).toMillis());
+        }
+
+        @Test
+        @DisplayName("Should add up the time of a phase that is entered more than once")
+        void shouldSumReenteredPhases() throws Exception {
+            BuildTimer timer = new BuildTimer();
+            timer.enterPhase(BuildPhase.COMPILATION);
+            Thread.sleep(50);
+            timer.enterPhase(BuildPhase.ARTIFACT_DISCOVERY);
+            timer.enterPhase(BuildPhase.COMPILATION);
+            Thread.sleep(50);
+
+            Map<BuildPhase, Long> phases = timer.applyTo(BuildResult.builder().build()).getPhaseDurations();
+
+            assertEquals(List.of(BuildPhase.COMPILATION, BuildPhase.ARTIFACT_DISCOVERY), List.copyOf(phases.keySet()));
+            assertTrue(phases.get(BuildPhase.COMPILATION) >= 100);
+        }
+
+        @Test
+        @DisplayName("Should replace the zero duration of a failure result with the measured time")
+        void shouldTimeFailures() throws Exception {
+            BuildTimer timer = new BuildTimer();
+            timer.enterPhase(BuildPhase.PROJECT_DISCOVERY);
+            Thread.sleep(50);
+            BuildResult failure = new BuildResultServiceImpl().createFailureResult(ErrorType.PROJECT_DISCOVERY_FAILED,
+                    new IllegalStateException("missing"), "/projects/app");
+            assertEquals(0L, failure.getBuildDuration());
+
+            timer.applyTo(failure);
+
+            assertTrue(failure.getBuildDuration() >= 50);
+            assertTrue(failure.getPhaseDurations().get(BuildPhase.PROJECT_DISCOVERY) >= 50);
+        }
+
+        @Test
+        @DisplayName("Should replace the timings a cached result kept from the build that produced it")
+        void shouldRetimeCacheHits() {
+            LocalDateTime cachedStart = LocalDateTime.now().minusHours(1);
+            BuildResult cached = BuildResult.builder().success(true)
+                    .startTime(cachedStart)
+                    .endTime(cachedStart.plusMinutes(5))
+                    .buildDuration(Duration.ofMinutes(5).toMillis())
+                    .build();
+            cached.setPhaseDurations(Map.of(BuildPhase.COMPILATION, Duration.ofMinutes(4).toMillis()));
+            BuildTimer timer = new BuildTimer();
+            timer.enterPhase(BuildPhase.ENVIRONMENT_PREPARATION);
+
+            timer.applyTo(cached);
+
+            assertTrue(cached.getBuildDuration() < Duration.ofMinutes(1).toMillis());
+            assertTrue(cached.getStartTime().isAfter(cachedStart));
+            assertEquals(List.of(BuildPhase.ENVIRONMENT_PREPARATION), List.copyOf(cached.getPhaseDurations().keySet()));
+        }
+
+        @Test
+        @DisplayName("Should close the open phase, so a later stamp only extends the total")
+        void shouldKeepPhasesWhenStampedTwice() throws Exception {
+            BuildTimer timer = new BuildTimer();
+            timer.enterPhase(BuildPhase.RESULT_COMPILATION);
+            BuildResult result = timer.applyTo(BuildResult.builder().build());
+            Map<BuildPhase, Long> phases = result.getPhaseDurations();
+            long firstDuration = result.getBuildDuration();
+            Thread.sleep(20);
+
+            timer.applyTo(result);
+
+            assertEquals(phases, result.getPhaseDurations());
+            assertTrue(result.getBuildDuration() >= firstDuration + 20);
+        }
+    }
+}
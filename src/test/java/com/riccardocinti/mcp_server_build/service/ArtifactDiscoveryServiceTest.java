@@ -0,0 +1,223 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.CompilationResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.service.impl.ArtifactDiscoveryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtifactDiscoveryServiceTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private ArtifactDiscoveryServiceImpl artifactDiscoveryService;
+    private BuilderConfiguration configuration;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(projectRoot.resolve("target"));
+        artifactDiscoveryService = new ArtifactDiscoveryServiceImpl();
+        configuration = BuilderConfiguration.builder()
+                .buildTool(BuildTool.MAVEN)
+                .projectPath(projectRoot.toString())
+                .modules(List.of())
+                .build();
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] springBootJar() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "org.springframework.boot.loader.launch.JarLauncher");
+        manifest.getMainAttributes().putValue("Start-Class", "com.example.App");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JarOutputStream jar = new JarOutputStream(bytes, manifest)) {
+            for (String name : List.of("BOOT-INF/classes/com/example/App.class", "BOOT-INF/classes/application.properties",
+                    "BOOT-INF/layers.idx", "org/springframework/boot/loader/launch/JarLauncher.class")) {
+                jar.putNextEntry(new JarEntry(name));
+                jar.write(name.getBytes(StandardCharsets.UTF_8));
+                jar.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArtifactInfo.Artifact discoverSingle() throws Exception {
+        ArtifactInfo artifactInfo = artifactDiscoveryService.discoverArtifacts(configuration, null);
+        assertEquals(1, artifactInfo.artifacts().size());
+        return artifactInfo.artifacts().getFirst();
+    }
+
+    @Nested
+    @DisplayName("discoverArtifacts(...) Checksum Tests")
+    class ChecksumTests {
+
+        @Test
+        @DisplayName("Should hash artifacts larger than one read chunk")
+        void shouldHashLargeArtifacts() throws Exception {
+            byte[] content = randomBytes(300 * 1024 + 7, 1L);
+            Files.write(projectRoot.resolve("target/app-1.0.jar"), content);
+
+            ArtifactInfo.Artifact artifact = discoverSingle();
+
+            assertEquals(sha256(content), artifact.checksum());
+            assertEquals(content.length, artifact.size());
+        }
+
+        @Test
+        @DisplayName("Should rehash an artifact once it has been rewritten")
+        void shouldRehashChangedArtifacts() throws Exception {
+            Path jar = projectRoot.resolve("target/app-1.0.jar");
+            byte[] original = randomBytes(4096, 1L);
+            Files.write(jar, original);
+            FileTime modified = Files.getLastModifiedTime(jar);
+            assertEquals(sha256(original), discoverSingle().checksum());
+
+            // Same size, different content and modification time
+            byte[] rewritten = randomBytes(4096, 2L);
+            Files.write(jar, rewritten);
+            Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 2000));
+
+            assertEquals(sha256(rewritten), discoverSingle().checksum());
+        }
+    }
+
+    @Nested
+    @DisplayName("discoverArtifacts(...) Inspection Tests")
+    class InspectionTests {
+
+        @Test
+        @DisplayName("Should read type, entry points, layers index and entry counts from the archive")
+        void shouldInspectSpringBootJar() throws Exception {
+            byte[] content = springBootJar();
+            Files.write(projectRoot.resolve("target/app-1.0.jar"), content);
+
+            ArtifactInfo.Artifact artifact = discoverSingle();
+
+            assertEquals("spring-boot-jar", artifact.type());
+            assertEquals("org.springframework.boot.loader.launch.JarLauncher", artifact.mainClass());
+            assertEquals("com.example.App", artifact.startClass());
+            assertEquals("BOOT-INF/layers.idx", artifact.layersIndex());
+            assertEquals(5, artifact.entryCount()); // The manifest plus four entries
+            assertEquals(2, artifact.classCount());
+            assertEquals(sha256(content), artifact.checksum());
+        }
+
+        @Test
+        @DisplayName("Should inspect an archive behind a launch script")
+        void shouldInspectArchiveWithPrefix() throws Exception {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            content.write("#!/bin/bash\nexec java -jar \"$0\" \"$@\"\n".getBytes(StandardCharsets.UTF_8));
+            content.write(springBootJar());
+            Files.write(projectRoot.resolve("target/app-1.0.jar"), content.toByteArray());
+
+            ArtifactInfo.Artifact artifact = discoverSingle();
+
+            assertEquals("spring-boot-jar", artifact.type());
+            assertEquals("com.example.App", artifact.startClass());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the file name for files that are not archives")
+        void shouldFallBackForNonArchives() throws Exception {
+            Files.write(projectRoot.resolve("target/app-1.0.war"), randomBytes(1024, 3L));
+
+            ArtifactInfo.Artifact artifact = discoverSingle();
+
+            assertEquals("web-archive", artifact.type());
+            assertNull(artifact.mainClass());
+            assertEquals(0, artifact.entryCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("discoverArtifacts(...) Source Tests")
+    class SourceTests {
+
+        @Test
+        @DisplayName("Should use the artifacts reported by the build instead of scanning target")
+        void shouldPreferReportedArtifacts() throws Exception {
+            Files.write(projectRoot.resolve("target/stale-0.9.jar"), randomBytes(512, 4L));
+            Path custom = Files.createDirectories(projectRoot.resolve("dist")).resolve("app-1.0.jar");
+            Files.write(custom, springBootJar());
+            CompilationResult compilationResult = CompilationResult.builder()
+                    .success(true)
+                    .artifactPaths(List.of(custom.toString(), projectRoot.resolve("target/missing.jar").toString()))
+                    .build();
+
+            ArtifactInfo artifactInfo = artifactDiscoveryService.discoverArtifacts(configuration, compilationResult);
+
+            assertEquals(1, artifactInfo.artifacts().size());
+            assertEquals(custom.toString(), artifactInfo.mainArtifactPath());
+        }
+
+        @Test
+        @DisplayName("Should add unreported jars written next to the reported ones, but not older leftovers")
+        void shouldAddUnreportedArtifactsOfSameBuild() throws Exception {
+            Path stale = Files.write(projectRoot.resolve("target/app-0.9.jar"), randomBytes(512, 5L));
+            Path main = Files.write(projectRoot.resolve("target/app-1.0.jar"), randomBytes(512, 6L));
+            Path shaded = Files.write(projectRoot.resolve("target/app-1.0-shaded.jar"), randomBytes(1024, 7L));
+            long now = System.currentTimeMillis();
+            Files.setLastModifiedTime(stale, FileTime.fromMillis(now - 3_600_000L));
+            Files.setLastModifiedTime(main, FileTime.fromMillis(now - 5_000L));
+            Files.setLastModifiedTime(shaded, FileTime.fromMillis(now));
+            CompilationResult compilationResult = CompilationResult.builder()
+                    .success(true)
+                    .artifactPaths(List.of(main.toString()))
+                    .build();
+
+            ArtifactInfo artifactInfo = artifactDiscoveryService.discoverArtifacts(configuration, compilationResult);
+
+            assertEquals(List.of(shaded.toString(), main.toString()), artifactInfo.artifacts().stream()
+                    .map(ArtifactInfo.Artifact::path)
+                    .sorted()
+                    .toList());
+        }
+
+        @Test
+        @DisplayName("Should scan target when the build reported no artifacts")
+        void shouldFallBackToTargetScan() throws Exception {
+            Files.write(projectRoot.resolve("target/app-1.0.jar"), springBootJar());
+            CompilationResult compilationResult = CompilationResult.builder()
+                    .success(true)
+                    .artifactPaths(List.of())
+                    .build();
+
+            ArtifactInfo artifactInfo = artifactDiscoveryService.discoverArtifacts(configuration, compilationResult);
+
+            assertEquals(1, artifactInfo.artifacts().size());
+            assertEquals("spring-boot-jar", artifactInfo.artifacts().getFirst().type());
+        }
+    }
+}
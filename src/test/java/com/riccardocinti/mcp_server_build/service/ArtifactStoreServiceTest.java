@@ -0,0 +1,148 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+import com.riccardocinti.mcp_server_build.service.impl.ArtifactStoreServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtifactStoreServiceTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path target;
+    private BuilderServerConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = Files.createDirectories(tempDirectory.resolve("project/target"));
+        config = new BuilderServerConfig();
+        config.setTempDirectory(tempDirectory.resolve("store").toString());
+        config.setPreserveArtifacts(true);
+        config.setArtifactStoreMaxSizeMb(1);
+    }
+
+    private ArtifactInfo.Artifact artifact(String name, int size, long seed) throws Exception {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        Path file = Files.write(target.resolve(name), content);
+        return ArtifactInfo.Artifact.builder()
+                .path(file.toString())
+                .type("library-jar")
+                .size(size)
+                .checksum(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)))
+                .build();
+    }
+
+    private static ArtifactInfo artifactInfo(ArtifactInfo.Artifact... artifacts) {
+        return ArtifactInfo.builder()
+                .artifacts(List.of(artifacts))
+                .mainArtifactPath(artifacts[0].path())
+                .totalSize(List.of(artifacts).stream().mapToLong(ArtifactInfo.Artifact::size).sum())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("retain(...) Tests")
+    class RetainTests {
+
+        @Test
+        @DisplayName("Should keep a copy that survives the build directory")
+        void shouldSurviveClean() throws Exception {
+            ArtifactStoreServiceImpl store = new ArtifactStoreServiceImpl(config);
+            ArtifactInfo.Artifact artifact = artifact("app-1.0.jar", 100 * KB, 1L);
+            byte[] content = Files.readAllBytes(Path.of(artifact.path()));
+
+            ArtifactInfo retained = store.retain(artifactInfo(artifact));
+            Files.delete(Path.of(artifact.path()));
+
+            String storePath = retained.getMainArtifactStorePath();
+            assertNotNull(storePath);
+            assertTrue(storePath.endsWith("app-1.0.jar"));
+            assertArrayEquals(content, Files.readAllBytes(Path.of(storePath)));
+        }
+
+        @Test
+        @DisplayName("Should store identical content once")
+        void shouldDeduplicateByChecksum() throws Exception {
+            ArtifactStoreServiceImpl store = new ArtifactStoreServiceImpl(config);
+            ArtifactInfo.Artifact first = artifact("app-1.0.jar", 100 * KB, 1L);
+            ArtifactInfo.Artifact renamed = artifact("app-1.0-copy.jar", 100 * KB, 1L);
+
+            ArtifactInfo retained = store.retain(artifactInfo(first, renamed));
+
+            Path firstStored = Path.of(retained.artifacts().get(0).storePath());
+            Path renamedStored = Path.of(retained.artifacts().get(1).storePath());
+            assertEquals(firstStored.getParent(), renamedStored.getParent());
+            assertEquals(100 * KB, store.storedBytes());
+            assertEquals(-1L, Files.mismatch(firstStored, renamedStored));
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used artifacts over the budget")
+        void shouldEvictLeastRecentlyUsed() throws Exception {
+            ArtifactStoreServiceImpl store = new ArtifactStoreServiceImpl(config);
+            ArtifactInfo oldest = store.retain(artifactInfo(artifact("a.jar", 400 * KB, 1L)));
+            ArtifactInfo used = store.retain(artifactInfo(artifact("b.jar", 400 * KB, 2L)));
+            store.retain(oldest);
+            store.retain(artifactInfo(artifact("c.jar", 400 * KB, 3L)));
+
+            assertTrue(Files.exists(Path.of(oldest.getMainArtifactStorePath())));
+            assertFalse(Files.exists(Path.of(used.getMainArtifactStorePath())));
+            assertEquals(800 * KB, store.storedBytes());
+        }
+
+        @Test
+        @DisplayName("Should drop the stale store path of a cached artifact that was evicted and has changed since")
+        void shouldDropStaleStorePath() throws Exception {
+            ArtifactStoreServiceImpl store = new ArtifactStoreServiceImpl(config);
+            ArtifactInfo.Artifact artifact = artifact("a.jar", 400 * KB, 1L);
+            ArtifactInfo cached = store.retain(artifactInfo(artifact));
+            store.retain(artifactInfo(artifact("b.jar", 400 * KB, 2L)));
+            store.retain(artifactInfo(artifact("c.jar", 400 * KB, 3L)));
+            assertFalse(Files.exists(Path.of(cached.getMainArtifactStorePath())));
+            // Rebuilt with different content after the cached result was stored
+            artifact("a.jar", 400 * KB, 4L);
+
+            ArtifactInfo retained = store.retain(cached);
+
+            assertNull(retained.getMainArtifactStorePath());
+            assertEquals(800 * KB, store.storedBytes());
+        }
+
+        @Test
+        @DisplayName("Should reload stored artifacts after a restart")
+        void shouldReloadStore() throws Exception {
+            new ArtifactStoreServiceImpl(config).retain(artifactInfo(artifact("app-1.0.jar", 100 * KB, 1L)));
+
+            assertEquals(100 * KB, new ArtifactStoreServiceImpl(config).storedBytes());
+        }
+
+        @Test
+        @DisplayName("Should leave artifacts in place when preservation is disabled")
+        void shouldDoNothingWhenDisabled() throws Exception {
+            config.setPreserveArtifacts(false);
+            ArtifactStoreServiceImpl store = new ArtifactStoreServiceImpl(config);
+
+            ArtifactInfo retained = store.retain(artifactInfo(artifact("app-1.0.jar", 100 * KB, 1L)));
+
+            assertNull(retained.getMainArtifactStorePath());
+            assertEquals(0L, store.storedBytes());
+        }
+    }
+}
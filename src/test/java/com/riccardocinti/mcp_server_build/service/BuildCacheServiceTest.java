@@ -0,0 +1,229 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ArtifactInfo;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.BuildStatus;
+import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.impl.BuildCacheServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildCacheServiceTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path projectRoot;
+    private Path artifact;
+    private BuilderServerConfig config;
+    private BuildCacheService buildCacheService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projectRoot = Files.createDirectories(tempDirectory.resolve("project"));
+        Files.writeString(projectRoot.resolve("pom.xml"), "<project/>");
+        Files.createDirectories(projectRoot.resolve("src/main/java"));
+        Files.writeString(projectRoot.resolve("src/main/java/App.java"), "class App {}");
+        artifact = Files.createDirectories(projectRoot.resolve("target")).resolve("app.jar");
+        Files.writeString(artifact, "jar contents");
+
+        config = new BuilderServerConfig();
+        config.setTempDirectory(tempDirectory.resolve("builds").toString());
+        config.setBuildCacheEnabled(true);
+        config.setBuildCacheMaxEntries(10);
+        buildCacheService = new BuildCacheServiceImpl(config);
+    }
+
+    private String fingerprint() {
+        return fingerprint(projectRoot);
+    }
+
+    private String fingerprint(Path projectRoot) {
+        BuilderConfiguration builderConfiguration = BuilderConfiguration.builder()
+                .buildTool(BuildTool.MAVEN)
+                .projectPath(projectRoot.toString())
+                .buildCommands(List.of("mvn clean package"))
+                .build();
+        BuildEnvironment buildEnv = BuildEnvironment.builder()
+                .environmentVariables(Map.of())
+                .workingDirectory(projectRoot.toString())
+                .build();
+        ExecutionPlan executionPlan = new ExecutionPlan(DependencyResolutionMode.FULL_WITH_SOURCES, List.of());
+        return buildCacheService.fingerprint(builderConfiguration, buildEnv, executionPlan).orElseThrow();
+    }
+
+    private BuildResult successfulResult() throws Exception {
+        byte[] contents = Files.readAllBytes(artifact);
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contents));
+        ArtifactInfo artifactInfo = ArtifactInfo.builder()
+                .artifacts(List.of(ArtifactInfo.Artifact.builder()
+                        .path(artifact.toString())
+                        .type("jar")
+                        .size(contents.length)
+                        .checksum(checksum)
+                        .build()))
+                .mainArtifactPath(artifact.toString())
+                .totalSize(contents.length)
+                .build();
+        return BuildResult.builder()
+                .success(true)
+                .status(BuildStatus.COMPLETED)
+                .projectPath(projectRoot.toString())
+                .artifactInfo(artifactInfo)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("fingerprint(BuilderConfiguration, BuildEnvironment, ExecutionPlan) Tests")
+    class Fingerprint {
+
+        @Test
+        @DisplayName("Should be stable for an unchanged tree and ignore build outputs")
+        void shouldIgnoreBuildOutputs() throws Exception {
+            String before = fingerprint();
+            Files.writeString(artifact, "rebuilt jar");
+
+            assertEquals(before, fingerprint());
+        }
+
+        @Test
+        @DisplayName("Should change when a source file changes")
+        void shouldChangeWithSources() throws Exception {
+            String before = fingerprint();
+            Files.writeString(projectRoot.resolve("src/main/java/App.java"), "class App { int x; }");
+
+            assertNotEquals(before, fingerprint());
+        }
+
+        @Test
+        @DisplayName("Should change when a source in a package named like an output directory changes")
+        void shouldIncludeSourcePackagesNamedLikeOutputs() throws Exception {
+            Path source = Files.createDirectories(projectRoot.resolve("src/main/java/com/acme/build")).resolve("Task.java");
+            Files.writeString(source, "class Task {}");
+            String before = fingerprint();
+            Files.writeString(source, "class Task { int x; }");
+
+            assertNotEquals(before, fingerprint());
+        }
+
+        @Test
+        @DisplayName("Should differ between identical projects in different directories")
+        void shouldIncludeProjectRoot() throws Exception {
+            Path copy = Files.createDirectories(tempDirectory.resolve("copy"));
+            Files.writeString(copy.resolve("pom.xml"), "<project/>");
+            Files.createDirectories(copy.resolve("src/main/java"));
+            Files.writeString(copy.resolve("src/main/java/App.java"), "class App {}");
+
+            assertNotEquals(fingerprint(), fingerprint(copy));
+        }
+
+        @Test
+        @DisplayName("Should ignore the output directories of reactor modules")
+        void shouldIgnoreModuleOutputs() throws Exception {
+            Path module = Files.createDirectories(projectRoot.resolve("core"));
+            Files.writeString(module.resolve("pom.xml"), "<project/>");
+            Path moduleJar = Files.createDirectories(module.resolve("target")).resolve("core.jar");
+            Files.writeString(moduleJar, "jar contents");
+            String before = fingerprint();
+            Files.writeString(moduleJar, "rebuilt jar");
+
+            assertEquals(before, fingerprint());
+        }
+    }
+
+    @Nested
+    @DisplayName("lookup(String fingerprint) Tests")
+    class Lookup {
+
+        @Test
+        @DisplayName("Should return a stored result marked as cached")
+        void shouldReturnStoredResult() throws Exception {
+            String fingerprint = fingerprint();
+            buildCacheService.store(fingerprint, successfulResult());
+
+            Optional<BuildResult> cached = buildCacheService.lookup(fingerprint);
+
+            assertTrue(cached.isPresent());
+            assertTrue(cached.get().isCached());
+            assertEquals(artifact.toString(), cached.get().getArtifactInfo().mainArtifactPath());
+        }
+
+        @Test
+        @DisplayName("Should discard the entry when a cached artifact changed")
+        void shouldDiscardWhenArtifactChanged() throws Exception {
+            String fingerprint = fingerprint();
+            buildCacheService.store(fingerprint, successfulResult());
+            Files.writeString(artifact, "tampered");
+
+            assertTrue(buildCacheService.lookup(fingerprint).isEmpty());
+            assertEquals(0, buildCacheService.size());
+        }
+
+        @Test
+        @DisplayName("Should discard the entry when a cached artifact was rewritten with the same size")
+        void shouldDiscardWhenArtifactRewrittenInPlace() throws Exception {
+            String fingerprint = fingerprint();
+            buildCacheService.store(fingerprint, successfulResult());
+            assertTrue(buildCacheService.lookup(fingerprint).isPresent());
+
+            FileTime modified = Files.getLastModifiedTime(artifact);
+            Files.writeString(artifact, "jar CONTENTS");
+            Files.setLastModifiedTime(artifact, FileTime.fromMillis(modified.toMillis() + 2000));
+
+            assertTrue(buildCacheService.lookup(fingerprint).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should not cache failed builds")
+        void shouldNotCacheFailures() {
+            buildCacheService.store("failed", BuildResult.builder().success(false).status(BuildStatus.FAILED).build());
+
+            assertTrue(buildCacheService.lookup("failed").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void shouldEvictLeastRecentlyUsed() throws Exception {
+            config.setBuildCacheMaxEntries(2);
+            buildCacheService.store("a", successfulResult());
+            buildCacheService.store("b", successfulResult());
+            buildCacheService.lookup("a");
+            buildCacheService.store("c", successfulResult());
+
+            assertTrue(buildCacheService.lookup("a").isPresent());
+            assertTrue(buildCacheService.lookup("b").isEmpty());
+            assertTrue(buildCacheService.lookup("c").isPresent());
+        }
+
+        @Test
+        @DisplayName("Should reload persisted entries after a restart")
+        void shouldReloadPersistedEntries() throws Exception {
+            String fingerprint = fingerprint();
+            buildCacheService.store(fingerprint, successfulResult());
+
+            BuildCacheService restarted = new BuildCacheServiceImpl(config);
+
+            assertTrue(restarted.lookup(fingerprint).isPresent());
+        }
+    }
+}
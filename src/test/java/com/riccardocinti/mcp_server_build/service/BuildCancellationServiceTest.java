@@ -0,0 +1,124 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildStatus;
+import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
+import com.riccardocinti.mcp_server_build.service.impl.BuildCancellationServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.BuildResultServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.BuildSchedulerServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCancellationService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildSchedulerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildCancellationServiceTest {
+
+    private static final String PROJECT_PATH = "/projects/app";
+
+    private BuilderServerConfig config;
+    private BuildSchedulerService buildSchedulerService;
+    private BuildCancellationService buildCancellationService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setMaxConnections(1);
+        config.setMaxQueuedBuilds(3);
+        config.setCancelAwaitTime(5_000L);
+        buildSchedulerService = new BuildSchedulerServiceImpl(config);
+        buildCancellationService = new BuildCancellationServiceImpl(new BuildResultServiceImpl(), config);
+    }
+
+    // Simulates a pipeline that holds a build slot and blocks until it is interrupted
+    private Thread startBuild(CountDownLatch running, CountDownLatch unwind, AtomicBoolean interruptLeaked) {
+        return Thread.ofVirtual().start(() -> {
+            try (BuildCancellationService.RunningBuild runningBuild = buildCancellationService.register(PROJECT_PATH)) {
+                try (BuildSchedulerService.BuildSlot slot = buildSchedulerService.acquireSlot("agent")) {
+                    runningBuild.holdSlot(slot);
+                    running.countDown();
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    awaitUninterruptibly(unwind);
+                }
+                runningBuild.complete(BuildResult.builder()
+                        .success(false)
+                        .status(BuildStatus.FAILED)
+                        .errorType(ErrorType.UNEXPECTED_ERROR)
+                        .projectPath(PROJECT_PATH)
+                        .build());
+            }
+            interruptLeaked.set(Thread.currentThread().isInterrupted());
+        });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // Keep waiting, like a phase that takes a while to stop
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("cancel(String projectPath) Tests")
+    class Cancel {
+
+        @Test
+        @DisplayName("Should interrupt the build and return the result it completes with")
+        void shouldInterruptBuildAndReturnItsResult() throws Exception {
+            CountDownLatch running = new CountDownLatch(1);
+            AtomicBoolean interruptLeaked = new AtomicBoolean(true);
+            Thread build = startBuild(running, new CountDownLatch(0), interruptLeaked);
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Optional<BuildResult> result = buildCancellationService.cancel(PROJECT_PATH + "/.");
+
+            assertTrue(result.isPresent());
+            assertEquals(ErrorType.UNEXPECTED_ERROR, result.get().getErrorType());
+            assertTrue(build.join(Duration.ofSeconds(5)));
+            assertFalse(interruptLeaked.get());
+            assertTrue(buildCancellationService.cancel(PROJECT_PATH).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should release the build slot before the build has unwound")
+        void shouldReleaseSlotImmediately() throws Exception {
+            config.setCancelAwaitTime(200L);
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch unwind = new CountDownLatch(1);
+            Thread build = startBuild(running, unwind, new AtomicBoolean());
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Optional<BuildResult> result = buildCancellationService.cancel(PROJECT_PATH);
+
+            assertEquals(0, buildSchedulerService.getStatus().activeBuilds());
+            assertTrue(result.isPresent());
+            assertEquals(BuildStatus.CANCELLED, result.get().getStatus());
+            assertEquals(ErrorType.BUILD_CANCELLED, result.get().getErrorType());
+
+            unwind.countDown();
+            assertTrue(build.join(Duration.ofSeconds(5)));
+            assertEquals(0, buildSchedulerService.getStatus().activeBuilds());
+        }
+
+        @Test
+        @DisplayName("Should return empty when no build of the project is running")
+        void shouldReturnEmptyWhenNothingIsRunning() {
+            assertTrue(buildCancellationService.cancel(PROJECT_PATH).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.impl.BuildCoalescingServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCoalescingService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildCoalescingServiceTest {
+
+    @TempDir
+    Path projectDirectory;
+
+    private BuildCoalescingService buildCoalescingService;
+    private ExecutorService callers;
+
+    // Released by the test to let the leader's build finish
+    private final CountDownLatch finishBuild = new CountDownLatch(1);
+    private final CountDownLatch buildStarted = new CountDownLatch(1);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(projectDirectory.resolve("pom.xml"), "<project/>");
+        buildCoalescingService = new BuildCoalescingServiceImpl();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        finishBuild.countDown();
+        callers.shutdownNow();
+    }
+
+    private BuildRequest request(DependencyResolutionMode mode) {
+        return BuildRequest.builder().projectPath(projectDirectory.toString()).dependencyResolutionMode(mode).build();
+    }
+
+    private BuildResult blockingBuild(BuildProgressListener listener) {
+        builds.incrementAndGet();
+        listener.onPhaseStarted(BuildPhase.COMPILATION);
+        buildStarted.countDown();
+        try {
+            assertTrue(finishBuild.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return BuildResult.builder().success(true).projectPath(projectDirectory.toString()).build();
+    }
+
+    private Future<BuildResult> submit(BuildRequest request, BuildProgressListener listener,
+                                       Function<BuildProgressListener, BuildResult> build) {
+        return callers.submit(() -> buildCoalescingService.coalesce(request, listener, build));
+    }
+
+    @Nested
+    @DisplayName("coalesce(BuildRequest request, BuildProgressListener progressListener, Function build) Tests")
+    class Coalesce {
+
+        @Test
+        @DisplayName("Should run concurrent identical requests once and share the result")
+        void shouldShareConcurrentIdenticalBuilds() throws Exception {
+            Future<BuildResult> leader = submit(request(null), BuildProgressListener.NOOP, Coalesce.this::build);
+            assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+
+            List<BuildPhase> followerPhases = new CopyOnWriteArrayList<>();
+            CountDownLatch attached = new CountDownLatch(1);
+            Future<BuildResult> follower = submit(request(null), phase -> {
+                followerPhases.add(phase);
+                attached.countDown();
+            }, Coalesce.this::build);
+            // The phase already in progress is replayed to the follower once it has attached
+            assertTrue(attached.await(5, TimeUnit.SECONDS));
+            assertEquals(1, buildCoalescingService.getInFlightBuildCount());
+
+            finishBuild.countDown();
+
+            assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, builds.get());
+            assertEquals(List.of(BuildPhase.COMPILATION), followerPhases);
+            assertEquals(0, buildCoalescingService.getInFlightBuildCount());
+        }
+
+        @Test
+        @DisplayName("Should not share a build between different dependency resolution modes")
+        void shouldNotCoalesceDifferentModes() throws Exception {
+            Future<BuildResult> leader = submit(request(null), BuildProgressListener.NOOP, Coalesce.this::build);
+            assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+
+            BuildResult offline = buildCoalescingService.coalesce(request(DependencyResolutionMode.OFFLINE),
+                    BuildProgressListener.NOOP, listener -> {
+                        builds.incrementAndGet();
+                        return BuildResult.builder().success(true).build();
+                    });
+
+            assertTrue(offline.isSuccess());
+            assertFalse(leader.isDone());
+            assertEquals(2, builds.get());
+        }
+
+        @Test
+        @DisplayName("Should not share a build once the build file has changed")
+        void shouldNotCoalesceChangedBuildFiles() throws Exception {
+            Future<BuildResult> leader = submit(request(null), BuildProgressListener.NOOP, Coalesce.this::build);
+            assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+            Files.writeString(projectDirectory.resolve("pom.xml"), "<project><packaging>war</packaging></project>");
+
+            BuildResult changed = buildCoalescingService.coalesce(request(null), BuildProgressListener.NOOP,
+                    listener -> {
+                        builds.incrementAndGet();
+                        return BuildResult.builder().success(true).build();
+                    });
+
+            assertTrue(changed.isSuccess());
+            assertFalse(leader.isDone());
+            assertEquals(2, builds.get());
+        }
+
+        @Test
+        @DisplayName("Should propagate the leader's failure to every follower")
+        void shouldPropagateLeaderFailure() throws Exception {
+            IllegalStateException failure = new IllegalStateException("boom");
+            Future<BuildResult> leader = submit(request(null), BuildProgressListener.NOOP, listener -> {
+                blockingBuild(listener);
+                throw failure;
+            });
+            assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+            CountDownLatch attached = new CountDownLatch(1);
+            Future<BuildResult> follower = submit(request(null), phase -> attached.countDown(),
+                    Coalesce.this::build);
+            assertTrue(attached.await(5, TimeUnit.SECONDS));
+
+            finishBuild.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderError.getCause());
+            assertSame(failure, followerError.getCause().getCause());
+            assertEquals(1, builds.get());
+        }
+
+        private BuildResult build(BuildProgressListener listener) {
+            return blockingBuild(listener);
+        }
+    }
+}
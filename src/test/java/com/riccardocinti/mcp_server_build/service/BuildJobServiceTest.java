@@ -0,0 +1,170 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildCancelledException;
+import com.riccardocinti.mcp_server_build.exceptions.BuildJobNotFoundException;
+import com.riccardocinti.mcp_server_build.model.BuildJobStatus;
+import com.riccardocinti.mcp_server_build.model.BuildRequest;
+import com.riccardocinti.mcp_server_build.model.BuildResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.BuildStatus;
+import com.riccardocinti.mcp_server_build.model.enums.ErrorType;
+import com.riccardocinti.mcp_server_build.model.enums.JobStatus;
+import com.riccardocinti.mcp_server_build.service.impl.BuildCancellationServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.BuildJobServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.BuildResultServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildCancellationService;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildResultService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildJobServiceTest {
+
+    private static final String PROJECT_PATH = "/projects/app";
+
+    private final BuildResultService buildResultService = new BuildResultServiceImpl();
+
+    // Lets a test decide when the build finishes
+    private final CountDownLatch finishBuild = new CountDownLatch(1);
+    private final CountDownLatch compiling = new CountDownLatch(1);
+
+    private BuilderServerConfig config;
+    private BuildCancellationService buildCancellationService;
+    private BuildJobServiceImpl buildJobService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setMaxAwaitTime(5_000L);
+        config.setCancelAwaitTime(5_000L);
+        config.setJobTtl(60_000L);
+        buildCancellationService = new BuildCancellationServiceImpl(buildResultService, config);
+        buildJobService = new BuildJobServiceImpl(new FakeBuilderService(), buildResultService, config,
+                buildCancellationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        finishBuild.countDown();
+        buildJobService.shutdown();
+    }
+
+    // Registers like the real pipeline, reports a phase and blocks until released or cancelled
+    private final class FakeBuilderService extends BuilderService {
+
+        private FakeBuilderService() {
+            super(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public BuildResult buildProject(BuildRequest request, BuildProgressListener progressListener) {
+            try (BuildCancellationService.RunningBuild runningBuild = buildCancellationService.register(request.projectPath())) {
+                BuildResult result;
+                try {
+                    progressListener.onPhaseStarted(BuildPhase.COMPILATION);
+                    compiling.countDown();
+                    finishBuild.await();
+                    result = BuildResult.builder().success(true).status(BuildStatus.COMPLETED)
+                            .projectPath(request.projectPath()).build();
+                } catch (InterruptedException e) {
+                    result = buildResultService.createFailureResult(ErrorType.BUILD_CANCELLED,
+                            new BuildCancelledException("Build cancelled for project: " + request.projectPath()),
+                            request.projectPath());
+                }
+                runningBuild.complete(result);
+                return result;
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("startBuild(...), getBuildStatus(...) and awaitBuild(...) Tests")
+    class Lifecycle {
+
+        @Test
+        @DisplayName("Should report the running phase and the result once the build has finished")
+        void shouldTrackJobToCompletion() throws Exception {
+            BuildJobStatus started = buildJobService.startBuild(BuildRequest.of(PROJECT_PATH));
+            assertTrue(compiling.await(5, TimeUnit.SECONDS));
+
+            BuildJobStatus running = buildJobService.getBuildStatus(started.jobId());
+            assertEquals(JobStatus.RUNNING, running.status());
+            assertEquals(BuildPhase.COMPILATION, running.currentPhase());
+            assertNull(running.result());
+
+            BuildJobStatus pending = buildJobService.awaitBuild(started.jobId(), 50L);
+            assertFalse(pending.isFinished());
+
+            finishBuild.countDown();
+            BuildJobStatus finished = buildJobService.awaitBuild(started.jobId(), 5_000L);
+
+            assertEquals(JobStatus.COMPLETED, finished.status());
+            assertTrue(finished.result().isSuccess());
+            assertTrue(finished.phaseDurations().containsKey(BuildPhase.COMPILATION));
+        }
+
+        @Test
+        @DisplayName("Should return immediately for a negative wait and cap an oversized one")
+        void shouldClampWaitTime() throws Exception {
+            config.setMaxAwaitTime(200L);
+            BuildJobStatus started = buildJobService.startBuild(BuildRequest.of(PROJECT_PATH));
+            assertTrue(compiling.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            assertFalse(buildJobService.awaitBuild(started.jobId(), -1_000L).isFinished());
+            assertFalse(buildJobService.awaitBuild(started.jobId(), Long.MAX_VALUE).isFinished());
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000L);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown job ids")
+        void shouldRejectUnknownJobs() {
+            assertThrows(BuildJobNotFoundException.class, () -> buildJobService.getBuildStatus("missing"));
+            assertThrows(BuildJobNotFoundException.class, () -> buildJobService.awaitBuild("missing", 10L));
+            assertThrows(BuildJobNotFoundException.class, () -> buildJobService.cancelBuild("missing"));
+            assertThrows(BuildJobNotFoundException.class, () -> buildJobService.getBuildStatus(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("cancelBuild(String jobId) Tests")
+    class CancelBuild {
+
+        @Test
+        @DisplayName("Should cancel a running job and report it as cancelled")
+        void shouldCancelRunningJob() throws Exception {
+            BuildJobStatus started = buildJobService.startBuild(BuildRequest.of(PROJECT_PATH));
+            assertTrue(compiling.await(5, TimeUnit.SECONDS));
+
+            BuildResult result = buildJobService.cancelBuild(started.jobId());
+
+            assertEquals(ErrorType.BUILD_CANCELLED, result.getErrorType());
+            BuildJobStatus status = buildJobService.getBuildStatus(started.jobId());
+            assertEquals(JobStatus.CANCELLED, status.status());
+            assertEquals(BuildStatus.CANCELLED, status.result().getStatus());
+        }
+
+        @Test
+        @DisplayName("Should return the result of a job that has already finished")
+        void shouldReturnResultOfFinishedJob() throws Exception {
+            finishBuild.countDown();
+            BuildJobStatus started = buildJobService.startBuild(BuildRequest.of(PROJECT_PATH));
+            assertTrue(buildJobService.awaitBuild(started.jobId(), 5_000L).isFinished());
+
+            BuildResult result = buildJobService.cancelBuild(started.jobId());
+
+            assertTrue(result.isSuccess());
+            assertEquals(JobStatus.COMPLETED, buildJobService.getBuildStatus(started.jobId()).status());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuildQueueFullException;
+import com.riccardocinti.mcp_server_build.service.impl.BuildSchedulerServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildSchedulerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildSchedulerServiceTest {
+
+    private BuilderServerConfig config;
+    private BuildSchedulerService buildSchedulerService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setMaxConnections(1);
+        config.setMaxQueuedBuilds(3);
+        buildSchedulerService = new BuildSchedulerServiceImpl(config);
+    }
+
+    @Nested
+    @DisplayName("acquireSlot(String clientId) Tests")
+    class AcquireSlot {
+
+        @Test
+        @DisplayName("Should grant a slot immediately when capacity is available")
+        void shouldGrantSlotImmediately() throws Exception {
+            try (BuildSchedulerService.BuildSlot slot = buildSchedulerService.acquireSlot("agent-a")) {
+                assertEquals(0L, slot.queueWaitTime());
+                assertEquals(1, buildSchedulerService.getStatus().activeBuilds());
+            }
+            assertEquals(0, buildSchedulerService.getStatus().activeBuilds());
+        }
+
+        @Test
+        @DisplayName("Should reject builds when the queue bound is exceeded")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            config.setMaxQueuedBuilds(0);
+            try (BuildSchedulerService.BuildSlot ignored = buildSchedulerService.acquireSlot("agent-a")) {
+                assertThrows(BuildQueueFullException.class, () -> buildSchedulerService.acquireSlot("agent-b"));
+                assertEquals(1L, buildSchedulerService.getStatus().rejectedBuilds());
+            }
+        }
+
+        @Test
+        @DisplayName("Should alternate between clients when granting queued builds")
+        void shouldServeClientsRoundRobin() throws Exception {
+            List<String> grantOrder = new CopyOnWriteArrayList<>();
+            BuildSchedulerService.BuildSlot running = buildSchedulerService.acquireSlot("agent-a");
+
+            Thread a1 = startWaiter("agent-a", "a1", grantOrder);
+            awaitQueued(1);
+            Thread a2 = startWaiter("agent-a", "a2", grantOrder);
+            awaitQueued(2);
+            Thread b1 = startWaiter("agent-b", "b1", grantOrder);
+            awaitQueued(3);
+
+            running.close();
+            a1.join(5000);
+            a2.join(5000);
+            b1.join(5000);
+
+            assertEquals(List.of("a1", "b1", "a2"), grantOrder);
+            assertEquals(0, buildSchedulerService.getStatus().queuedBuilds());
+        }
+    }
+
+    private Thread startWaiter(String clientId, String label, List<String> grantOrder) {
+        return Thread.ofVirtual().start(() -> {
+            try (BuildSchedulerService.BuildSlot ignored = buildSchedulerService.acquireSlot(clientId)) {
+                grantOrder.add(label);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buildSchedulerService.getStatus().queuedBuilds() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, buildSchedulerService.getStatus().queuedBuilds());
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildDeadline;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.TimeoutPhase;
+import com.riccardocinti.mcp_server_build.service.impl.BuildTimeoutServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildTimeoutService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildTimeoutServiceTest {
+
+    private static final String PROJECT_PATH = "/projects/app";
+
+    private static final ExecutionPlan.Invocation COMPILE = invocation(EnumSet.of(TimeoutPhase.COMPILE));
+
+    private static final ExecutionPlan.Invocation FUSED = invocation(
+            EnumSet.of(TimeoutPhase.DEPENDENCIES, TimeoutPhase.COMPILE, TimeoutPhase.PACKAGE));
+
+    private BuilderServerConfig config;
+    private BuildTimeoutService buildTimeoutService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setTimeout(300_000L);
+        config.setDependenciesTimeout(60_000L);
+        config.setCompileTimeout(120_000L);
+        config.setBuildDeadline(0L);
+        config.setAdaptiveTimeoutSafetyFactor(2.0);
+        config.setAdaptiveTimeoutMinSamples(3);
+        config.setAdaptiveTimeoutMinimum(1_000L);
+        config.setAdaptiveTimeoutHistorySize(20);
+        buildTimeoutService = new BuildTimeoutServiceImpl(config);
+    }
+
+    private static ExecutionPlan.Invocation invocation(EnumSet<TimeoutPhase> timeoutPhases) {
+        return new ExecutionPlan.Invocation(List.of("package"), List.of(), EnumSet.of(BuildPhase.COMPILATION),
+                timeoutPhases);
+    }
+
+    @Nested
+    @DisplayName("invocationTimeout(BuildDeadline deadline, Invocation invocation) Tests")
+    class InvocationTimeout {
+
+        @Test
+        @DisplayName("Should sum the budgets of the phases an invocation runs, defaulting to the global timeout")
+        void shouldSumPhaseBudgets() throws Exception {
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.RUNTIME_SCOPE);
+
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(deadline, COMPILE));
+            assertEquals(60_000L + 120_000L + 300_000L, buildTimeoutService.invocationTimeout(deadline, FUSED));
+        }
+
+        @Test
+        @DisplayName("Should cap the invocation timeout by what is left of the build deadline")
+        void shouldCapByBuildDeadline() throws Exception {
+            config.setBuildDeadline(10_000L);
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.RUNTIME_SCOPE);
+
+            assertTrue(buildTimeoutService.invocationTimeout(deadline, FUSED) <= 10_000L);
+        }
+
+        @Test
+        @DisplayName("Should fail once the build deadline has passed")
+        void shouldFailAfterDeadline() {
+            BuildDeadline expired = new BuildDeadline(PROJECT_PATH, DependencyResolutionMode.RUNTIME_SCOPE, System.nanoTime() - 5_000_000_000L, 1_000L);
+
+            assertThrows(TimeoutException.class, () -> buildTimeoutService.invocationTimeout(expired, COMPILE));
+        }
+
+        @Test
+        @DisplayName("Should tighten the timeout to p95 times the safety factor once enough runs are recorded")
+        void shouldLearnFromHistory() throws Exception {
+            config.setAdaptiveTimeoutEnabled(true);
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.RUNTIME_SCOPE);
+
+            buildTimeoutService.recordInvocation(deadline, COMPILE, 4_000L);
+            buildTimeoutService.recordInvocation(deadline, COMPILE, 5_000L);
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(deadline, COMPILE));
+
+            buildTimeoutService.recordInvocation(deadline, COMPILE, 6_000L);
+            assertEquals(12_000L, buildTimeoutService.invocationTimeout(deadline, COMPILE));
+            // Other phase combinations and projects keep their configured budgets
+            assertEquals(480_000L, buildTimeoutService.invocationTimeout(deadline, FUSED));
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(
+                    buildTimeoutService.startBuild("/projects/other", DependencyResolutionMode.RUNTIME_SCOPE), COMPILE));
+        }
+
+        @Test
+        @DisplayName("Should never raise the timeout above the configured budget or below the minimum")
+        void shouldClampLearnedTimeout() throws Exception {
+            config.setAdaptiveTimeoutEnabled(true);
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.RUNTIME_SCOPE);
+
+            for (int i = 0; i < 3; i++) {
+                buildTimeoutService.recordInvocation(deadline, COMPILE, 100_000L);
+                buildTimeoutService.recordInvocation(deadline, FUSED, 10L);
+            }
+
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(deadline, COMPILE));
+            assertEquals(1_000L, buildTimeoutService.invocationTimeout(deadline, FUSED));
+        }
+
+        @Test
+        @DisplayName("Should keep separate histories per dependency resolution mode")
+        void shouldLearnPerResolutionMode() throws Exception {
+            config.setAdaptiveTimeoutEnabled(true);
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.SKIP);
+
+            for (int i = 0; i < 3; i++) {
+                buildTimeoutService.recordInvocation(deadline, COMPILE, 5_000L);
+            }
+
+            assertEquals(10_000L, buildTimeoutService.invocationTimeout(deadline, COMPILE));
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(
+                    buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.FULL_WITH_SOURCES), COMPILE));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the configured budgets after a timeout")
+        void shouldForgetHistoryAfterTimeout() throws Exception {
+            config.setAdaptiveTimeoutEnabled(true);
+            config.setBuildDeadline(600_000L);
+            BuildDeadline deadline = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.SKIP);
+
+            for (int i = 0; i < 3; i++) {
+                buildTimeoutService.recordInvocation(deadline, COMPILE, 5_000L);
+                buildTimeoutService.recordBuild(new BuildDeadline(PROJECT_PATH, DependencyResolutionMode.SKIP,
+                        System.nanoTime() - 5_000_000_000L, 600_000L));
+            }
+            assertEquals(10_000L, buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.SKIP).budgetMillis());
+
+            buildTimeoutService.recordTimeout(deadline, COMPILE);
+
+            BuildDeadline next = buildTimeoutService.startBuild(PROJECT_PATH, DependencyResolutionMode.SKIP);
+            assertEquals(600_000L, next.budgetMillis());
+            assertEquals(120_000L, buildTimeoutService.invocationTimeout(next, COMPILE));
+        }
+    }
+}
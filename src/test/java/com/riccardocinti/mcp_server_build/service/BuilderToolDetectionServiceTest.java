@@ -1,18 +1,25 @@
 package com.riccardocinti.mcp_server_build.service;
 
 import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ModuleInfo;
 import com.riccardocinti.mcp_server_build.model.ProjectInfo;
 import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
 import com.riccardocinti.mcp_server_build.service.impl.BuilderToolDetectionServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.PomModelServiceImpl;
 import com.riccardocinti.mcp_server_build.service.interfaces.BuilderToolDetectionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.AssertionsKt.assertNotNull;
 
 public class BuilderToolDetectionServiceTest {
@@ -22,7 +29,7 @@ public class BuilderToolDetectionServiceTest {
     private static final String PROJECT_VERSION_TEST = "1.0.0";
     private static final String BUILD_FILE_PATH_TEST = getTestPath("maven-project/pom.xml");
 
-    private final BuilderToolDetectionService builderToolDetectionService = new BuilderToolDetectionServiceImpl();
+    private final BuilderToolDetectionService builderToolDetectionService = new BuilderToolDetectionServiceImpl(new PomModelServiceImpl());
 
     @Nested
     @DisplayName("detectAndAnalyzeBuildTool(ProjectInfo projectInfo) Tests")
@@ -41,6 +48,140 @@ public class BuilderToolDetectionServiceTest {
 
     }
 
+    @Nested
+    @DisplayName("Source scanning Tests")
+    class SourceScanning {
+
+        @TempDir
+        Path projectRoot;
+
+        @BeforeEach
+        void setUp() throws Exception {
+            Files.writeString(projectRoot.resolve("pom.xml"), "<project><artifactId>demo</artifactId></project>");
+        }
+
+        private BuilderConfiguration analyze() {
+            return builderToolDetectionService.detectAndAnalyzeBuildTool(new ProjectInfo(
+                    projectRoot.toString(), "demo", PROJECT_VERSION_TEST, BuildTool.MAVEN,
+                    projectRoot.resolve("pom.xml").toString(), List.of()));
+        }
+
+        private void write(String relativePath, String content) throws Exception {
+            Path file = projectRoot.resolve(relativePath);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content);
+        }
+
+        @Test
+        @DisplayName("Should detect the Spring Boot application class and port from main sources")
+        void shouldDetectApplicationClassAndPort() throws Exception {
+            write("src/main/java/com/acme/demo/DemoApplication.java", """
+                    package com.acme.demo;
+
+                    import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+                    @SpringBootApplication
+                    public class DemoApplication {
+                    }
+                    """);
+            write("src/main/resources/application.yml", "server.port: 9090\n");
+            write("target/generated-sources/com/other/OtherApplication.java",
+                    "package com.other;\n@SpringBootApplication\nclass OtherApplication {}\n");
+
+            BuilderConfiguration result = analyze();
+
+            assertEquals("com.acme.demo.DemoApplication", result.mainClass());
+            assertEquals("9090", result.port());
+        }
+
+        @Test
+        @DisplayName("Should ignore Spring Boot annotations inside comments")
+        void shouldIgnoreCommentedAnnotations() throws Exception {
+            write("src/main/java/com/acme/demo/Tool.java", """
+                    package com.acme.demo;
+
+                    /*
+                     * Not a @SpringBootApplication
+                     */
+                    // @SpringBootApplication
+                    public class Tool {
+                    }
+                    """);
+
+            BuilderConfiguration result = analyze();
+
+            assertNull(result.mainClass());
+            assertEquals("3000", result.port());
+        }
+
+        @Test
+        @DisplayName("Should find the application class in a package named like an output directory")
+        void shouldScanPackagesNamedLikeOutputs() throws Exception {
+            write("src/main/java/com/acme/build/BuildApplication.java",
+                    "package com.acme.build;\n@SpringBootApplication\npublic class BuildApplication {}\n");
+            write("target/classes/com/acme/Stale.java",
+                    "package com.acme;\n@SpringBootApplication\npublic class Stale {}\n");
+
+            BuilderConfiguration result = analyze();
+
+            assertEquals("8080", result.port());
+            assertEquals("com.acme.build.BuildApplication", result.mainClass());
+        }
+
+        @Test
+        @DisplayName("Should place the guessed main class in the project's base package")
+        void shouldGuessMainClassInBasePackage() throws Exception {
+            Files.writeString(projectRoot.resolve("pom.xml"),
+                    "<project><artifactId>demo</artifactId><dependencies><dependency>"
+                            + "<artifactId>spring-boot-starter-web</artifactId></dependency></dependencies></project>");
+            write("src/main/java/com/acme/demo/api/Controller.java", "package com.acme.demo.api;\nclass Controller {}\n");
+            write("src/main/java/com/acme/demo/core/Service.java", "package com.acme.demo.core;\nclass Service {}\n");
+
+            BuilderConfiguration result = analyze();
+
+            assertEquals("com.acme.demo.DemoApplication", result.mainClass());
+            assertEquals("8080", result.port());
+        }
+
+        @Test
+        @DisplayName("Should resolve reactor modules and their inter-module dependencies")
+        void shouldResolveReactorModules() throws Exception {
+            Files.writeString(projectRoot.resolve("pom.xml"), """
+                    <project>
+                        <groupId>com.acme</groupId>
+                        <artifactId>demo</artifactId>
+                        <version>1.0</version>
+                        <packaging>pom</packaging>
+                        <modules><module>core</module><module>web</module></modules>
+                    </project>
+                    """);
+            write("core/pom.xml", """
+                    <project>
+                        <parent><groupId>com.acme</groupId><artifactId>demo</artifactId><version>1.0</version></parent>
+                        <artifactId>core</artifactId>
+                    </project>
+                    """);
+            write("web/pom.xml", """
+                    <project>
+                        <parent><groupId>com.acme</groupId><artifactId>demo</artifactId><version>1.0</version></parent>
+                        <artifactId>web</artifactId>
+                        <dependencies>
+                            <dependency><groupId>com.acme</groupId><artifactId>core</artifactId></dependency>
+                            <dependency><groupId>org.slf4j</groupId><artifactId>slf4j-api</artifactId></dependency>
+                        </dependencies>
+                    </project>
+                    """);
+
+            BuilderConfiguration result = analyze();
+
+            assertEquals(List.of(
+                    new ModuleInfo("demo", projectRoot.toString(), List.of()),
+                    new ModuleInfo("core", projectRoot.resolve("core").toString(), List.of("demo")),
+                    new ModuleInfo("web", projectRoot.resolve("web").toString(), List.of("demo", "core"))),
+                    result.modules());
+        }
+    }
+
     private ProjectInfo buildProjectInfo(BuildTool buildTool) {
         return new ProjectInfo(
                 PROJECT_PATH_TEST,
@@ -0,0 +1,233 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.BuilderToolDetectionException;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.ModuleInfo;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.TimeoutPhase;
+import com.riccardocinti.mcp_server_build.service.impl.ExecutionPlanningServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.ExecutionPlanningService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionPlanningServiceTest {
+
+    private BuilderServerConfig config;
+    private ExecutionPlanningService executionPlanningService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setFuseInvocations(true);
+        config.setDependencyResolutionMode(DependencyResolutionMode.FULL_WITH_SOURCES);
+        executionPlanningService = new ExecutionPlanningServiceImpl(config);
+    }
+
+    private BuilderConfiguration mavenConfiguration(String... commands) {
+        return BuilderConfiguration.builder()
+                .buildTool(BuildTool.MAVEN)
+                .projectPath("/tmp/project")
+                .buildCommands(List.of(commands))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("planExecution(BuilderConfiguration, DependencyResolutionMode) Tests")
+    class PlanExecution {
+
+        @Test
+        @DisplayName("Should fuse dependency resolution and build commands into one Maven invocation")
+        void shouldFuseIntoSingleInvocation() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn package -DskipTests"), null);
+
+            assertEquals(1, plan.getInvocationCount());
+            assertTrue(plan.fusesDependencyResolution());
+            assertTrue(plan.dependencyInvocation().isEmpty());
+
+            ExecutionPlan.Invocation invocation = plan.compilationInvocations().getFirst();
+            assertEquals(List.of("dependency:resolve", "dependency:resolve-sources", "clean", "package"),
+                    invocation.goals());
+            assertEquals(List.of("-DskipTests"), invocation.options());
+            assertTrue(invocation.covers(BuildPhase.DEPENDENCY_RESOLUTION));
+            assertTrue(invocation.covers(BuildPhase.COMPILATION));
+        }
+
+        @Test
+        @DisplayName("Should assign each invocation the timeout phases it runs")
+        void shouldAssignTimeoutPhases() throws Exception {
+            ExecutionPlan fused = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn package"), null);
+            assertEquals(EnumSet.allOf(TimeoutPhase.class), fused.invocations().getFirst().timeoutPhases());
+
+            config.setFuseInvocations(false);
+            ExecutionPlan separate = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn spring-boot:build-image"), null);
+            assertEquals(List.of(EnumSet.of(TimeoutPhase.DEPENDENCIES), EnumSet.of(TimeoutPhase.COMPILE),
+                            EnumSet.of(TimeoutPhase.PACKAGE)),
+                    separate.invocations().stream().map(ExecutionPlan.Invocation::timeoutPhases).toList());
+        }
+
+        @Test
+        @DisplayName("Should keep plugin goals that are not lifecycle phases")
+        void shouldKeepPluginGoals() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn spring-boot:build-image"), null);
+
+            assertEquals(List.of("dependency:resolve", "dependency:resolve-sources", "clean", "compile",
+                    "spring-boot:build-image"), plan.compilationInvocations().getFirst().goals());
+        }
+
+        @Test
+        @DisplayName("Should plan one invocation per command when fusion is disabled")
+        void shouldPlanSeparateInvocationsWhenFusionDisabled() throws Exception {
+            config.setFuseInvocations(false);
+
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn package"), null);
+
+            assertEquals(3, plan.getInvocationCount());
+            assertFalse(plan.fusesDependencyResolution());
+            assertTrue(plan.dependencyInvocation().isPresent());
+            assertEquals(2, plan.compilationInvocations().size());
+        }
+    
+        @Test
+        @DisplayName("Should use the server default resolution mode when none is requested")
+        void shouldUseServerDefaultMode() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(mavenConfiguration("mvn package"), null);
+
+            assertEquals(DependencyResolutionMode.FULL_WITH_SOURCES, plan.dependencyResolutionMode());
+        }
+
+        @Test
+        @DisplayName("Should not plan any dependency goals when resolution is skipped")
+        void shouldSkipDependencyGoals() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn package"), DependencyResolutionMode.SKIP);
+
+            ExecutionPlan.Invocation invocation = plan.compilationInvocations().getFirst();
+            assertEquals(List.of("package"), invocation.goals());
+            assertFalse(invocation.covers(BuildPhase.DEPENDENCY_RESOLUTION));
+            assertFalse(plan.fusesDependencyResolution());
+        }
+
+        @Test
+        @DisplayName("Should resolve dependencies and their sources in full mode")
+        void shouldResolveSourcesInFullMode() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn package"), DependencyResolutionMode.FULL_WITH_SOURCES);
+
+            ExecutionPlan.Invocation invocation = plan.compilationInvocations().getFirst();
+            assertEquals(List.of("dependency:resolve", "dependency:resolve-sources", "package"), invocation.goals());
+            assertTrue(invocation.options().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should resolve runtime scope without sources")
+        void shouldResolveRuntimeScopeWithoutSources() throws Exception {
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn package"), DependencyResolutionMode.RUNTIME_SCOPE);
+
+            ExecutionPlan.Invocation invocation = plan.compilationInvocations().getFirst();
+            assertEquals(List.of("dependency:resolve", "package"), invocation.goals());
+            assertEquals(List.of("-DincludeScope=runtime"), invocation.options());
+        }
+
+        @Test
+        @DisplayName("Should run every invocation offline in offline mode")
+        void shouldRunEveryInvocationOffline() throws Exception {
+            config.setFuseInvocations(false);
+
+            ExecutionPlan plan = executionPlanningService.planExecution(
+                    mavenConfiguration("mvn clean compile", "mvn package"), DependencyResolutionMode.OFFLINE);
+
+            assertTrue(plan.invocations().stream()
+                    .allMatch(invocation -> invocation.options().contains("--offline")));
+        }
+
+        @Test
+        @DisplayName("Should build independent reactor modules in parallel")
+        void shouldBuildIndependentModulesInParallel() throws Exception {
+            config.setReactorThreads(8);
+            BuilderConfiguration configuration = BuilderConfiguration.builder()
+                    .buildTool(BuildTool.MAVEN)
+                    .projectPath("/tmp/project")
+                    .buildCommands(List.of("mvn package"))
+                    .modules(List.of(
+                            new ModuleInfo("parent", "/tmp/project", List.of()),
+                            new ModuleInfo("api", "/tmp/project/api", List.of("parent")),
+                            new ModuleInfo("core", "/tmp/project/core", List.of("parent")),
+                            new ModuleInfo("web", "/tmp/project/web", List.of("parent")),
+                            new ModuleInfo("app", "/tmp/project/app", List.of("api", "core", "web"))))
+                    .build();
+
+            ExecutionPlan plan = executionPlanningService.planExecution(configuration, DependencyResolutionMode.SKIP);
+
+            assertEquals(List.of("-T3"), plan.compilationInvocations().getFirst().options());
+        }
+
+        @Test
+        @DisplayName("Should have a parallel fused invocation name the thread of every line")
+        void shouldNameThreadsOfParallelFusedInvocation() throws Exception {
+            config.setReactorThreads(8);
+            BuilderConfiguration configuration = BuilderConfiguration.builder()
+                    .buildTool(BuildTool.MAVEN)
+                    .projectPath("/tmp/project")
+                    .buildCommands(List.of("mvn package"))
+                    .modules(List.of(
+                            new ModuleInfo("parent", "/tmp/project", List.of()),
+                            new ModuleInfo("api", "/tmp/project/api", List.of("parent")),
+                            new ModuleInfo("core", "/tmp/project/core", List.of("parent"))))
+                    .build();
+
+            ExecutionPlan plan = executionPlanningService.planExecution(configuration, DependencyResolutionMode.OFFLINE);
+
+            assertEquals(List.of("--offline", "-T2", "-Dorg.slf4j.simpleLogger.showThreadName=true"),
+                    plan.compilationInvocations().getFirst().options());
+        }
+
+        @Test
+        @DisplayName("Should not add reactor threads when modules form a chain")
+        void shouldNotAddThreadsForModuleChain() throws Exception {
+            BuilderConfiguration configuration = BuilderConfiguration.builder()
+                    .buildTool(BuildTool.MAVEN)
+                    .projectPath("/tmp/project")
+                    .buildCommands(List.of("mvn package"))
+                    .modules(List.of(
+                            new ModuleInfo("parent", "/tmp/project", List.of()),
+                            new ModuleInfo("core", "/tmp/project/core", List.of("parent")),
+                            new ModuleInfo("app", "/tmp/project/app", List.of("core"))))
+                    .build();
+
+            ExecutionPlan plan = executionPlanningService.planExecution(configuration, DependencyResolutionMode.SKIP);
+
+            assertEquals(List.of(), plan.compilationInvocations().getFirst().options());
+        }
+
+        @Test
+        @DisplayName("Should reject a Gradle project with a descriptive detection error")
+        void shouldRejectGradleProject() {
+            BuilderConfiguration configuration = BuilderConfiguration.builder()
+                    .buildTool(BuildTool.GRADLE)
+                    .projectPath("/tmp/project")
+                    .buildCommands(List.of("gradle build"))
+                    .build();
+
+            BuilderToolDetectionException exception = assertThrows(BuilderToolDetectionException.class,
+                    () -> executionPlanningService.planExecution(configuration, DependencyResolutionMode.SKIP));
+            assertEquals("Gradle builds are not supported yet: /tmp/project", exception.getMessage());
+        }
+    }
+}
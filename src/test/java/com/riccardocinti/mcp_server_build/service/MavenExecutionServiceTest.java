@@ -0,0 +1,127 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.BuildEnvironment;
+import com.riccardocinti.mcp_server_build.model.ExecutionPlan;
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.model.enums.MavenExecutionBackend;
+import com.riccardocinti.mcp_server_build.service.impl.BuildTimeoutServiceImpl;
+import com.riccardocinti.mcp_server_build.service.impl.MavenExecutionServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildTimeoutService;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProcessExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisabledOnOs(OS.WINDOWS)
+public class MavenExecutionServiceTest {
+
+    private static final ExecutionPlan.Invocation PACKAGE = new ExecutionPlan.Invocation(List.of("package"),
+            List.of("--batch-mode"), EnumSet.of(BuildPhase.COMPILATION), Set.of());
+
+    @TempDir
+    Path tempDirectory;
+
+    @TempDir
+    Path mavenHome;
+
+    private final List<List<String>> executed = new CopyOnWriteArrayList<>();
+
+    private final ProcessExecutor processExecutor = (command, workingDirectory, environment, timeoutMs, lineObserver) -> {
+        executed.add(command);
+        return new ProcessResult(0, Instant.now(), Instant.now(), 0L, 0L);
+    };
+
+    private BuilderServerConfig config;
+    private BuildTimeoutService buildTimeoutService;
+    private MavenExecutionServiceImpl mavenExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BuilderServerConfig();
+        config.setTimeout(60_000L);
+        config.setMavenBackend(MavenExecutionBackend.DAEMON);
+        config.setDaemonMaxBuilds(10);
+        buildTimeoutService = new BuildTimeoutServiceImpl(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mavenExecutionService != null) {
+            mavenExecutionService.shutdown();
+        }
+    }
+
+    private List<String> execute(Map<String, String> environment) throws Exception {
+        mavenExecutionService = new MavenExecutionServiceImpl(config, processExecutor, buildTimeoutService);
+        BuildEnvironment buildEnv = BuildEnvironment.builder()
+                .environmentVariables(environment)
+                .workingDirectory(tempDirectory.toString())
+                .buildToolHome(mavenHome.toString())
+                .tempDirectory(tempDirectory.toString())
+                .build();
+        mavenExecutionService.execute(PACKAGE, buildEnv, buildTimeoutService.startBuild(tempDirectory.toString(), DependencyResolutionMode.SKIP),
+                line -> {
+                });
+        return executed.getLast();
+    }
+
+    @Nested
+    @DisplayName("execute(Invocation invocation, BuildEnvironment buildEnv, BuildDeadline deadline, Consumer<String> lineObserver) Tests")
+    class Execute {
+
+        @Test
+        @DisplayName("Should fall back to forked Maven when the daemon backend is selected but mvnd is missing")
+        void shouldFallBackToForkWithoutMvnd() throws Exception {
+            config.setMvndHome(tempDirectory.resolve("no-mvnd").toString());
+
+            List<String> command = execute(Map.of("PATH", tempDirectory.toString()));
+
+            assertEquals(mavenHome.resolve("bin/mvn").toString(), command.getFirst());
+            assertTrue(command.contains("package"));
+            assertTrue(command.stream().noneMatch(argument -> argument.startsWith("-Dmvnd.")));
+        }
+
+        @Test
+        @DisplayName("Should run on a daemon generation when mvnd is found on the PATH")
+        void shouldUseMvndFromPath() throws Exception {
+            Path mvnd = Files.createFile(Files.createDirectories(tempDirectory.resolve("bin")).resolve("mvnd"));
+            assertTrue(mvnd.toFile().setExecutable(true));
+
+            List<String> command = execute(Map.of("PATH", mvnd.getParent().toString()));
+
+            assertEquals(mvnd.toString(), command.getFirst());
+            assertTrue(command.stream().anyMatch(argument -> argument.startsWith("-Dmvnd.daemonStorage="
+                    + tempDirectory.resolve("mvnd"))));
+        }
+
+        @Test
+        @DisplayName("Should fall back to forked Maven when the embedded backend is selected but MAVEN_HOME is no distribution")
+        void shouldFallBackToForkWithoutMavenDistribution() throws Exception {
+            config.setMavenBackend(MavenExecutionBackend.EMBEDDED);
+
+            List<String> command = execute(Map.of("PATH", tempDirectory.toString()));
+
+            assertEquals(mavenHome.resolve("bin/mvn").toString(), command.getFirst());
+            assertTrue(command.contains("package"));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.exceptions.PomParsingException;
+import com.riccardocinti.mcp_server_build.model.PomModel;
+import com.riccardocinti.mcp_server_build.service.impl.PomModelServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.PomModelService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PomModelServiceTest {
+
+    private static final String POM = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+                <modelVersion>4.0.0</modelVersion>
+                <parent>
+                    <groupId>org.springframework.boot</groupId>
+                    <artifactId>spring-boot-starter-parent</artifactId>
+                    <version>3.5.5</version>
+                </parent>
+                <artifactId>demo</artifactId>
+                <version>${revision}</version>
+                <packaging>pom</packaging>
+
+                <properties>
+                    <revision>1.2.0</revision>
+                    <java.version>21</java.version>
+                    <maven.compiler.release>${java.version}</maven.compiler.release>
+                    <cycle.a>${cycle.b}</cycle.a>
+                    <cycle.b>${cycle.a}</cycle.b>
+                </properties>
+
+                <modules>
+                    <module>core</module>
+                    <module>web</module>
+                </modules>
+
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency>
+                            <groupId>com.acme</groupId>
+                            <artifactId>managed</artifactId>
+                            <version>9.9</version>
+                        </dependency>
+                    </dependencies>
+                </dependencyManagement>
+
+                <dependencies>
+                    <dependency>
+                        <groupId>com.acme</groupId>
+                        <artifactId>demo-core</artifactId>
+                        <version>${project.version}</version>
+                        <scope>test</scope>
+                    </dependency>
+                </dependencies>
+
+                <build>
+                    <plugins>
+                        <plugin>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-maven-plugin</artifactId>
+                        </plugin>
+                    </plugins>
+                </build>
+
+                <profiles>
+                    <profile>
+                        <id>other</id>
+                        <properties>
+                            <java.version>17</java.version>
+                        </properties>
+                    </profile>
+                </profiles>
+            </project>
+            """;
+
+    @TempDir
+    Path tempDirectory;
+
+    private final PomModelService pomModelService = new PomModelServiceImpl();
+
+    private Path writePom(String content) throws Exception {
+        return Files.writeString(tempDirectory.resolve("pom.xml"), content);
+    }
+
+    @Nested
+    @DisplayName("readPom(Path pomFile) Tests")
+    class ReadPom {
+
+        @Test
+        @DisplayName("Should read the project's own coordinates and inherit groupId from the parent")
+        void shouldReadCoordinates() throws Exception {
+            PomModel model = pomModelService.readPom(writePom(POM));
+
+            assertEquals(new PomModel.Coordinates("org.springframework.boot", "demo", "1.2.0"), model.coordinates());
+            assertEquals("spring-boot-starter-parent", model.parent().artifactId());
+            assertEquals("pom", model.packaging());
+            assertEquals(List.of("core", "web"), model.modules());
+        }
+
+        @Test
+        @DisplayName("Should interpolate properties and ignore those declared in profiles")
+        void shouldInterpolateProperties() throws Exception {
+            PomModel model = pomModelService.readPom(writePom(POM));
+
+            assertEquals("21", model.property("java.version"));
+            assertEquals("21", model.property("maven.compiler.release"));
+            assertTrue(model.property("cycle.a").startsWith("${cycle."));
+        }
+
+        @Test
+        @DisplayName("Should collect direct dependencies and build plugins only")
+        void shouldCollectDependenciesAndPlugins() throws Exception {
+            PomModel model = pomModelService.readPom(writePom(POM));
+
+            assertEquals(List.of(new PomModel.Dependency("com.acme", "demo-core", "1.2.0", "test")),
+                    model.dependencies());
+            assertTrue(model.hasPlugin("spring-boot-maven-plugin"));
+            assertTrue(model.hasDependency("spring-boot-starter"));
+        }
+
+        @Test
+        @DisplayName("Should reuse the parsed model while the file content is unchanged")
+        void shouldReuseModelForUnchangedContent() throws Exception {
+            Path pom = writePom(POM);
+
+            PomModel first = pomModelService.readPom(pom);
+            assertSame(first, pomModelService.readPom(pom));
+
+            writePom(POM.replace("<revision>1.2.0</revision>", "<revision>1.3.0</revision>"));
+            assertEquals("1.3.0", pomModelService.readPom(pom).version());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed POMs")
+        void shouldRejectMalformedPom() throws Exception {
+            Path pom = writePom("<project><artifactId>broken</project>");
+
+            assertThrows(PomParsingException.class, () -> pomModelService.readPom(pom));
+        }
+    }
+}
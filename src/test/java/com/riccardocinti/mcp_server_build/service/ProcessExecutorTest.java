@@ -0,0 +1,135 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.service.impl.ProcessExecutorImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisabledOnOs(OS.WINDOWS)
+public class ProcessExecutorTest {
+
+    @TempDir
+    Path workingDirectory;
+
+    @TempDir
+    Path tempDirectory;
+
+    private ProcessExecutorImpl processExecutor;
+
+    @BeforeEach
+    void setUp() {
+        BuilderServerConfig config = new BuilderServerConfig();
+        config.setTempDirectory(tempDirectory.toString());
+        config.setProcessKillGracePeriod(1_000L);
+        config.setProcessRegistryRefreshInterval(100L);
+        processExecutor = new ProcessExecutorImpl(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processExecutor.shutdown();
+    }
+
+    private List<String> shell(String script) {
+        return List.of("sh", "-c", script);
+    }
+
+    @Nested
+    @DisplayName("execute(List<String> command, Path workingDirectory, Map<String, String> environment, long timeoutMs, Consumer<String> lineObserver) Tests")
+    class Execute {
+
+        @Test
+        @DisplayName("Should stream merged output line by line and report its statistics")
+        void shouldCollectOutputAndStatistics() throws Exception {
+            List<String> observed = new CopyOnWriteArrayList<>();
+
+            ProcessResult result = processExecutor.execute(shell("echo one; echo two >&2; pwd; echo $GREETING; exit 3"),
+                    workingDirectory, Map.of("GREETING", "hello"), 10_000L, observed::add);
+
+            assertEquals(3, result.exitCode());
+            assertEquals(List.of("one", "two", workingDirectory.toRealPath().toString(), "hello"), observed);
+            assertEquals(4, result.outputLines());
+            assertEquals(String.join("\n", observed).length() + 1, result.outputChars());
+            assertNotNull(result.startTime());
+            assertFalse(result.endTime().isBefore(result.startTime()));
+        }
+
+        @Test
+        @DisplayName("Should terminate the process and fail when the timeout elapses")
+        void shouldTerminateOnTimeout() {
+            long start = System.nanoTime();
+
+            assertThrows(TimeoutException.class, () -> processExecutor.execute(shell("exec sleep 30"),
+                    workingDirectory, Map.of(), 200L, line -> {
+                    }));
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
+        }
+
+        @Test
+        @DisplayName("Should terminate the descendants of the process when the timeout elapses")
+        void shouldTerminateProcessTreeOnTimeout() throws Exception {
+            Path marker = workingDirectory.resolve("marker");
+
+            assertThrows(TimeoutException.class, () -> processExecutor.execute(shell("(sleep 1; touch marker) & wait"),
+                    workingDirectory, Map.of(), 200L, line -> {
+                    }));
+            Thread.sleep(1_500);
+
+            assertFalse(Files.exists(marker));
+        }
+
+        @Test
+        @DisplayName("Should terminate recorded descendants that were re-parented after their parent exited")
+        void shouldTerminateReparentedDescendantsOnTimeout() throws Exception {
+            Path marker = workingDirectory.resolve("marker");
+
+            // The intermediate shell exits after a second, leaving the subshell detached from the launcher
+            assertThrows(TimeoutException.class, () -> processExecutor.execute(
+                    shell("sh -c '(sleep 3; touch marker) & sleep 1' >/dev/null 2>&1 & exec sleep 30"),
+                    workingDirectory, Map.of(), 1_500L, line -> {
+                    }));
+            Thread.sleep(2_500);
+
+            assertFalse(Files.exists(marker));
+        }
+
+        @Test
+        @DisplayName("Should cancel the invocation when the calling thread is interrupted")
+        void shouldCancelOnInterrupt() throws Exception {
+            ExecutorService caller = Executors.newSingleThreadExecutor();
+            try {
+                Future<ProcessResult> invocation = caller.submit(() -> processExecutor.execute(shell("exec sleep 30"),
+                        workingDirectory, Map.of(), 60_000L, line -> {
+                        }));
+                Thread.sleep(200);
+
+                invocation.cancel(true);
+
+                caller.shutdown();
+                assertTrue(caller.awaitTermination(5, TimeUnit.SECONDS));
+            } finally {
+                caller.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.exceptions.ProjectDiscoveryException;
+import com.riccardocinti.mcp_server_build.model.BuilderConfiguration;
+import com.riccardocinti.mcp_server_build.model.ProjectAnalysis;
+import com.riccardocinti.mcp_server_build.model.ProjectInfo;
+import com.riccardocinti.mcp_server_build.model.enums.BuildTool;
+import com.riccardocinti.mcp_server_build.service.impl.ProjectAnalysisCacheServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProjectAnalysisCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectAnalysisCacheServiceTest {
+
+    private static final long WATCH_DEADLINE_MS = 10_000L;
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path projectRoot;
+    private BuilderServerConfig config;
+    private ProjectAnalysisCacheServiceImpl cacheService;
+    private final AtomicInteger analyses = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projectRoot = Files.createDirectories(tempDirectory.resolve("project"));
+        Files.writeString(projectRoot.resolve("pom.xml"), "<project/>");
+        Files.createDirectories(projectRoot.resolve("src/main/java"));
+        Files.writeString(projectRoot.resolve("src/main/java/App.java"), "class App {}");
+
+        config = new BuilderServerConfig();
+        config.setAnalysisCacheEnabled(true);
+        config.setAnalysisCacheMaxEntries(10);
+        cacheService = new ProjectAnalysisCacheServiceImpl(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheService.shutdown();
+    }
+
+    private ProjectAnalysis analyze(Path root) throws Exception {
+        return cacheService.getOrAnalyze(root.toString(), () -> {
+            analyses.incrementAndGet();
+            ProjectInfo projectInfo = ProjectInfo.builder()
+                    .projectPath(root.toString())
+                    .projectName("app")
+                    .buildTool(BuildTool.MAVEN)
+                    .buildFilePath(root.resolve("pom.xml").toString())
+                    .build();
+            BuilderConfiguration builderConfiguration = BuilderConfiguration.builder()
+                    .buildTool(BuildTool.MAVEN)
+                    .projectPath(root.toString())
+                    .build();
+            return new ProjectAnalysis(projectInfo, builderConfiguration);
+        });
+    }
+
+    private boolean reanalyzedWithin(long timeoutMs) throws Exception {
+        int before = analyses.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            analyze(projectRoot);
+            if (analyses.get() > before) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    @Nested
+    @DisplayName("getOrAnalyze(String projectPath, Analyzer analyzer) Tests")
+    class GetOrAnalyze {
+
+        @Test
+        @DisplayName("Should reuse the analysis while the project is unchanged")
+        void shouldReuseAnalysisWhileUnchanged() throws Exception {
+            ProjectAnalysis first = analyze(projectRoot);
+            ProjectAnalysis second = analyze(projectRoot);
+
+            assertSame(first, second);
+            assertEquals(1, analyses.get());
+            assertEquals(1, cacheService.size());
+        }
+
+        @Test
+        @DisplayName("Should re-analyze immediately when the build file changes")
+        void shouldReanalyzeWhenBuildFileChanges() throws Exception {
+            analyze(projectRoot);
+            Files.writeString(projectRoot.resolve("pom.xml"), "<project><artifactId>changed</artifactId></project>");
+
+            analyze(projectRoot);
+
+            assertEquals(2, analyses.get());
+        }
+
+        @Test
+        @DisplayName("Should re-analyze once a source file is added")
+        void shouldReanalyzeWhenSourceFileIsAdded() throws Exception {
+            analyze(projectRoot);
+            Files.writeString(projectRoot.resolve("src/main/java/Main.java"), "class Main {}");
+
+            assertTrue(reanalyzedWithin(WATCH_DEADLINE_MS));
+        }
+
+        @Test
+        @DisplayName("Should ignore changes to build output directories")
+        void shouldIgnoreBuildOutputChanges() throws Exception {
+            analyze(projectRoot);
+            Files.createDirectories(projectRoot.resolve("target/classes"));
+            Files.writeString(projectRoot.resolve("target/classes/App.class"), "bytecode");
+
+            assertFalse(reanalyzedWithin(500));
+        }
+
+        @Test
+        @DisplayName("Should re-analyze when a source in a package named like an output directory changes")
+        void shouldWatchSourcePackagesNamedLikeOutputs() throws Exception {
+            Path source = Files.createDirectories(projectRoot.resolve("src/main/java/com/acme/build")).resolve("Task.java");
+            Files.writeString(source, "class Task {}");
+            analyze(projectRoot);
+            Files.writeString(source, "class Task { int x; }");
+
+            assertTrue(reanalyzedWithin(WATCH_DEADLINE_MS));
+        }
+
+        @Test
+        @DisplayName("Should not cache failed analyses")
+        void shouldNotCacheFailures() {
+            ProjectAnalysisCacheService.Analyzer failing = () -> {
+                analyses.incrementAndGet();
+                throw new ProjectDiscoveryException("No supported build tool detected");
+            };
+
+            assertThrows(ProjectDiscoveryException.class,
+                    () -> cacheService.getOrAnalyze(projectRoot.toString(), failing));
+            assertThrows(ProjectDiscoveryException.class,
+                    () -> cacheService.getOrAnalyze(projectRoot.toString(), failing));
+            assertEquals(2, analyses.get());
+            assertEquals(0, cacheService.size());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used project beyond the configured size")
+        void shouldEvictLeastRecentlyUsedProject() throws Exception {
+            config.setAnalysisCacheMaxEntries(1);
+            Path otherRoot = Files.createDirectories(tempDirectory.resolve("other"));
+            Files.writeString(otherRoot.resolve("pom.xml"), "<project/>");
+
+            analyze(projectRoot);
+            analyze(otherRoot);
+            analyze(projectRoot);
+
+            assertEquals(3, analyses.get());
+            assertEquals(1, cacheService.size());
+        }
+
+        @Test
+        @DisplayName("Should analyze every time when disabled")
+        void shouldAnalyzeEveryTimeWhenDisabled() throws Exception {
+            config.setAnalysisCacheEnabled(false);
+
+            analyze(projectRoot);
+            analyze(projectRoot);
+
+            assertEquals(2, analyses.get());
+            assertEquals(0, cacheService.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidate(String projectPath) Tests")
+    class Invalidate {
+
+        @Test
+        @DisplayName("Should drop the cached analysis of the project")
+        void shouldDropCachedAnalysis() throws Exception {
+            analyze(projectRoot);
+
+            cacheService.invalidate(projectRoot.toString());
+            analyze(projectRoot);
+
+            assertEquals(2, analyses.get());
+        }
+    }
+}
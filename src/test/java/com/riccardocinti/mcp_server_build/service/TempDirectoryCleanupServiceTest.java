@@ -0,0 +1,145 @@
+package com.riccardocinti.mcp_server_build.service;
+
+import com.riccardocinti.mcp_server_build.config.BuilderServerConfig;
+import com.riccardocinti.mcp_server_build.model.TempDirectoryStatus;
+import com.riccardocinti.mcp_server_build.service.impl.TempDirectoryCleanupServiceImpl;
+import com.riccardocinti.mcp_server_build.service.interfaces.TempDirectoryCleanupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TempDirectoryCleanupServiceTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path logs;
+    private BuilderServerConfig config;
+    private TempDirectoryCleanupServiceImpl cleanupService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        logs = Files.createDirectories(tempDirectory.resolve("logs"));
+        config = new BuilderServerConfig();
+        config.setTempDirectory(tempDirectory.toString());
+        config.setTempCleanupEnabled(false);
+        config.setTempCleanupMaxAge(Duration.ofDays(1).toMillis());
+        config.setTempCleanupMaxSizeMb(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cleanupService != null) {
+            cleanupService.shutdown();
+        }
+    }
+
+    private TempDirectoryCleanupServiceImpl cleanupService() {
+        cleanupService = new TempDirectoryCleanupServiceImpl(config);
+        return cleanupService;
+    }
+
+    private static Path file(Path path, int size, Duration age) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - age.toMillis()));
+        return path;
+    }
+
+    @Nested
+    @DisplayName("cleanup() Tests")
+    class CleanupTests {
+
+        @Test
+        @DisplayName("Should delete logs older than the maximum age and report the reclaimed bytes")
+        void shouldDeleteExpiredLogs() throws Exception {
+            Path expired = file(logs.resolve("old.log"), 10 * KB, Duration.ofDays(2));
+            Path recent = file(logs.resolve("recent.log"), 10 * KB, Duration.ofHours(1));
+
+            TempDirectoryStatus status = cleanupService().cleanup();
+
+            assertFalse(Files.exists(expired));
+            assertTrue(Files.exists(recent));
+            assertEquals(10 * KB, status.reclaimedBytes());
+            assertEquals(1, status.deletedEntries());
+            assertEquals(10 * KB, status.usedBytes());
+        }
+
+        @Test
+        @DisplayName("Should delete the oldest entries until the directory fits its size budget")
+        void shouldEnforceSizeBudget() throws Exception {
+            config.setTempCleanupMaxSizeMb(1);
+            Path oldest = file(logs.resolve("a.log"), 400 * KB, Duration.ofHours(3));
+            Path older = file(logs.resolve("b.log"), 400 * KB, Duration.ofHours(2));
+            Path newest = file(logs.resolve("c.log"), 400 * KB, Duration.ofHours(1));
+
+            TempDirectoryStatus status = cleanupService().cleanup();
+
+            assertFalse(Files.exists(oldest));
+            assertTrue(Files.exists(older));
+            assertTrue(Files.exists(newest));
+            assertEquals(800 * KB, status.usedBytes());
+            assertEquals(1024 * KB, status.maxBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep what an in-flight build writes and clean it up once the build has finished")
+        void shouldProtectInFlightBuilds() throws Exception {
+            config.setTempCleanupMaxAge(1);
+            TempDirectoryCleanupServiceImpl service = cleanupService();
+            Path log = file(logs.resolve("build.log"), 10 * KB, Duration.ofMinutes(5));
+
+            try (TempDirectoryCleanupService.InFlightBuild ignored = service.trackBuild()) {
+                Files.setLastModifiedTime(log, FileTime.fromMillis(System.currentTimeMillis()));
+                service.cleanup();
+                assertTrue(Files.exists(log));
+            }
+
+            Files.setLastModifiedTime(log, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofMinutes(5).toMillis()));
+            service.cleanup();
+            assertFalse(Files.exists(log));
+        }
+
+        @Test
+        @DisplayName("Should count but never delete directories that manage their own budgets")
+        void shouldLeaveManagedDirectoriesAlone() throws Exception {
+            config.setTempCleanupMaxSizeMb(1);
+            Path cached = file(tempDirectory.resolve("build-cache/entry.json"), 2 * KB * KB, Duration.ofDays(30));
+
+            TempDirectoryStatus status = cleanupService().cleanup();
+
+            assertTrue(Files.exists(cached));
+            assertEquals(0, status.deletedEntries());
+            assertEquals(2 * KB * KB, status.usedBytes());
+        }
+
+        @Test
+        @DisplayName("Should neither count nor delete files the server did not create")
+        void shouldLeaveForeignFilesAlone() throws Exception {
+            config.setTempCleanupMaxSizeMb(1);
+            Path foreign = file(tempDirectory.resolve("unpacked/lib/b.jar"), 2 * KB * KB, Duration.ofDays(30));
+            Path foreignFile = file(tempDirectory.resolve("session.lock"), KB, Duration.ofDays(30));
+            Path log = file(logs.resolve("build.log"), 10 * KB, Duration.ofHours(1));
+
+            TempDirectoryStatus status = cleanupService().cleanup();
+
+            assertTrue(Files.exists(foreign));
+            assertTrue(Files.exists(foreignFile));
+            assertTrue(Files.exists(log));
+            assertEquals(0, status.deletedEntries());
+            assertEquals(10 * KB, status.usedBytes());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.BuildLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildLogSinkTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Nested
+    @DisplayName("toBuildLog() Tests")
+    class ToBuildLog {
+
+        @Test
+        @DisplayName("Should keep only the last lines when the line limit is reached")
+        void shouldTrimTailByLines() {
+            BuildLogSink sink = new BuildLogSink(null, 3, 10_000);
+            for (int i = 1; i <= 5; i++) {
+                sink.accept("line " + i);
+            }
+
+            BuildLog log = sink.toBuildLog();
+
+            assertEquals("line 3\nline 4\nline 5\n", log.tail());
+            assertEquals(5, log.totalLines());
+            assertTrue(log.truncated());
+            assertNull(log.logFile());
+            assertEquals(35, log.totalBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep only the last characters when the size limit is reached")
+        void shouldTrimTailByChars() {
+            BuildLogSink sink = new BuildLogSink(null, 100, 12);
+            sink.accept("first");
+            sink.accept("second");
+            sink.accept("a line longer than the whole budget");
+
+            BuildLog log = sink.toBuildLog();
+
+            assertEquals("hole budget\n", log.tail());
+            assertTrue(log.truncated());
+        }
+
+        @Test
+        @DisplayName("Should spill the complete log to a gzip file")
+        void shouldSpillCompleteLog() throws Exception {
+            Path logFile = tempDirectory.resolve("logs/compile.log.gz");
+            BuildLogSink sink = new BuildLogSink(logFile, 2, 10_000);
+            for (int i = 1; i <= 4; i++) {
+                sink.accept("line " + i);
+            }
+
+            BuildLog log = sink.toBuildLog();
+
+            assertEquals(logFile.toString(), log.logFile());
+            assertEquals("line 1\nline 2\nline 3\nline 4\n", gunzip(logFile));
+            assertEquals("line 3\nline 4\n", log.tail());
+            assertEquals(28, log.totalBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep the tail and stop reporting the log file once writing fails")
+        void shouldFallBackToTailOnWriteFailure() {
+            OutputStream failing = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("No space left on device");
+                }
+            };
+            BuildLogSink sink = new BuildLogSink(tempDirectory.resolve("broken.log.gz"), failing, 2, 100_000);
+            // Lines larger than the writer's buffers reach the stream right away
+            String longLine = "x".repeat(50_000);
+
+            sink.accept(longLine);
+            sink.accept("after failure");
+
+            BuildLog log = sink.toBuildLog();
+            assertNull(log.logFile());
+            assertEquals(2, log.totalLines());
+            assertEquals(longLine + "\nafter failure\n", log.tail());
+        }
+
+        @Test
+        @DisplayName("Should not report a log file whose buffered lines could not be written on close")
+        void shouldDropLogFileOnCloseFailure() {
+            OutputStream failingOnFlush = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("No space left on device");
+                }
+            };
+            BuildLogSink sink = new BuildLogSink(tempDirectory.resolve("broken.log.gz"), failingOnFlush, 10, 1_000);
+            sink.accept("buffered");
+
+            BuildLog log = sink.toBuildLog();
+
+            assertNull(log.logFile());
+            assertEquals("buffered\n", log.tail());
+        }
+
+        @Test
+        @DisplayName("Should keep only the tail when the log file cannot be created")
+        void shouldFallBackToTailWhenFileCannotBeCreated() throws Exception {
+            Path notADirectory = Files.writeString(tempDirectory.resolve("logs"), "");
+
+            BuildLogSink sink = new BuildLogSink(notADirectory.resolve("compile.log.gz"), 10, 1_000);
+            sink.accept("line");
+
+            BuildLog log = sink.toBuildLog();
+            assertNull(log.logFile());
+            assertEquals("line\n", log.tail());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import com.riccardocinti.mcp_server_build.service.interfaces.ProcessExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MavenDaemonPoolTest {
+
+    private static final String MVND = "/opt/mvnd/bin/mvnd";
+
+    private static final String JAVA_HOME = "/opt/jdk-21";
+
+    @TempDir
+    Path storageRoot;
+
+    // Records the stop commands the pool issues instead of running them
+    private final List<List<String>> executed = new CopyOnWriteArrayList<>();
+
+    private final ProcessExecutor processExecutor = (command, workingDirectory, environment, timeoutMs, lineObserver) -> {
+        executed.add(command);
+        return new ProcessResult(0, Instant.now(), Instant.now(), 0L, 0L);
+    };
+
+    private static String storage(MavenDaemonPool.Lease lease) {
+        return lease.daemonOptions().getFirst();
+    }
+
+    private static Path storagePath(MavenDaemonPool.Lease lease) {
+        return Paths.get(storage(lease).substring("-Dmvnd.daemonStorage=".length()));
+    }
+
+    private boolean stopped(String storageOption) throws InterruptedException {
+        // Idle generations are stopped on a background thread
+        for (int i = 0; i < 50; i++) {
+            if (executed.stream().anyMatch(command -> command.contains(storageOption))) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    @Nested
+    @DisplayName("acquire(String mvndExecutable, String javaHome, Path storageRoot) Tests")
+    class Acquire {
+
+        @Test
+        @DisplayName("Should reuse a generation until it has served the maximum number of builds")
+        void shouldRollOverAfterMaxBuilds() throws Exception {
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 2, "1g", 0L);
+
+            String first;
+            String second;
+            String third;
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                first = storage(lease);
+                assertTrue(lease.daemonOptions().contains("-Dmvnd.javaHome=" + JAVA_HOME));
+                assertTrue(lease.daemonOptions().contains("-Dmvnd.maxHeapSize=1g"));
+            }
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                second = storage(lease);
+            }
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                third = storage(lease);
+            }
+
+            assertEquals(first, second);
+            assertNotEquals(first, third);
+            assertEquals(1, pool.getGenerationCount());
+            assertTrue(stopped(first));
+            assertEquals(List.of(MVND, "--stop", first), executed.getFirst());
+        }
+
+        @Test
+        @DisplayName("Should retire a generation once its daemons grow past the resident memory limit")
+        void shouldRollOverAfterMemoryThreshold() throws Exception {
+            AtomicLong residentBytes = new AtomicLong(100L);
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 0, null, 1_000L, storage -> residentBytes.get());
+
+            String first;
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                first = storage(lease);
+            }
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                assertEquals(first, storage(lease));
+                residentBytes.set(5_000L);
+            }
+            residentBytes.set(100L);
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                assertNotEquals(first, storage(lease));
+            }
+
+            assertTrue(stopped(first));
+        }
+
+        @Test
+        @DisplayName("Should stop a retired generation only after its running builds have finished")
+        void shouldKeepRetiredGenerationWhileInUse() throws Exception {
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 1, null, 0L);
+
+            MavenDaemonPool.Lease running = pool.acquire(MVND, JAVA_HOME, storageRoot);
+            String first = storage(running);
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                assertNotEquals(first, storage(lease));
+            }
+            assertTrue(executed.isEmpty());
+
+            running.close();
+
+            assertEquals(List.of(List.of(MVND, "--stop", first)), executed);
+        }
+
+        @Test
+        @DisplayName("Should keep separate generations per JDK")
+        void shouldSeparateGenerationsPerJdk() {
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 0, null, 0L);
+
+            try (MavenDaemonPool.Lease jdk21 = pool.acquire(MVND, JAVA_HOME, storageRoot);
+                 MavenDaemonPool.Lease jdk17 = pool.acquire(MVND, "/opt/jdk-17", storageRoot)) {
+                assertNotEquals(storage(jdk21), storage(jdk17));
+            }
+            assertEquals(2, pool.getGenerationCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("stop and reapOrphans(Path storageRoot, long gracePeriodMs) Tests")
+    class Cleanup {
+
+        @Test
+        @DisplayName("Should delete the storage of a generation once its daemons are stopped")
+        void shouldDeleteStorageAfterStop() throws Exception {
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 0, null, 0L);
+
+            Path storage;
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                storage = storagePath(lease);
+                Files.createDirectories(storage.resolve("registry"));
+                Files.writeString(storage.resolve("registry").resolve("daemon.log"), "log");
+            }
+            pool.shutdown();
+
+            assertFalse(Files.exists(storage));
+        }
+
+        @Test
+        @DisplayName("Should keep the storage when mvnd fails to stop the daemons")
+        void shouldKeepStorageWhenStopFails() throws Exception {
+            MavenDaemonPool pool = new MavenDaemonPool((command, workingDirectory, environment, timeoutMs, lineObserver) ->
+                    new ProcessResult(1, Instant.now(), Instant.now(), 0L, 0L), 0, null, 0L);
+
+            Path storage;
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                storage = Files.createDirectories(storagePath(lease));
+            }
+            pool.shutdown();
+
+            assertTrue(Files.exists(storage));
+        }
+
+        @Test
+        @DisplayName("Should delete generations left behind by a previous run but not the current one")
+        void shouldReapOrphanedGenerations() throws Exception {
+            Path orphan = Files.createDirectories(storageRoot.resolve("key").resolve("previous-run"));
+            Files.writeString(orphan.resolve("registry.bin"), "daemons");
+            MavenDaemonPool pool = new MavenDaemonPool(processExecutor, 0, null, 0L);
+
+            try (MavenDaemonPool.Lease lease = pool.acquire(MVND, JAVA_HOME, storageRoot)) {
+                Path current = Files.createDirectories(storagePath(lease));
+                pool.reapOrphans(storageRoot, 0L);
+
+                assertFalse(Files.exists(orphan));
+                assertTrue(Files.exists(current));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.DependencyResult;
+import com.riccardocinti.mcp_server_build.model.ModuleResult;
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.model.enums.DependencyResolutionMode;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MavenOutputParserTest {
+
+    private static final List<String> COMPILATION_OUTPUT = List.of(
+            "[INFO] Scanning for projects...",
+            "[INFO] Building core 1.0-SNAPSHOT  [1/2]",
+            "[INFO] Compiling 12 source files with javac [debug release 21] to target/classes",
+            "[WARNING] /src/main/java/com/acme/Core.java: uses unchecked or unsafe operations.",
+            "[INFO] Tests run: 3, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.1 s -- in com.acme.CoreTest",
+            "[INFO] Tests run: 3, Failures: 0, Errors: 0, Skipped: 0",
+            "[INFO] Building jar: /projects/app/core/target/core-1.0-SNAPSHOT.jar",
+            "[INFO] Building web 1.0-SNAPSHOT  [2/2]",
+            "[ERROR] /src/main/java/com/acme/Web.java:[3,8] cannot find symbol",
+            "[ERROR] BUILD FAILURE",
+            "[INFO] Reactor Summary for app 1.0-SNAPSHOT:",
+            "[INFO] core ............................................... SUCCESS [  1.500 s]",
+            "[INFO] web ................................................ FAILURE [01:05 min]");
+
+    // Output of maven-shade-plugin 3.5.1 replacing the main artifact, then of an execution attaching it instead
+    private static final List<String> SHADE_OUTPUT = List.of(
+            "[INFO] --- jar:3.4.1:jar (default-jar) @ app ---",
+            "[INFO] Building jar: /projects/app/target/app-1.0.jar",
+            "[INFO] --- shade:3.5.1:shade (default) @ app ---",
+            "[INFO] Including org.slf4j:slf4j-api:jar:2.0.9 in the shaded jar.",
+            "[INFO] Dependency-reduced POM written at: /projects/app/dependency-reduced-pom.xml",
+            "[INFO] Replacing original artifact with shaded artifact.",
+            "[INFO] Replacing /projects/app/target/app-1.0.jar with /projects/app/target/app-1.0-shaded.jar",
+            "[INFO] --- shade:3.5.1:shade (attached) @ app ---",
+            "[INFO] Attaching shaded artifact.");
+
+    private final List<String> milestones = new CopyOnWriteArrayList<>();
+
+    private final BuildProgressListener listener = new BuildProgressListener() {
+        @Override
+        public void onPhaseStarted(BuildPhase phase) {
+        }
+
+        @Override
+        public void onMilestone(BuildMilestone milestone, String message) {
+            milestones.add(milestone + ": " + message);
+        }
+    };
+
+    private MavenOutputParser parser(BuildPhase phase) {
+        return new MavenOutputParser(phase, new BuildLogSink(null, 100, 10_000), listener);
+    }
+
+    @Nested
+    @DisplayName("accept(String line) Tests")
+    class Accept {
+
+        @Test
+        @DisplayName("Should extract messages, modules, artifacts and milestones from compilation output")
+        void shouldParseCompilationOutput() {
+            MavenOutputParser parser = parser(BuildPhase.COMPILATION);
+
+            COMPILATION_OUTPUT.forEach(parser);
+
+            assertEquals(List.of("12 source files compiled"), parser.getCompiledFiles());
+            assertEquals(List.of("/src/main/java/com/acme/Web.java:[3,8] cannot find symbol"), parser.getErrors());
+            assertEquals(1, parser.getWarnings().size());
+            assertEquals(List.of("/projects/app/core/target/core-1.0-SNAPSHOT.jar"), parser.getArtifactPaths());
+            assertEquals(List.of(new ModuleResult("core", "SUCCESS", 1_500L), new ModuleResult("web", "FAILURE", 65_000L)),
+                    parser.getModuleResults());
+            assertEquals(List.of(
+                    "MODULE_STARTED: Building core 1.0-SNAPSHOT [1/2]",
+                    "COMPILING: Compiling 12 source files",
+                    "TESTS_COMPLETED: Tests run: 3, failures: 0, errors: 0, skipped: 0",
+                    "MODULE_STARTED: Building web 1.0-SNAPSHOT [2/2]",
+                    "FIRST_ERROR: /src/main/java/com/acme/Web.java:[3,8] cannot find symbol"), milestones);
+        }
+
+        @Test
+        @DisplayName("Should report the artifact the shade plugin replaced with the shaded jar")
+        void shouldParseShadeOutput() {
+            MavenOutputParser parser = parser(BuildPhase.COMPILATION);
+
+            SHADE_OUTPUT.forEach(parser);
+
+            assertEquals(List.of("/projects/app/target/app-1.0.jar"), parser.getArtifactPaths());
+        }
+
+        @Test
+        @DisplayName("Should report resolved and failed dependencies from resolution output")
+        void shouldParseDependencyOutput() {
+            MavenOutputParser parser = parser(BuildPhase.DEPENDENCY_RESOLUTION);
+
+            parser.accept("[INFO]    org.slf4j:slf4j-api:jar:2.0.17:compile");
+            parser.accept("[INFO]    com.acme:missing:jar:1.0:compile");
+            parser.accept("[ERROR] Failed to execute goal on project app: Could not resolve dependencies");
+
+            DependencyResult result = parser.toDependencyResult(DependencyResolutionMode.OFFLINE, 10L);
+            assertFalse(result.success());
+            assertEquals(List.of("org.slf4j:slf4j-api:2.0.17", "com.acme:missing:1.0"), result.resolvedDependencies());
+            assertEquals(1, result.failedCount());
+            assertEquals(DependencyResolutionMode.OFFLINE, result.resolutionMode());
+            assertEquals(3, result.log().totalLines());
+        }
+
+        @Test
+        @DisplayName("Should cap the kept messages and dependencies but count all of them")
+        void shouldCapCollectedEntries() {
+            MavenOutputParser compilation = parser(BuildPhase.COMPILATION);
+            MavenOutputParser dependencies = parser(BuildPhase.DEPENDENCY_RESOLUTION);
+
+            for (int i = 0; i < MavenOutputParser.MAX_DEPENDENCIES + 50; i++) {
+                compilation.accept("[ERROR] error " + i);
+                compilation.accept("[WARNING] warning " + i);
+                compilation.accept("[INFO] Compiling " + (i + 1) + " source files with javac [debug release 21] to target/classes");
+                dependencies.accept("[INFO]    com.acme:lib" + i + ":jar:1.0:compile");
+            }
+
+            assertEquals(MavenOutputParser.MAX_MESSAGES, compilation.getErrors().size());
+            assertEquals("error 0", compilation.getErrors().getFirst());
+            assertEquals(MavenOutputParser.MAX_DEPENDENCIES + 50, compilation.getErrorCount());
+            assertEquals(MavenOutputParser.MAX_MESSAGES, compilation.getWarnings().size());
+            assertEquals(MavenOutputParser.MAX_DEPENDENCIES + 50, compilation.getWarningCount());
+            assertEquals(MavenOutputParser.MAX_MESSAGES, compilation.getCompiledFiles().size());
+            DependencyResult result = dependencies.toDependencyResult(DependencyResolutionMode.FULL_WITH_SOURCES, 0L);
+            assertEquals(MavenOutputParser.MAX_DEPENDENCIES, result.resolvedDependencies().size());
+            assertEquals(MavenOutputParser.MAX_DEPENDENCIES + 50, result.resolvedCount());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import com.riccardocinti.mcp_server_build.service.interfaces.BuildProgressListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MavenPhaseAttributorTest {
+
+    // Output of "mvn -T2 dependency:resolve compile" for two independent modules, as the builder threads interleave it
+    private static final List<String> PARALLEL_OUTPUT = List.of(
+            "[main] [INFO] Scanning for projects...",
+            "[main] [INFO] Using the MultiThreadedBuilder implementation with a thread count of 2",
+            "[mvn-builder-core] [INFO] Building core 1.0  [2/3]",
+            "[mvn-builder-web] [INFO] Building web 1.0  [3/3]",
+            "[mvn-builder-core] [INFO] --- dependency:3.6.1:resolve (default-cli) @ core ---",
+            "[mvn-builder-web] [INFO] --- dependency:3.6.1:resolve (default-cli) @ web ---",
+            "[mvn-builder-core] [INFO] --- compiler:3.13.0:compile (default-compile) @ core ---",
+            "[mvn-builder-web] [INFO]    org.slf4j:slf4j-api:jar:2.0.9:compile -- module org.slf4j",
+            "[mvn-builder-core] [INFO] Compiling 12 source files with javac [debug release 21] to target/classes",
+            "[mvn-builder-web] [ERROR] Failed to execute goal on project web: Could not resolve dependencies",
+            "[mvn-builder-core] [WARNING] /core/src/main/java/Core.java: uses unchecked or unsafe operations.",
+            "[main] [INFO] BUILD FAILURE");
+
+    private MavenOutputParser dependencies;
+    private MavenOutputParser compilation;
+    private MavenPhaseAttributor attributor;
+
+    @BeforeEach
+    void setUp() {
+        dependencies = new MavenOutputParser(BuildPhase.DEPENDENCY_RESOLUTION, new BuildLogSink(null, 100, 10_000),
+                BuildProgressListener.NOOP);
+        compilation = new MavenOutputParser(BuildPhase.COMPILATION, new BuildLogSink(null, 100, 10_000),
+                BuildProgressListener.NOOP);
+        attributor = new MavenPhaseAttributor(BuildPhase.DEPENDENCY_RESOLUTION, Map.of(
+                BuildPhase.DEPENDENCY_RESOLUTION, dependencies,
+                BuildPhase.COMPILATION, compilation));
+    }
+
+    @Nested
+    @DisplayName("accept(String line) Tests")
+    class Accept {
+
+        @Test
+        @DisplayName("Should switch phase on each mojo header of a serial build")
+        void shouldFollowSerialOutput() {
+            List.of("[INFO] --- dependency:3.6.1:resolve (default-cli) @ app ---",
+                    "[INFO]    org.slf4j:slf4j-api:jar:2.0.9:compile",
+                    "[INFO] --- compiler:3.13.0:compile (default-compile) @ app ---",
+                    "[INFO] Compiling 3 source files with javac [debug release 21] to target/classes",
+                    "[ERROR] /app/src/main/java/App.java:[3,8] cannot find symbol").forEach(attributor);
+            attributor.finish();
+
+            assertEquals(1, dependencies.toDependencyResult(null, 0L).resolvedCount());
+            assertEquals(List.of("3 source files compiled"), compilation.getCompiledFiles());
+            assertEquals(BuildPhase.COMPILATION, attributor.getFailedPhase());
+        }
+
+        @Test
+        @DisplayName("Should attribute interleaved lines of a parallel reactor to the phase of their own module")
+        void shouldFollowEachThreadOfParallelOutput() {
+            PARALLEL_OUTPUT.forEach(attributor);
+            attributor.finish();
+
+            // web was still resolving when core had moved on to compiling
+            assertEquals(1, dependencies.toDependencyResult(null, 0L).resolvedCount());
+            assertEquals(1, dependencies.toDependencyResult(null, 0L).failedCount());
+            assertEquals(List.of("12 source files compiled"), compilation.getCompiledFiles());
+            assertEquals(1, compilation.getWarningCount());
+            assertEquals(0, compilation.getErrorCount());
+            assertEquals(BuildPhase.DEPENDENCY_RESOLUTION, attributor.getFailedPhase());
+        }
+    }
+
+    @Nested
+    @DisplayName("getDuration(BuildPhase phase) Tests")
+    class GetDuration {
+
+        @Test
+        @DisplayName("Should count overlapping time of parallel modules once per phase")
+        void shouldMeasureWallClockPerPhase() throws Exception {
+            long start = System.nanoTime();
+            attributor.accept("[mvn-builder-core] [INFO] --- dependency:3.6.1:resolve (default-cli) @ core ---");
+            attributor.accept("[mvn-builder-web] [INFO] --- dependency:3.6.1:resolve (default-cli) @ web ---");
+            Thread.sleep(100);
+            attributor.accept("[mvn-builder-core] [INFO] --- compiler:3.13.0:compile (default-compile) @ core ---");
+            attributor.accept("[mvn-builder-web] [INFO] --- compiler:3.13.0:compile (default-compile) @ web ---");
+            Thread.sleep(100);
+            attributor.accept("[mvn-builder-core] [INFO] BUILD SUCCESS");
+            attributor.accept("[mvn-builder-web] [INFO] BUILD SUCCESS");
+            attributor.finish();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            long resolution = attributor.getDuration(BuildPhase.DEPENDENCY_RESOLUTION);
+            long compiling = attributor.getDuration(BuildPhase.COMPILATION);
+            assertTrue(resolution >= 100 && compiling >= 100, resolution + "ms / " + compiling + "ms");
+            assertTrue(resolution + compiling <= elapsedMs, resolution + compiling + "ms of " + elapsedMs + "ms");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import com.riccardocinti.mcp_server_build.model.ProcessResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs real builds, so it needs a Maven distribution in MAVEN_HOME
+@DisabledOnOs(OS.WINDOWS)
+public class MavenWorkerPoolTest {
+
+    private static final String POM = """
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+              <modelVersion>4.0.0</modelVersion>
+              <groupId>com.example</groupId>
+              <artifactId>worker-test</artifactId>
+              <version>1.0</version>
+              <packaging>pom</packaging>
+            </project>
+            """;
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path project;
+    private Path mavenHome;
+    private MavenWorkerPool pool;
+
+    private final List<String> output = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String home = System.getenv("MAVEN_HOME");
+        assumeTrue(home != null && Files.isDirectory(Paths.get(home, "boot")), "MAVEN_HOME is not a Maven distribution");
+        mavenHome = Paths.get(home).toRealPath();
+        project = Files.createDirectories(tempDirectory.resolve("project"));
+        Files.writeString(project.resolve("pom.xml"), POM);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ProcessResult validate(Path mavenHome, long timeoutMs) throws Exception {
+        output.clear();
+        return pool.execute(System.getProperty("java.home"), mavenHome, Map.of(), tempDirectory.resolve("workers"),
+                project, List.of("validate", "--offline", "--batch-mode"), timeoutMs, output::add);
+    }
+
+    @Nested
+    @DisplayName("execute(String javaHome, Path mavenHome, ...) Tests")
+    class Execute {
+
+        @Test
+        @DisplayName("Should run builds on a warm worker and keep it between builds")
+        void shouldReuseWorker() throws Exception {
+            pool = new MavenWorkerPool(10, "512m", 0L, 1_000L);
+
+            assertEquals(0, validate(mavenHome, 120_000L).exitCode());
+            assertTrue(output.stream().anyMatch(line -> line.contains("BUILD SUCCESS")), String.join("\n", output));
+            assertEquals(0, validate(mavenHome, 120_000L).exitCode());
+
+            assertEquals(1, pool.getWorkerCount());
+        }
+
+        @Test
+        @DisplayName("Should report a failed build and keep its worker")
+        void shouldReportFailure() throws Exception {
+            pool = new MavenWorkerPool(10, "512m", 0L, 1_000L);
+            Files.writeString(project.resolve("pom.xml"), "<project>");
+
+            assertNotEquals(0, validate(mavenHome, 120_000L).exitCode());
+            assertEquals(1, pool.getWorkerCount());
+            Files.writeString(project.resolve("pom.xml"), POM);
+            assertEquals(0, validate(mavenHome, 120_000L).exitCode());
+        }
+
+        @Test
+        @DisplayName("Should retire a worker once it has served the maximum number of builds")
+        void shouldRecycleAfterMaxBuilds() throws Exception {
+            pool = new MavenWorkerPool(1, "512m", 0L, 1_000L);
+
+            assertEquals(0, validate(mavenHome, 120_000L).exitCode());
+
+            assertEquals(0, pool.getWorkerCount());
+        }
+
+        @Test
+        @DisplayName("Should kill the worker of a build that times out")
+        void shouldTerminateOnTimeout() throws Exception {
+            pool = new MavenWorkerPool(10, "512m", 0L, 1_000L);
+            validate(mavenHome, 120_000L);
+
+            assertThrows(TimeoutException.class, () -> validate(mavenHome, 1L));
+            assertEquals(0, pool.getWorkerCount());
+        }
+
+        @Test
+        @DisplayName("Should fail to start, without running the build, when Maven cannot be loaded")
+        void shouldReportStartFailure() throws Exception {
+            pool = new MavenWorkerPool(10, "512m", 0L, 1_000L);
+            Path notMaven = Files.createDirectories(tempDirectory.resolve("not-maven/lib"));
+
+            assertThrows(MavenWorkerPool.WorkerStartException.class, () -> validate(notMaven.getParent(), 120_000L));
+            assertEquals(0, pool.getWorkerCount());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.riccardocinti.mcp_server_build.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisabledOnOs(OS.WINDOWS)
+public class ProcessReaperTest {
+
+    @TempDir
+    Path workingDirectory;
+
+    @TempDir
+    Path registryDirectory;
+
+    private Process start(String... command) throws Exception {
+        return new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    @Nested
+    @DisplayName("reapOrphans(long gracePeriodMs) Tests")
+    class ReapOrphans {
+
+        @Test
+        @DisplayName("Should reap a grandchild whose parent exited before the owning server crashed")
+        void shouldReapReparentedGrandchild() throws Exception {
+            Path marker = workingDirectory.resolve("marker");
+            // Stands in for the server instance that registered the tree and then crashed
+            Process server = start("sleep", "300");
+            Process launcher = start("sh", "-c",
+                    "sh -c '(sleep 4; touch marker) & sleep 1' >/dev/null 2>&1 & exec sleep 300");
+            try {
+                ProcessReaper crashed = new ProcessReaper(registryDirectory, 100L, server.toHandle());
+                crashed.register(launcher.toHandle());
+                // Outlive the intermediate shell, so the subshell is only known from the registry
+                Thread.sleep(1_500);
+                crashed.shutdown();
+                launcher.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
+                server.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
+
+                int reaped = new ProcessReaper(registryDirectory, 0L).reapOrphans(500L);
+                Thread.sleep(3_500);
+
+                assertEquals(1, reaped);
+                assertFalse(Files.exists(marker));
+                try (var entries = Files.list(registryDirectory)) {
+                    assertEquals(0, entries.count());
+                }
+            } finally {
+                launcher.destroyForcibly();
+                server.destroyForcibly();
+            }
+        }
+
+        @Test
+        @DisplayName("Should leave the trees of a running server alone")
+        void shouldKeepTreesOfLiveServer() throws Exception {
+            Process server = start("sleep", "300");
+            Process launcher = start("sleep", "300");
+            try {
+                ProcessReaper owner = new ProcessReaper(registryDirectory, 0L, server.toHandle());
+                owner.register(launcher.toHandle());
+
+                int reaped = new ProcessReaper(registryDirectory, 0L).reapOrphans(500L);
+
+                assertEquals(0, reaped);
+                assertTrue(launcher.isAlive());
+            } finally {
+                launcher.destroyForcibly();
+                server.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.riccardocinti.mcp_server_build.tools;
+
+import com.riccardocinti.mcp_server_build.model.enums.BuildMilestone;
+import com.riccardocinti.mcp_server_build.model.enums.BuildPhase;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class McpBuildProgressNotifierTest {
+
+    // Records what the client would receive
+    private final List<McpSchema.LoggingMessageNotification> sent = new CopyOnWriteArrayList<>();
+
+    private McpSyncServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        exchange = mock(McpSyncServerExchange.class);
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(exchange).loggingNotification(any());
+    }
+
+    private List<String> messages() {
+        return sent.stream().map(notification -> String.valueOf(notification.data())).toList();
+    }
+
+    @Nested
+    @DisplayName("onPhaseStarted(BuildPhase phase) and onMilestone(BuildMilestone milestone, String message) Tests")
+    class Notifications {
+
+        @Test
+        @DisplayName("Should send the latest milestone held back by the rate limit before the next phase")
+        void shouldFlushPendingMilestoneOnPhaseChange() {
+            McpBuildProgressNotifier notifier = new McpBuildProgressNotifier(exchange, 60_000L);
+
+            notifier.onPhaseStarted(BuildPhase.COMPILATION);
+            notifier.onMilestone(BuildMilestone.MODULE_STARTED, "Building core");
+            notifier.onMilestone(BuildMilestone.COMPILING, "Compiling 12 source files");
+            notifier.onMilestone(BuildMilestone.TESTS_COMPLETED, "Tests run: 3");
+            notifier.onPhaseStarted(BuildPhase.ARTIFACT_DISCOVERY);
+
+            assertEquals(List.of("Phase COMPILATION", "Building core", "Tests run: 3", "Phase ARTIFACT_DISCOVERY"),
+                    messages());
+        }
+
+        @Test
+        @DisplayName("Should send the latest milestone held back once the interval has elapsed")
+        void shouldFlushPendingMilestoneAfterInterval() throws Exception {
+            McpBuildProgressNotifier notifier = new McpBuildProgressNotifier(exchange, 200L);
+
+            notifier.onMilestone(BuildMilestone.MODULE_STARTED, "Building core");
+            notifier.onMilestone(BuildMilestone.MODULE_STARTED, "Building web");
+            notifier.onMilestone(BuildMilestone.TESTS_COMPLETED, "Tests run: 3");
+            assertEquals(List.of("Building core"), messages());
+
+            for (int i = 0; i < 50 && sent.size() < 2; i++) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(List.of("Building core", "Tests run: 3"), messages());
+        }
+
+        @Test
+        @DisplayName("Should always send the first error, once and at error level")
+        void shouldSendFirstErrorOnce() {
+            McpBuildProgressNotifier notifier = new McpBuildProgressNotifier(exchange, 60_000L);
+
+            notifier.onMilestone(BuildMilestone.COMPILING, "Compiling 12 source files");
+            notifier.onMilestone(BuildMilestone.FIRST_ERROR, "cannot find symbol");
+            notifier.onMilestone(BuildMilestone.FIRST_ERROR, "another error");
+
+            assertEquals(List.of("Compiling 12 source files", "cannot find symbol"), messages());
+            assertEquals(McpSchema.LoggingLevel.ERROR, sent.get(1).level());
+        }
+
+        @Test
+        @DisplayName("Should not fail the build when the client cannot be notified")
+        void shouldIgnoreSendFailures() {
+            doThrow(new IllegalStateException("session closed")).when(exchange).loggingNotification(any());
+            McpBuildProgressNotifier notifier = new McpBuildProgressNotifier(exchange, 0L);
+
+            assertDoesNotThrow(() -> {
+                notifier.onPhaseStarted(BuildPhase.COMPILATION);
+                notifier.onMilestone(BuildMilestone.COMPILING, "Compiling 12 source files");
+            });
+        }
+    }
+}